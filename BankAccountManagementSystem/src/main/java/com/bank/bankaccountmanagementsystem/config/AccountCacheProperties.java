@@ -0,0 +1,27 @@
+package com.bank.bankaccountmanagementsystem.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "bank.account.cache")
+public class AccountCacheProperties {
+
+    /**
+     * Serve GET /accounts/{id} from memory when possible.
+     */
+    private boolean enabled = true;
+
+    private long maximumSize = 10_000;
+
+    /**
+     * Upper bound on how stale an entry can get when the row is changed outside this instance.
+     */
+    private Duration expireAfterWrite = Duration.ofSeconds(30);
+}
@@ -0,0 +1,32 @@
+package com.bank.bankaccountmanagementsystem.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "bank.account.lock")
+public class AccountLockProperties {
+
+    /**
+     * Serialize same-account deposits/withdrawals in memory before they reach the database.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Number of lock stripes; rounded up to a power of two.
+     */
+    private int stripes = 64;
+
+    private boolean fair = false;
+
+    /**
+     * How long a request may queue for its account's stripe before it is rejected.
+     */
+    private Duration timeout = Duration.ofSeconds(2);
+}
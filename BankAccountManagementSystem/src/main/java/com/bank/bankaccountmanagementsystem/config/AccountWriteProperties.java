@@ -0,0 +1,38 @@
+package com.bank.bankaccountmanagementsystem.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "bank.account.write")
+public class AccountWriteProperties {
+
+    /**
+     * How deposit/withdraw updates the balance row.
+     */
+    private Strategy strategy = Strategy.ATOMIC;
+
+    /**
+     * Total attempts (first try included) before an optimistic lock conflict is given up.
+     */
+    private int maxAttempts = 5;
+
+    private Duration initialBackoff = Duration.ofMillis(5);
+
+    private Duration maxBackoff = Duration.ofMillis(100);
+
+    public enum Strategy {
+        // Tek bir koşullu UPDATE; kilit veya versiyon kontrolü gerektirmez.
+        ATOMIC,
+        // Hesap okunur, @Version ile kaydedilir; çakışmada yeniden denenir.
+        OPTIMISTIC,
+        // Hesap SELECT ... FOR UPDATE ile kilitlenerek okunur.
+        PESSIMISTIC
+    }
+}
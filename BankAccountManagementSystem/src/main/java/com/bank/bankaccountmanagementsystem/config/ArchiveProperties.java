@@ -0,0 +1,34 @@
+package com.bank.bankaccountmanagementsystem.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "bank.account.archive")
+public class ArchiveProperties {
+
+    /**
+     * Run the archiver at startup and then every {@code interval}.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Full calendar months kept in account_transactions besides the current one; older months are moved to
+     * account_transactions_archive.
+     */
+    private int retentionMonths = 12;
+
+    /**
+     * MySQL only: monthly partitions kept ready beyond the current month, so postings never land in the catch-all
+     * partition.
+     */
+    private int monthsAhead = 3;
+
+    private Duration interval = Duration.ofHours(24);
+}
@@ -0,0 +1,97 @@
+package com.bank.bankaccountmanagementsystem.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "bank.account.engine")
+public class BalanceEngineProperties {
+
+    /**
+     * Apply deposits/withdrawals to in-memory balances, persisted by a local write-ahead log; the database is fed
+     * asynchronously.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Single-writer shards; an account always belongs to the same shard, so this must not change while the log
+     * directory holds records that are not yet fed. The count is stored in the log directory and startup fails if it
+     * differs; to change it, stop the engine cleanly and remove the directory.
+     */
+    private int shards = 4;
+
+    /**
+     * Operations waiting for one shard beyond this are rejected instead of queued.
+     */
+    private int queueCapacity = 10_000;
+
+    /**
+     * Most queued operations a shard applies before it syncs the log and acknowledges them.
+     */
+    private int maxBatchSize = 256;
+
+    /**
+     * Directory of the write-ahead log; each shard writes its own sub-directory. Only one instance may use it, and only
+     * one instance may run against the database while the engine is enabled.
+     */
+    private String walDirectory = "data/wal";
+
+    /**
+     * Size of one memory-mapped log segment; a full segment is closed and a new one started.
+     */
+    private DataSize walSegmentSize = DataSize.ofMegabytes(64);
+
+    /**
+     * When an operation is acknowledged relative to syncing the log to disk.
+     */
+    private FsyncPolicy fsync = FsyncPolicy.BATCH;
+
+    /**
+     * With {@link FsyncPolicy#INTERVAL}: how often a shard syncs its log.
+     */
+    private Duration fsyncInterval = Duration.ofMillis(10);
+
+    /**
+     * Most log records written to the database in one transaction...
+     */
+    private int feedBatchSize = 1_000;
+
+    /**
+     * ...or when this much time has passed since the first of them was applied.
+     */
+    private Duration feedInterval = Duration.ofMillis(50);
+
+    /**
+     * Applied records waiting to be written to the database; when full, the shards wait for the feed to catch up.
+     */
+    private int feedQueueCapacity = 100_000;
+
+    /**
+     * How long a transfer, bulk request or account edit waits for the engine to hand over its accounts before it
+     * is rejected as busy.
+     */
+    private Duration releaseTimeout = Duration.ofSeconds(5);
+
+    public enum FsyncPolicy {
+        /**
+         * Sync after every operation, before acknowledging it.
+         */
+        ALWAYS,
+        /**
+         * Sync once per batch of queued operations, then acknowledge the whole batch.
+         */
+        BATCH,
+        /**
+         * Acknowledge once the record is in the mapped log and sync every {@code fsyncInterval}: survives a crash of
+         * the process, but not of the machine.
+         */
+        INTERVAL
+    }
+}
@@ -0,0 +1,19 @@
+package com.bank.bankaccountmanagementsystem.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "bank.account.bulk")
+public class BulkProperties {
+
+    /**
+     * Most operations in one bulk request. The whole request runs in one transaction that locks every account it
+     * touches, so this bounds how many rows one request can hold locked and for how long.
+     */
+    private int maxOperations = 1000;
+}
@@ -0,0 +1,28 @@
+package com.bank.bankaccountmanagementsystem.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "bank.account.daily-balance")
+public class DailyBalanceProperties {
+
+    /**
+     * Rebuild account_daily_balance from account_transactions once the application has started.
+     */
+    private boolean rebuildOnStartup = false;
+
+    /**
+     * Chunks rebuilt concurrently, each in its own transaction.
+     */
+    private int rebuildThreads = 4;
+
+    /**
+     * Accounts per chunk; a chunk's accounts stay row-locked until the chunk commits.
+     */
+    private int rebuildChunkSize = 500;
+}
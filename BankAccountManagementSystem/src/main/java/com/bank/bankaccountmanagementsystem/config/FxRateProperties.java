@@ -0,0 +1,40 @@
+package com.bank.bankaccountmanagementsystem.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "bank.account.fx")
+public class FxRateProperties {
+
+    /**
+     * Where exchange rates are loaded from.
+     */
+    private Source source = Source.DATABASE;
+
+    /**
+     * Rates file for {@link Source#FILE}: one {@code BASE/QUOTE=rate} line per pair, e.g. {@code USD/TL=32.51}.
+     */
+    private String file;
+
+    /**
+     * Reload the rates in the background every {@code refreshInterval}; otherwise they are loaded once at startup.
+     */
+    private boolean refreshEnabled = false;
+
+    /**
+     * How often the rate table is reloaded; readers keep using the previous table until the new one is ready.
+     */
+    private Duration refreshInterval = Duration.ofMinutes(1);
+
+    public enum Source {
+        DATABASE,
+        FILE
+    }
+}
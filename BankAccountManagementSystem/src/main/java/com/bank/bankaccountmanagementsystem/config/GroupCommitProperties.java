@@ -0,0 +1,35 @@
+package com.bank.bankaccountmanagementsystem.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "bank.account.group-commit")
+public class GroupCommitProperties {
+
+    /**
+     * Route deposits/withdrawals through the group-commit journal instead of one transaction per request.
+     */
+    private boolean enabled = false;
+
+    /**
+     * A group is flushed as soon as it reaches this many operations...
+     */
+    private int maxBatchSize = 100;
+
+    /**
+     * ...or when this much time has passed since its first operation arrived.
+     */
+    private Duration flushInterval = Duration.ofMillis(5);
+
+    /**
+     * Pending operations beyond this are rejected instead of queued.
+     */
+    private int queueCapacity = 10_000;
+}
@@ -0,0 +1,35 @@
+package com.bank.bankaccountmanagementsystem.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "bank.account.idempotency")
+public class IdempotencyProperties {
+
+    /**
+     * How long a key is remembered; a retry after that is treated as a new request.
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * Keys kept in the in-memory front cache; older keys are still found in the database.
+     */
+    private long cacheMaximumSize = 100_000;
+
+    /**
+     * How often expired keys are deleted from the database.
+     */
+    private Duration cleanupInterval = Duration.ofMinutes(10);
+
+    /**
+     * Rows deleted per statement during cleanup, so the purge never holds long locks.
+     */
+    private int cleanupBatchSize = 1_000;
+}
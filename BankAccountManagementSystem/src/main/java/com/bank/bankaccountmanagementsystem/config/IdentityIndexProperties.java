@@ -0,0 +1,28 @@
+package com.bank.bankaccountmanagementsystem.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "bank.account.identity-index")
+public class IdentityIndexProperties {
+
+    /**
+     * Skip the duplicate-owner lookup in createAccount when the in-memory index proves the key is new.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Expected number of accounts per account type; sizes the bloom filters.
+     */
+    private int expectedInsertions = 1_000_000;
+
+    /**
+     * Share of new keys that still pay for the lookup because the filter cannot rule them out.
+     */
+    private double falsePositiveRate = 0.01;
+}
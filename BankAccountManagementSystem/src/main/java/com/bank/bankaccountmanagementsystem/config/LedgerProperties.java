@@ -0,0 +1,43 @@
+package com.bank.bankaccountmanagementsystem.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "bank.account.ledger")
+public class LedgerProperties {
+
+    /**
+     * Make ledger_events the source of truth for balances; accounts.balance is then kept as a projection of it.
+     */
+    private boolean enabled = false;
+
+    /**
+     * An account's snapshot is rewritten every this many events, so loading it replays at most this many.
+     */
+    private int snapshotEvery = 100;
+
+    /**
+     * Most account projections kept in memory; an evicted one is loaded again from its snapshot and tail.
+     */
+    private int projectionMaximumSize = 100_000;
+
+    /**
+     * Replay the whole log into accounts.balance and the snapshots once the application has started.
+     */
+    private boolean replayOnStartup = false;
+
+    /**
+     * Chunks replayed concurrently, each in its own transaction.
+     */
+    private int replayThreads = 4;
+
+    /**
+     * Accounts per chunk; a chunk's accounts stay row-locked until the chunk commits.
+     */
+    private int replayChunkSize = 500;
+}
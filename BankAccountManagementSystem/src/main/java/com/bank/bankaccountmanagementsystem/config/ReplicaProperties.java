@@ -0,0 +1,39 @@
+package com.bank.bankaccountmanagementsystem.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "bank.datasource.replica")
+public class ReplicaProperties {
+
+    /**
+     * JDBC URL of the read replica. Empty: every query goes to {@code spring.datasource.url}.
+     */
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    /**
+     * After a write to an account commits, its reads stay on the primary this long. Should exceed the replica's lag.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(2);
+
+    /**
+     * Accounts remembered for the window; beyond this the oldest are forgotten early and read from the replica.
+     */
+    private long readYourWritesMaximumSize = 100_000;
+
+    public boolean isEnabled() {
+        return StringUtils.hasText(url);
+    }
+}
@@ -0,0 +1,27 @@
+package com.bank.bankaccountmanagementsystem.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "bank.account.statement")
+public class StatementProperties {
+
+    /**
+     * JDBC fetch size of the statement query only. {@code Integer.MIN_VALUE} makes MySQL Connector/J stream the rows
+     * one at a time instead of buffering the whole result; drivers that reject a negative fetch size (H2) need a
+     * positive one.
+     */
+    private int fetchSize = Integer.MIN_VALUE;
+
+    /**
+     * How long one statement export may keep streaming; the other async requests keep Spring MVC's default.
+     */
+    private Duration timeout = Duration.ofMinutes(30);
+}
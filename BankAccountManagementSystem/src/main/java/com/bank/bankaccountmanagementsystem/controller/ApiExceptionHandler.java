@@ -0,0 +1,42 @@
+package com.bank.bankaccountmanagementsystem.controller;
+
+import com.bank.bankaccountmanagementsystem.service.AccountBusyException;
+import com.bank.bankaccountmanagementsystem.service.AccountNotFoundException;
+import com.bank.bankaccountmanagementsystem.service.Outcome;
+import com.bank.bankaccountmanagementsystem.service.RejectionException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Turns the service's rejections into error responses for every endpoint: a missing account is 404, any other
+ * {@link RejectionException} (balance limit, invalid input, duplicate account) is 400, and a busy account is 503.
+ * Anything else is a fault, not a rejection; it is left to Spring Boot's error handling, which answers 500 without
+ * the exception's message.
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    @ExceptionHandler(AccountNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleAccountNotFound(AccountNotFoundException e, HttpServletRequest request) {
+        return error(HttpStatus.NOT_FOUND, e, request);
+    }
+
+    @ExceptionHandler(RejectionException.class)
+    public ResponseEntity<ErrorResponse> handleRejected(RejectionException e, HttpServletRequest request) {
+        return error(HttpStatus.BAD_REQUEST, e, request);
+    }
+
+    @ExceptionHandler(AccountBusyException.class)
+    public ResponseEntity<ErrorResponse> handleUnavailable(AccountBusyException e, HttpServletRequest request) {
+        return error(HttpStatus.SERVICE_UNAVAILABLE, e, request);
+    }
+
+    // Aynı durum kodu birden çok nedeni kapsar (400: bakiye sınırı ya da doğrulama); http.server.requests etiketi için kaydedilir
+    private static ResponseEntity<ErrorResponse> error(HttpStatus status, RuntimeException e, HttpServletRequest request) {
+        request.setAttribute(Outcome.REQUEST_ATTRIBUTE, Outcome.of(e));
+        return ResponseEntity.status(status).body(new ErrorResponse("Error: " + e.getMessage()));
+    }
+}
@@ -1,33 +1,67 @@
 package com.bank.bankaccountmanagementsystem.controller;
 
+import com.bank.bankaccountmanagementsystem.config.BulkProperties;
+import com.bank.bankaccountmanagementsystem.config.StatementProperties;
 import com.bank.bankaccountmanagementsystem.dto.AccountDTO;
 import com.bank.bankaccountmanagementsystem.dto.AccountTransactionDTO;
+import com.bank.bankaccountmanagementsystem.dto.AccountTransactionRequestDTO;
+import com.bank.bankaccountmanagementsystem.dto.BalanceAsOfDTO;
+import com.bank.bankaccountmanagementsystem.dto.BulkTransactionResultDTO;
+import com.bank.bankaccountmanagementsystem.dto.TransactionCursor;
+import com.bank.bankaccountmanagementsystem.dto.TransactionPageDTO;
+import com.bank.bankaccountmanagementsystem.dto.TransferDTO;
+import com.bank.bankaccountmanagementsystem.model.Account;
 import com.bank.bankaccountmanagementsystem.service.AccountService;
 import com.bank.bankaccountmanagementsystem.service.AccountTransactionService;
+import com.bank.bankaccountmanagementsystem.service.DailyBalanceService;
+import com.bank.bankaccountmanagementsystem.service.StatementExporter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
 @RequestMapping("/accounts")
 public class BankAccountController {
 
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 100;
+
     @Autowired
     private AccountService accountService;
 
     @Autowired
     private AccountTransactionService accountTransactionService;
 
+    @Autowired
+    private StatementExporter statementExporter;
+
+    @Autowired
+    private DailyBalanceService dailyBalanceService;
+
+    @Autowired
+    private StatementProperties statementProperties;
+
+    @Autowired
+    private BulkProperties bulkProperties;
+
     // Hata mesajı için genel metot
     private ResponseEntity<ErrorResponse> handleValidationErrors(BindingResult result) {
         StringBuilder errorMessage = new StringBuilder("Error: ");
@@ -43,12 +77,8 @@ public class BankAccountController {
         if (result.hasErrors()) {
             return handleValidationErrors(result);
         }
-        try {
-            AccountDTO createdAccount = accountService.createAccount(accountDTO);
-            return new ResponseEntity<>(createdAccount, HttpStatus.CREATED);
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ErrorResponse("Error creating account: " + e.getMessage()));
-        }
+        AccountDTO createdAccount = accountService.createAccount(accountDTO);
+        return new ResponseEntity<>(createdAccount, HttpStatus.CREATED);
     }
 
     @Operation(summary = "Update an existing account", description = "Updates an existing account with the provided details")
@@ -57,61 +87,133 @@ public class BankAccountController {
         if (result.hasErrors()) {
             return handleValidationErrors(result);
         }
-        try {
-            AccountDTO updatedAccount = accountService.updateAccount(accountId, accountDTO);
-            return ResponseEntity.ok(updatedAccount);
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ErrorResponse("Account not found: " + e.getMessage()));
-        }
+        AccountDTO updatedAccount = accountService.updateAccount(accountId, accountDTO);
+        return ResponseEntity.ok(updatedAccount);
     }
 
     @Operation(summary = "Delete an account", description = "Deletes an existing account by its ID")
     @DeleteMapping("/{accountId}")
     public ResponseEntity<?> deleteAccount(@PathVariable UUID accountId) {
-        try {
-            accountService.deleteAccount(accountId);
-            return ResponseEntity.ok("Account deleted successfully.");
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ErrorResponse("Account not found: " + e.getMessage()));
-        }
+        accountService.deleteAccount(accountId);
+        return ResponseEntity.ok("Account deleted successfully.");
     }
 
     @Operation(summary = "Get an account by ID", description = "Retrieves account details by its ID")
     @GetMapping("/{accountId}")
     public ResponseEntity<?> getAccountById(@PathVariable UUID accountId) {
-        try {
-            AccountDTO accountDTO = accountService.getAccountDTOById(accountId);
-            return ResponseEntity.ok(accountDTO);
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ErrorResponse("Account not found: " + e.getMessage()));
-        }
+        AccountDTO accountDTO = accountService.getAccountDTOById(accountId);
+        return ResponseEntity.ok(accountDTO);
     }
 
     @Operation(summary = "Deposit money into an account", description = "Deposits a specified amount into the account")
     @PostMapping("/{accountId}/deposit")
-    public ResponseEntity<String> deposit(@PathVariable UUID accountId, @RequestParam @NotNull BigDecimal amount) {
-        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
-            return ResponseEntity.badRequest().body(new ErrorResponse("Amount must be greater than zero.").getMessage());
+    public ResponseEntity<?> deposit(@PathVariable UUID accountId, @RequestParam @NotNull BigDecimal amount,
+                                          @Parameter(description = "Currency of the amount; converted to the account's currency. Defaults to the account's")
+                                          @RequestParam(required = false) Account.AccountType currency,
+                                          @Parameter(description = "Repeated requests with the same key return the first result and are applied once")
+                                          @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        if (amount.signum() <= 0) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("Amount must be greater than zero."));
         }
-        try {
-            AccountTransactionDTO transaction = accountTransactionService.deposit(accountId, amount);
-            return ResponseEntity.ok("Money deposited successfully. Transaction ID: " + transaction.getTransactionDate());
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ErrorResponse("Error: " + e.getMessage()).getMessage());
+        if (!isValidIdempotencyKey(idempotencyKey)) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("Idempotency-Key must be 1 to " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters."));
         }
+        AccountTransactionDTO transaction = accountTransactionService.deposit(accountId, amount, currency, idempotencyKey);
+        return ResponseEntity.ok("Money deposited successfully. Transaction ID: " + transaction.getTransactionDate());
     }
 
     @Operation(summary = "Withdraw money from an account", description = "Withdraws a specified amount from the account")
     @PostMapping("/{accountId}/withdraw")
-    public ResponseEntity<String> withdraw(@PathVariable UUID accountId, @RequestParam @NotNull BigDecimal amount) {
-        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
-            return ResponseEntity.badRequest().body(new ErrorResponse("Amount must be greater than zero.").getMessage());
+    public ResponseEntity<?> withdraw(@PathVariable UUID accountId, @RequestParam @NotNull BigDecimal amount,
+                                           @Parameter(description = "Repeated requests with the same key return the first result and are applied once")
+                                           @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        if (amount.signum() <= 0) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("Amount must be greater than zero."));
+        }
+        if (!isValidIdempotencyKey(idempotencyKey)) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("Idempotency-Key must be 1 to " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters."));
+        }
+        AccountTransactionDTO transaction = accountTransactionService.withdraw(accountId, amount, idempotencyKey);
+        return ResponseEntity.ok("Money withdrawn successfully. Transaction ID: " + transaction.getTransactionDate());
+    }
+
+    @Operation(summary = "Transfer money to another account", description = "Moves the amount from this account to the target account in one transaction")
+    @PostMapping("/{accountId}/transfer")
+    public ResponseEntity<?> transfer(@PathVariable UUID accountId, @RequestParam @NotNull UUID to, @RequestParam @NotNull BigDecimal amount,
+                                      @Parameter(description = "Currency of the amount; each side is converted to its account's currency. Defaults to the source account's")
+                                      @RequestParam(required = false) Account.AccountType currency) {
+        if (amount.signum() <= 0) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("Amount must be greater than zero."));
+        }
+        TransferDTO transfer = accountTransactionService.transfer(accountId, to, amount, currency);
+        return ResponseEntity.ok(transfer);
+    }
+
+    private boolean isValidIdempotencyKey(String idempotencyKey) {
+        return idempotencyKey == null || (!idempotencyKey.isBlank() && idempotencyKey.length() <= MAX_IDEMPOTENCY_KEY_LENGTH);
+    }
+
+    @Operation(summary = "Apply many deposits/withdrawals at once", description = "Applies a list of deposit and withdrawal operations in one transaction and reports the result of each item")
+    @PostMapping("/transactions/bulk")
+    public ResponseEntity<?> bulkTransactions(@RequestBody List<AccountTransactionRequestDTO> operations) {
+        if (operations == null || operations.isEmpty()) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("At least one operation is required."));
+        }
+        if (operations.size() > bulkProperties.getMaxOperations()) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("At most " + bulkProperties.getMaxOperations() + " operations are allowed per request."));
         }
+        List<BulkTransactionResultDTO> results = accountTransactionService.processBulk(operations);
+        return ResponseEntity.ok(results);
+    }
+
+    @Operation(summary = "Get an account's balance at a point in time", description = "Returns the balance at asOf (default: now) from the nearest daily snapshot and that day's transactions")
+    @GetMapping("/{accountId}/balance")
+    public ResponseEntity<?> getBalanceAsOf(@PathVariable UUID accountId,
+                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+        BalanceAsOfDTO balance = dailyBalanceService.getBalanceAsOf(accountId, asOf == null ? LocalDateTime.now() : asOf);
+        return ResponseEntity.ok(balance);
+    }
+
+    @Operation(summary = "List an account's transactions", description = "Returns the account's transactions newest first, one page at a time; pass nextCursor from the previous page to continue")
+    @GetMapping("/{accountId}/transactions")
+    public ResponseEntity<?> getTransactions(@PathVariable UUID accountId,
+                                             @RequestParam(required = false) String cursor,
+                                             @RequestParam(defaultValue = "50") int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("Size must be between 1 and " + MAX_PAGE_SIZE + "."));
+        }
+        TransactionCursor position;
+        try {
+            position = cursor == null ? null : TransactionCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("Error: " + e.getMessage()));
+        }
+        TransactionPageDTO page = accountTransactionService.getTransactionHistory(accountId, position, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @Operation(summary = "Export an account statement", description = "Streams the account's transactions in [from, to), oldest first, as NDJSON or CSV")
+    @GetMapping("/{accountId}/statement")
+    public ResponseEntity<?> exportStatement(@PathVariable UUID accountId,
+                                             @RequestParam(defaultValue = "ndjson") String format,
+                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                             HttpServletRequest request) {
+        StatementExporter.Format statementFormat;
         try {
-            AccountTransactionDTO transaction = accountTransactionService.withdraw(accountId, amount);
-            return ResponseEntity.ok("Money withdrawn successfully. Transaction ID: " + transaction.getTransactionDate());
+            statementFormat = StatementExporter.Format.valueOf(format.toUpperCase());
         } catch (IllegalArgumentException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ErrorResponse("Insufficient balance or error: " + e.getMessage()).getMessage());
+            return ResponseEntity.badRequest().body(new ErrorResponse("Format must be ndjson or csv."));
         }
+        // Yanıt akmaya başladıktan sonra durum kodu değiştirilemez; hesap önceden kontrol edilir.
+        accountService.getAccountDTOById(accountId);
+        StreamingResponseBody body = out -> statementExporter.export(accountId, from, to, statementFormat, out);
+        // Büyük ekstreler varsayılan async süresini aşabilir; uzun süre yalnızca bu isteğe verilir
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(StatementTimeout.class.getName(),
+                new StatementTimeout(statementProperties.getTimeout()));
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(statementFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"statement-" + accountId + "." + format.toLowerCase() + "\"")
+                .body(body);
     }
 }
@@ -0,0 +1,43 @@
+package com.bank.bankaccountmanagementsystem.controller;
+
+import com.bank.bankaccountmanagementsystem.service.Outcome;
+import io.micrometer.common.KeyValues;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds a {@code result} tag to {@code http.server.requests} with the same values as the {@code outcome} tag of
+ * {@code bank.account.transaction}. {@link ApiExceptionHandler} records the outcome of every error it maps;
+ * otherwise it is derived from the status.
+ */
+@Component
+public class OutcomeObservationConvention extends DefaultServerRequestObservationConvention {
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context).and("result", result(context).tag());
+    }
+
+    private static Outcome result(ServerRequestObservationContext context) {
+        if (context.getCarrier().getAttribute(Outcome.REQUEST_ATTRIBUTE) instanceof Outcome outcome) {
+            return outcome;
+        }
+        HttpServletResponse response = context.getResponse();
+        if (context.getError() != null || response == null) {
+            return Outcome.ERROR;
+        }
+        int status = response.getStatus();
+        if (status < 400) {
+            return Outcome.SUCCESS;
+        }
+        if (status == 404) {
+            return Outcome.NOT_FOUND;
+        }
+        if (status == 503) {
+            return Outcome.UNAVAILABLE;
+        }
+        return status < 500 ? Outcome.VALIDATION_ERROR : Outcome.ERROR;
+    }
+}
@@ -0,0 +1,29 @@
+package com.bank.bankaccountmanagementsystem.controller;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * Gives one streaming response its own async timeout. Registered on the request's async manager, so
+ * {@code spring.mvc.async.request-timeout} still applies to every other async endpoint; it runs before the
+ * servlet container starts async processing, which is the last moment the timeout can be changed.
+ */
+class StatementTimeout implements CallableProcessingInterceptor {
+
+    private final Duration timeout;
+
+    StatementTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    @Override
+    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+        if (request instanceof AsyncWebRequest asyncWebRequest) {
+            asyncWebRequest.setTimeout(timeout.toMillis());
+        }
+    }
+}
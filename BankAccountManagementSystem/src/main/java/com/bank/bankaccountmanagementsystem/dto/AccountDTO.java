@@ -1,5 +1,8 @@
 package com.bank.bankaccountmanagementsystem.dto;
 
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
 import lombok.*;
 import com.bank.bankaccountmanagementsystem.model.Account.AccountType;
 import java.math.BigDecimal;
@@ -15,5 +18,8 @@ public class AccountDTO {
     private String accountOwnerFirstName;
     private String accountOwnerLastName;
     private AccountType accountType;
+    @DecimalMin(value = "0.00", message = "Balance cannot be less than 0")
+    @DecimalMax(value = "9999999.99", message = "Balance cannot exceed the maximum limit")
+    @Digits(integer = 7, fraction = 2, message = "Balance cannot have more than 2 decimal places")
     private BigDecimal balance;
 }
@@ -6,6 +6,7 @@ import lombok.Setter;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 @Getter
 @Setter
@@ -21,4 +22,9 @@ public class AccountTransactionDTO {
         this.amount = amount;
         this.transactionDate = transactionDate;
     }
+
+    // JPQL yapıcı ifadesi için: hesap satırı okunmadan yalnızca account_id sütunu kullanılır.
+    public AccountTransactionDTO(UUID accountId, TransactionType transactionType, BigDecimal amount, LocalDateTime transactionDate) {
+        this(accountId.toString(), transactionType, amount, transactionDate);
+    }
 }
@@ -0,0 +1,22 @@
+package com.bank.bankaccountmanagementsystem.dto;
+
+import com.bank.bankaccountmanagementsystem.model.AccountTransaction.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountTransactionHistoryDTO {
+    private UUID id;
+    private TransactionType transactionType;
+    private BigDecimal amount;
+    private LocalDateTime transactionDate;
+}
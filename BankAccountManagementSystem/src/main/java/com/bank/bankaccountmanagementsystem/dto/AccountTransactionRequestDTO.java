@@ -0,0 +1,20 @@
+package com.bank.bankaccountmanagementsystem.dto;
+
+import com.bank.bankaccountmanagementsystem.model.AccountTransaction.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountTransactionRequestDTO {
+    private UUID accountId;
+    private TransactionType transactionType;
+    private BigDecimal amount;
+}
@@ -0,0 +1,20 @@
+package com.bank.bankaccountmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceAsOfDTO {
+    private UUID accountId;
+    private LocalDateTime asOf;
+    private BigDecimal balance;
+}
@@ -0,0 +1,36 @@
+package com.bank.bankaccountmanagementsystem.dto;
+
+import com.bank.bankaccountmanagementsystem.model.AccountTransaction.TransactionType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTransactionResultDTO {
+    private int index;
+    private UUID accountId;
+    private TransactionType transactionType;
+    private BigDecimal amount;
+    private boolean success;
+    private String message;
+    private LocalDateTime transactionDate;
+
+    // Başarısız öğenin türü; grup commit istisnayı mesaj metninden değil buradan kurar. Yanıta yazılmaz
+    @JsonIgnore
+    private Rejection rejection;
+
+    public enum Rejection {
+        INVALID_REQUEST,
+        ACCOUNT_NOT_FOUND,
+        BALANCE_LIMIT
+    }
+}
@@ -0,0 +1,34 @@
+package com.bank.bankaccountmanagementsystem.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in an account's history: the (transactionDate, id) of the last row of the previous page, encoded as an
+ * opaque URL-safe string.
+ */
+public record TransactionCursor(LocalDateTime transactionDate, UUID id) {
+
+    public static TransactionCursor of(AccountTransactionHistoryDTO last) {
+        return new TransactionCursor(last.getTransactionDate(), last.getId());
+    }
+
+    public static TransactionCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf('_');
+            return new TransactionCursor(LocalDateTime.parse(decoded.substring(0, separator)),
+                    UUID.fromString(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((transactionDate + "_" + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
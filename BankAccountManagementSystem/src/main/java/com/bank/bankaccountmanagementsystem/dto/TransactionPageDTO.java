@@ -0,0 +1,20 @@
+package com.bank.bankaccountmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionPageDTO {
+    private List<AccountTransactionHistoryDTO> items;
+    /**
+     * Pass as {@code cursor} to fetch the next (older) page; {@code null} on the last page.
+     */
+    private String nextCursor;
+}
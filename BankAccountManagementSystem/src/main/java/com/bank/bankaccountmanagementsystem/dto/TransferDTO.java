@@ -0,0 +1,24 @@
+package com.bank.bankaccountmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransferDTO {
+    private UUID fromAccountId;
+    private UUID toAccountId;
+    // Gönderen hesabın para biriminde düşülen tutar
+    private BigDecimal amount;
+    // Alıcı hesabın para biriminde eklenen tutar
+    private BigDecimal creditedAmount;
+    private LocalDateTime transactionDate;
+}
@@ -2,6 +2,7 @@ package com.bank.bankaccountmanagementsystem.mapper;
 
 import com.bank.bankaccountmanagementsystem.dto.AccountDTO;
 import com.bank.bankaccountmanagementsystem.model.Account;
+import com.bank.bankaccountmanagementsystem.model.Money;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -15,7 +16,7 @@ public class AccountMapper {
                 account.getAccountOwnerFirstName(),
                 account.getAccountOwnerLastName(),
                 account.getAccountType(),
-                account.getBalance()
+                account.getBalance() == null ? null : account.getBalance().toBigDecimal()
         );
     }
 
@@ -27,7 +28,7 @@ public class AccountMapper {
         account.setAccountOwnerFirstName(accountDTO.getAccountOwnerFirstName());
         account.setAccountOwnerLastName(accountDTO.getAccountOwnerLastName());
         account.setAccountType(accountDTO.getAccountType());
-        account.setBalance(accountDTO.getBalance());
+        account.setBalance(accountDTO.getBalance() == null ? null : Money.of(accountDTO.getBalance()));
         return account;
     }
 }
@@ -1,16 +1,14 @@
 package com.bank.bankaccountmanagementsystem.model;
 
 import jakarta.persistence.*;
-import jakarta.validation.constraints.DecimalMax;
-import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.UuidGenerator;
 
-import java.math.BigDecimal;
 import java.util.UUID;
 
 @Entity
@@ -22,7 +20,7 @@ import java.util.UUID;
 public class Account {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     private UUID id;
 
     @NotNull(message = "Account owner identity number cannot be null")
@@ -44,10 +42,13 @@ public class Account {
     @Column(name = "account_type", nullable = false)
     private AccountType accountType;
 
-    @DecimalMin(value = "0.00", message = "Balance cannot be less than 0")
-    @DecimalMax(value = "9999999.99", message = "Balance cannot exceed the maximum limit")
+    // Sınırlar AccountDTO'da ve bakiye değiştiren servis metotlarında doğrulanır.
     @Column(nullable = false, precision = 15, scale = 2)
-    private BigDecimal balance;
+    private Money balance;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
 
     public enum AccountType {
         TL,
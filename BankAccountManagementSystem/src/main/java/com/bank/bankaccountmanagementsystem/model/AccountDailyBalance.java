@@ -0,0 +1,72 @@
+package com.bank.bankaccountmanagementsystem.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Balance of an account at the end of a day, i.e. after every transaction dated that day.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@IdClass(AccountDailyBalance.Key.class)
+@Table(name = "account_daily_balance")
+public class AccountDailyBalance implements Persistable<AccountDailyBalance.Key> {
+
+    @Id
+    @Column(name = "account_id", nullable = false)
+    private UUID accountId;
+
+    @Id
+    @Column(name = "balance_date", nullable = false)
+    private LocalDate balanceDate;
+
+    @Column(name = "closing_balance", nullable = false, precision = 15, scale = 2)
+    private BigDecimal closingBalance;
+
+    // Yeniden oluşturma sırasında saveAll, satır başına SELECT (merge) yerine doğrudan INSERT yapsın diye
+    @Transient
+    private boolean isNew = true;
+
+    public AccountDailyBalance(UUID accountId, LocalDate balanceDate, BigDecimal closingBalance) {
+        this.accountId = accountId;
+        this.balanceDate = balanceDate;
+        this.closingBalance = closingBalance;
+    }
+
+    @Override
+    public Key getId() {
+        return new Key(accountId, balanceDate);
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        isNew = false;
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private UUID accountId;
+        private LocalDate balanceDate;
+    }
+}
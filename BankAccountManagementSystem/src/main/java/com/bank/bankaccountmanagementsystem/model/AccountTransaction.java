@@ -5,6 +5,7 @@ import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -17,11 +18,12 @@ import java.util.UUID;
 public class AccountTransaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     private UUID id;
 
-    @ManyToOne
-    @JoinColumn(name = "account_id", nullable = false)
+    // MySQL'de tablo transaction_date üzerinden bölümlenir ve bölümlenmiş tablolar yabancı anahtar desteklemez
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "account_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private Account account;
 
     @Enumerated(EnumType.STRING)
@@ -35,8 +37,14 @@ public class AccountTransaction {
     @Column(nullable = false)
     private LocalDateTime transactionDate;
 
+    // Bir transfer iki satır yazar: gönderen hesapta TRANSFER_OUT, alıcı hesapta TRANSFER_IN.
+    // PUT /accounts/{accountId} ile elle değiştirilen bakiye farkı ADJUSTMENT_IN/ADJUSTMENT_OUT olarak yazılır.
     public enum TransactionType {
         DEPOSIT,
-        WITHDRAWAL
+        WITHDRAWAL,
+        TRANSFER_OUT,
+        TRANSFER_IN,
+        ADJUSTMENT_IN,
+        ADJUSTMENT_OUT
     }
 }
@@ -0,0 +1,36 @@
+package com.bank.bankaccountmanagementsystem.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A posting that {@code TransactionArchiver} moved out of account_transactions. Only read; rows are written by the
+ * archiver's {@code INSERT ... SELECT}. Every archived posting is older than every posting still in the hot table.
+ */
+@Entity
+@Getter
+@Immutable
+@Table(name = "account_transactions_archive")
+public class ArchivedTransaction {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "account_id", nullable = false)
+    private UUID accountId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_type", nullable = false)
+    private AccountTransaction.TransactionType transactionType;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    @Column(nullable = false)
+    private LocalDateTime transactionDate;
+}
@@ -0,0 +1,50 @@
+package com.bank.bankaccountmanagementsystem.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Price of one unit of {@code baseCurrency} in {@code quoteCurrency}.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(FxRate.Key.class)
+@Table(name = "fx_rates")
+public class FxRate {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "base_currency", nullable = false)
+    private Account.AccountType baseCurrency;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "quote_currency", nullable = false)
+    private Account.AccountType quoteCurrency;
+
+    @Column(nullable = false, precision = 19, scale = 8)
+    private BigDecimal rate;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Account.AccountType baseCurrency;
+        private Account.AccountType quoteCurrency;
+    }
+}
@@ -0,0 +1,70 @@
+package com.bank.bankaccountmanagementsystem.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Result of a deposit/withdraw that was sent with an Idempotency-Key.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "idempotency_keys")
+public class IdempotencyRecord implements Persistable<String> {
+
+    @Id
+    @Column(name = "idempotency_key", length = 100, nullable = false)
+    private String idempotencyKey;
+
+    @Column(name = "account_id", nullable = false)
+    private UUID accountId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_type", nullable = false)
+    private AccountTransaction.TransactionType transactionType;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "transaction_date", nullable = false)
+    private LocalDateTime transactionDate;
+
+    // İstekte gönderilen tutar ve para birimi; boşsa tutar amount ile aynıdır ve hesabın para birimindedir.
+    @Column(name = "request_amount", precision = 15, scale = 2)
+    private BigDecimal requestAmount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "request_currency")
+    private Account.AccountType requestCurrency;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // save() anahtar atanmış olsa da SELECT yapmadan INSERT etsin; tekrar eden anahtar PK ihlaliyle yakalanır
+    @Transient
+    private boolean isNew = true;
+
+    @Override
+    public String getId() {
+        return idempotencyKey;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        isNew = false;
+    }
+}
@@ -0,0 +1,72 @@
+package com.bank.bankaccountmanagementsystem.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One balance change of an account in the event-sourced ledger. Events are only ever appended; an account's balance
+ * is the sum of its deltas in sequence order, and the sequence starts at 1 with the OPENED event.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@IdClass(LedgerEvent.Key.class)
+@Table(name = "ledger_events")
+public class LedgerEvent {
+
+    @Id
+    @Column(name = "account_id", nullable = false)
+    private UUID accountId;
+
+    @Id
+    @Column(name = "sequence_number", nullable = false)
+    private long sequenceNumber;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false)
+    private EventType eventType;
+
+    // İşaretli: para çıkışlarında negatif
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal delta;
+
+    @Column(name = "event_date", nullable = false)
+    private LocalDateTime eventDate;
+
+    public enum EventType {
+        // Hesabın açılış bakiyesi; mod açılmadan önce var olan hesaplarda o anki bakiye
+        OPENED,
+        DEPOSIT,
+        WITHDRAWAL,
+        TRANSFER_OUT,
+        TRANSFER_IN,
+        // PUT /accounts/{accountId} ile elle değiştirilen bakiye
+        ADJUSTMENT;
+
+        public static EventType of(AccountTransaction.TransactionType transactionType) {
+            return switch (transactionType) {
+                case ADJUSTMENT_IN, ADJUSTMENT_OUT -> ADJUSTMENT;
+                default -> valueOf(transactionType.name());
+            };
+        }
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private UUID accountId;
+        private long sequenceNumber;
+    }
+}
@@ -0,0 +1,62 @@
+package com.bank.bankaccountmanagementsystem.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Balance of an account after its event {@code sequenceNumber}; only the latest snapshot is kept.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "ledger_snapshots")
+public class LedgerSnapshot implements Persistable<UUID> {
+
+    @Id
+    @Column(name = "account_id", nullable = false)
+    private UUID accountId;
+
+    @Column(name = "sequence_number", nullable = false)
+    private long sequenceNumber;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal balance;
+
+    @Column(name = "taken_at", nullable = false)
+    private LocalDateTime takenAt;
+
+    // Yeniden oynatmada saveAll, satır başına SELECT (merge) yerine toplu INSERT yapsın diye
+    @Transient
+    private boolean isNew = true;
+
+    public LedgerSnapshot(UUID accountId, long sequenceNumber, BigDecimal balance, LocalDateTime takenAt) {
+        this.accountId = accountId;
+        this.sequenceNumber = sequenceNumber;
+        this.balance = balance;
+        this.takenAt = takenAt;
+    }
+
+    @Override
+    public UUID getId() {
+        return accountId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        isNew = false;
+    }
+}
@@ -0,0 +1,101 @@
+package com.bank.bankaccountmanagementsystem.model;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * An amount held as a whole number of minor units (cents) in a {@code long}. Used for balances and amounts inside
+ * the service layer; {@link BigDecimal} is only created at the DTO and database boundary.
+ * <p>
+ * Rounding is never implicit: {@link #of(BigDecimal)} rejects fractions of a cent, and callers that want rounding
+ * pass a {@link RoundingMode} to {@link #of(BigDecimal, RoundingMode)}. Arithmetic throws
+ * {@link ArithmeticException} on {@code long} overflow instead of wrapping around.
+ */
+public final class Money implements Comparable<Money> {
+
+    public static final int SCALE = 2;
+    public static final Money ZERO = new Money(0);
+
+    private final long minorUnits;
+
+    private Money(long minorUnits) {
+        this.minorUnits = minorUnits;
+    }
+
+    public static Money ofMinor(long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Money(minorUnits);
+    }
+
+    /**
+     * Exact conversion. Throws IllegalArgumentException if {@code amount} has fractions of a cent or does not fit.
+     */
+    public static Money of(BigDecimal amount) {
+        BigDecimal cents;
+        try {
+            cents = amount.setScale(SCALE);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount cannot have more than " + SCALE + " decimal places.");
+        }
+        return ofCents(cents);
+    }
+
+    /**
+     * Converts {@code amount} to cents with the given rounding. Throws IllegalArgumentException if it does not fit.
+     */
+    public static Money of(BigDecimal amount, RoundingMode rounding) {
+        return ofCents(amount.setScale(SCALE, rounding));
+    }
+
+    private static Money ofCents(BigDecimal cents) {
+        BigInteger unscaled = cents.unscaledValue();
+        if (unscaled.bitLength() > Long.SIZE - 1) {
+            throw new IllegalArgumentException("Amount is out of range.");
+        }
+        return ofMinor(unscaled.longValue());
+    }
+
+    public long minorUnits() {
+        return minorUnits;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    public Money plus(Money other) {
+        return ofMinor(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money minus(Money other) {
+        return ofMinor(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    public Money negate() {
+        return ofMinor(Math.negateExact(minorUnits));
+    }
+
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Money money && money.minorUnits == minorUnits;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
@@ -0,0 +1,35 @@
+package com.bank.bankaccountmanagementsystem.model;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.uuid.UuidValueGenerator;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered UUIDv7 (RFC 9562) identifiers: 48-bit Unix milliseconds, then a 12-bit counter, then 62 random bits.
+ * Stored as {@code binary(16)} the keys sort by creation time, so new rows are appended to the right edge of the
+ * primary key B-tree instead of landing on random pages. The counter keeps keys generated in the same millisecond
+ * increasing; if it overflows, the timestamp is carried forward by one millisecond.
+ */
+public class UuidV7Generator implements UuidValueGenerator {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // Üst 52 bit: son kullanılan (milisaniye << 12 | sayaç) değeri
+    private static final AtomicLong LAST_TIME_AND_COUNTER = new AtomicLong();
+
+    @Override
+    public UUID generateUuid(SharedSessionContractImplementor session) {
+        return next();
+    }
+
+    public static UUID next() {
+        long now = System.currentTimeMillis() << 12;
+        long timeAndCounter = LAST_TIME_AND_COUNTER.updateAndGet(last -> Math.max(now, last + 1));
+        long mostSigBits = (timeAndCounter >>> 12) << 16 | 0x7000L | (timeAndCounter & 0xFFFL);
+        long leastSigBits = RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
@@ -0,0 +1,41 @@
+package com.bank.bankaccountmanagementsystem.repository;
+
+import com.bank.bankaccountmanagementsystem.model.AccountDailyBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface AccountDailyBalanceRepository extends JpaRepository<AccountDailyBalance, AccountDailyBalance.Key> {
+
+    /**
+     * Sets the day's closing balance to the account's current balance. Called in the posting transaction, after the
+     * balance change and while the account row is still locked, so the last posting of the day wins. The update
+     * reads the balance with a subquery rather than {@code VALUES()}, which MySQL deprecates, or a row alias, which H2
+     * does not parse.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO account_daily_balance (account_id, balance_date, closing_balance) " +
+            "SELECT a.id, :balanceDate, a.balance FROM accounts a WHERE a.id = :accountId " +
+            "ON DUPLICATE KEY UPDATE closing_balance = (SELECT b.balance FROM accounts b WHERE b.id = :accountId)", nativeQuery = true)
+    int upsertFromAccount(@Param("accountId") UUID accountId, @Param("balanceDate") LocalDate balanceDate);
+
+    Optional<AccountDailyBalance> findTopByAccountIdAndBalanceDateLessThanEqualOrderByBalanceDateDesc(UUID accountId, LocalDate balanceDate);
+
+    Optional<AccountDailyBalance> findTopByAccountIdOrderByBalanceDateAsc(UUID accountId);
+
+    @Modifying
+    @Query("DELETE FROM AccountDailyBalance d WHERE d.accountId IN :accountIds")
+    int deleteByAccountIds(@Param("accountIds") Collection<UUID> accountIds);
+
+    @Modifying
+    @Query("DELETE FROM AccountDailyBalance d WHERE d.accountId IN :accountIds AND d.balanceDate >= :from")
+    int deleteByAccountIdsFrom(@Param("accountIds") Collection<UUID> accountIds, @Param("from") LocalDate from);
+}
@@ -1,19 +1,95 @@
 package com.bank.bankaccountmanagementsystem.repository;
 
 import com.bank.bankaccountmanagementsystem.model.Account;
+import com.bank.bankaccountmanagementsystem.model.Money;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface AccountRepository extends JpaRepository<Account, UUID> {
 
     Optional<Account> findByAccountOwnerIdentityNoAndAccountType(Long identityNo, Account.AccountType accountType);
 
+    /**
+     * Streams only the (identity number, account type) pairs, without materializing entities.
+     * Must be consumed inside a transaction and closed.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT a.accountOwnerIdentityNo AS accountOwnerIdentityNo, a.accountType AS accountType FROM Account a")
+    Stream<OwnerKey> streamOwnerKeys();
+
+    /**
+     * Adds {@code delta} to the balance in a single statement, only if the result stays within
+     * {@code [minBalance, maxBalance]}. Returns the number of rows changed (0 or 1).
+     * The version is bumped so optimistic writers see the change. Native SQL, because the balance is mapped through
+     * {@code MoneyConverter} and JPQL cannot type arithmetic on a converted attribute.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE accounts SET balance = balance + :delta, version = version + 1 " +
+            "WHERE id = :accountId " +
+            "AND balance + :delta >= :minBalance " +
+            "AND balance + :delta <= :maxBalance", nativeQuery = true)
+    int applyBalanceDelta(@Param("accountId") UUID accountId,
+                          @Param("delta") BigDecimal delta,
+                          @Param("minBalance") BigDecimal minBalance,
+                          @Param("maxBalance") BigDecimal maxBalance);
+
+    /**
+     * Overwrites the balance with one computed elsewhere; used in ledger mode, where the balance column is a
+     * projection of ledger_events. The version is bumped as in {@link #applyBalanceDelta}.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE accounts SET balance = :balance, version = version + 1 WHERE id = :accountId", nativeQuery = true)
+    int setBalance(@Param("accountId") UUID accountId, @Param("balance") BigDecimal balance);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.id = :accountId")
+    Optional<Account> findByIdForUpdate(@Param("accountId") UUID accountId);
+
+    /**
+     * Locks the given accounts in id order, so two callers locking overlapping sets cannot deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.id IN :accountIds ORDER BY a.id")
+    List<Account> findAllByIdForUpdate(@Param("accountIds") Collection<UUID> accountIds);
+
+    /**
+     * Account ids in id order, starting after {@code after}; keyset pages for batch jobs.
+     */
+    @Query("SELECT a.id FROM Account a WHERE a.id > :after ORDER BY a.id")
+    List<UUID> findIdsAfter(@Param("after") UUID after, Limit limit);
+
+    @Query("SELECT a.id FROM Account a ORDER BY a.id")
+    List<UUID> findIds(Limit limit);
+
+    // Transaction dışında çağrılır: replikaya değil birincil veritabanına gider
+    @Query("SELECT a.balance FROM Account a WHERE a.id = :accountId")
+    Optional<Money> findBalanceById(@Param("accountId") UUID accountId);
+
+    @Query("SELECT a.accountType FROM Account a WHERE a.id = :accountId")
+    Optional<Account.AccountType> findAccountTypeById(@Param("accountId") UUID accountId);
 
     void deleteById(UUID accountId);
+
+    interface OwnerKey {
+        Long getAccountOwnerIdentityNo();
+
+        Account.AccountType getAccountType();
+    }
 }
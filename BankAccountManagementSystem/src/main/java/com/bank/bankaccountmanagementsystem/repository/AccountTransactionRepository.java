@@ -1,16 +1,180 @@
 package com.bank.bankaccountmanagementsystem.repository;
 
+import com.bank.bankaccountmanagementsystem.dto.AccountTransactionDTO;
+import com.bank.bankaccountmanagementsystem.dto.AccountTransactionHistoryDTO;
 import com.bank.bankaccountmanagementsystem.model.AccountTransaction;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface AccountTransactionRepository extends JpaRepository<AccountTransaction, UUID> {
+public interface AccountTransactionRepository extends JpaRepository<AccountTransaction, UUID>, AccountTransactionStatementRepository {
 
-    void deleteByAccountId(UUID accountId);
+    // Bakiyeyi artıran işlem türleri; diğerleri bakiyeden düşülür.
+    String CREDIT_TYPES = "com.bank.bankaccountmanagementsystem.model.AccountTransaction.TransactionType.DEPOSIT, " +
+            "com.bank.bankaccountmanagementsystem.model.AccountTransaction.TransactionType.TRANSFER_IN, " +
+            "com.bank.bankaccountmanagementsystem.model.AccountTransaction.TransactionType.ADJUSTMENT_IN";
 
+    /**
+     * Deletes the account's transactions with one statement; no entity is loaded, so the cost is that of the index
+     * range scan on (account_id, transaction_date, id) and not one round trip per row.
+     */
+    @Modifying
+    @Query("DELETE FROM AccountTransaction t WHERE t.account.id = :accountId")
+    int deleteByAccountId(@Param("accountId") UUID accountId);
+
+    /**
+     * Same as {@link #deleteByAccountId} for the rows moved to account_transactions_archive.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM account_transactions_archive WHERE account_id = :accountId", nativeQuery = true)
+    int deleteArchivedByAccountId(@Param("accountId") UUID accountId);
+
+    /**
+     * Oldest posting still in account_transactions; {@code null} if the table is empty.
+     */
+    @Query("SELECT MIN(t.transactionDate) FROM AccountTransaction t")
+    LocalDateTime findOldestTransactionDate();
+
+    /**
+     * Copies the postings dated in {@code [from, to)} to account_transactions_archive. Used where the table is not
+     * partitioned; run it in the same transaction as {@link #deleteBetween}.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO account_transactions_archive (id, account_id, transaction_date, transaction_type, amount) " +
+            "SELECT id, account_id, transaction_date, transaction_type, amount FROM account_transactions " +
+            "WHERE transaction_date >= :from AND transaction_date < :to", nativeQuery = true)
+    int copyToArchive(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Modifying
+    @Query(value = "DELETE FROM account_transactions WHERE transaction_date >= :from AND transaction_date < :to", nativeQuery = true)
+    int deleteBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Transactions of an account as DTOs, oldest first. {@code t.account.id} is the foreign key column, so the
+     * accounts table is not joined and the whole result is read with one statement.
+     */
+    @Query("SELECT new com.bank.bankaccountmanagementsystem.dto.AccountTransactionDTO(t.account.id, t.transactionType, t.amount, t.transactionDate) " +
+            "FROM AccountTransaction t WHERE t.account.id = :accountId " +
+            "ORDER BY t.transactionDate, t.id")
+    List<AccountTransactionDTO> findTransactionsByAccountId(@Param("accountId") UUID accountId);
+
+    /**
+     * Same projection as {@link #findTransactionsByAccountId} for several accounts in one statement.
+     */
+    @Query("SELECT new com.bank.bankaccountmanagementsystem.dto.AccountTransactionDTO(t.account.id, t.transactionType, t.amount, t.transactionDate) " +
+            "FROM AccountTransaction t WHERE t.account.id IN :accountIds " +
+            "ORDER BY t.transactionDate, t.id")
+    List<AccountTransactionDTO> findTransactionsByAccountIds(@Param("accountIds") Collection<UUID> accountIds);
+
+    /**
+     * Newest transactions of an account. Reads only the history columns (the account row is not joined) and is
+     * served by the (account_id, transaction_date, id) index.
+     */
+    @Query("SELECT new com.bank.bankaccountmanagementsystem.dto.AccountTransactionHistoryDTO(t.id, t.transactionType, t.amount, t.transactionDate) " +
+            "FROM AccountTransaction t WHERE t.account.id = :accountId " +
+            "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<AccountTransactionHistoryDTO> findHistory(@Param("accountId") UUID accountId, Limit limit);
+
+    /**
+     * Keyset continuation of {@link #findHistory}: rows strictly older than the cursor position, so the cost of a
+     * page does not depend on how deep it is.
+     */
+    @Query("SELECT new com.bank.bankaccountmanagementsystem.dto.AccountTransactionHistoryDTO(t.id, t.transactionType, t.amount, t.transactionDate) " +
+            "FROM AccountTransaction t WHERE t.account.id = :accountId " +
+            "AND (t.transactionDate < :cursorDate OR (t.transactionDate = :cursorDate AND t.id < :cursorId)) " +
+            "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<AccountTransactionHistoryDTO> findHistoryBefore(@Param("accountId") UUID accountId,
+                                                         @Param("cursorDate") LocalDateTime cursorDate,
+                                                         @Param("cursorId") UUID cursorId,
+                                                         Limit limit);
+
+    /**
+     * {@link #findHistory} for the postings moved to account_transactions_archive. They are all older than the
+     * postings still in account_transactions, so a history page continues here once the hot table is exhausted.
+     */
+    @Query("SELECT new com.bank.bankaccountmanagementsystem.dto.AccountTransactionHistoryDTO(t.id, t.transactionType, t.amount, t.transactionDate) " +
+            "FROM ArchivedTransaction t WHERE t.accountId = :accountId " +
+            "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<AccountTransactionHistoryDTO> findArchivedHistory(@Param("accountId") UUID accountId, Limit limit);
+
+    /**
+     * {@link #findHistoryBefore} for the archived postings.
+     */
+    @Query("SELECT new com.bank.bankaccountmanagementsystem.dto.AccountTransactionHistoryDTO(t.id, t.transactionType, t.amount, t.transactionDate) " +
+            "FROM ArchivedTransaction t WHERE t.accountId = :accountId " +
+            "AND (t.transactionDate < :cursorDate OR (t.transactionDate = :cursorDate AND t.id < :cursorId)) " +
+            "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<AccountTransactionHistoryDTO> findArchivedHistoryBefore(@Param("accountId") UUID accountId,
+                                                                 @Param("cursorDate") LocalDateTime cursorDate,
+                                                                 @Param("cursorId") UUID cursorId,
+                                                                 Limit limit);
+
+    /**
+     * Net balance change (deposits, incoming transfers and upward adjustments minus the other postings) of the postings dated after {@code after} and before
+     * {@code before}, both exclusive.
+     */
+    @Query("SELECT COALESCE(SUM(CASE WHEN t.transactionType IN (" + CREDIT_TYPES + ") " +
+            "THEN t.amount ELSE -t.amount END), 0) " +
+            "FROM AccountTransaction t WHERE t.account.id = :accountId " +
+            "AND t.transactionDate > :after AND t.transactionDate < :before")
+    BigDecimal sumDeltaBetween(@Param("accountId") UUID accountId,
+                               @Param("after") LocalDateTime after,
+                               @Param("before") LocalDateTime before);
+
+    /**
+     * Net balance change of all postings dated before {@code before} (exclusive).
+     */
+    @Query("SELECT COALESCE(SUM(CASE WHEN t.transactionType IN (" + CREDIT_TYPES + ") " +
+            "THEN t.amount ELSE -t.amount END), 0) " +
+            "FROM AccountTransaction t WHERE t.account.id = :accountId AND t.transactionDate < :before")
+    BigDecimal sumDeltaBefore(@Param("accountId") UUID accountId, @Param("before") LocalDateTime before);
+
+    /**
+     * {@link #sumDeltaBetween} over the archived postings; add both to cover the whole history.
+     */
+    @Query("SELECT COALESCE(SUM(CASE WHEN t.transactionType IN (" + CREDIT_TYPES + ") " +
+            "THEN t.amount ELSE -t.amount END), 0) " +
+            "FROM ArchivedTransaction t WHERE t.accountId = :accountId " +
+            "AND t.transactionDate > :after AND t.transactionDate < :before")
+    BigDecimal sumArchivedDeltaBetween(@Param("accountId") UUID accountId,
+                                       @Param("after") LocalDateTime after,
+                                       @Param("before") LocalDateTime before);
+
+    /**
+     * {@link #sumDeltaBefore} over the archived postings.
+     */
+    @Query("SELECT COALESCE(SUM(CASE WHEN t.transactionType IN (" + CREDIT_TYPES + ") " +
+            "THEN t.amount ELSE -t.amount END), 0) " +
+            "FROM ArchivedTransaction t WHERE t.accountId = :accountId AND t.transactionDate < :before")
+    BigDecimal sumArchivedDeltaBefore(@Param("accountId") UUID accountId, @Param("before") LocalDateTime before);
+
+    /**
+     * Net balance change per account and day, ordered by account and day. Used to rebuild daily balances.
+     */
+    @Query("SELECT t.account.id AS accountId, CAST(t.transactionDate AS LocalDate) AS balanceDate, " +
+            "SUM(CASE WHEN t.transactionType IN (" + CREDIT_TYPES + ") " +
+            "THEN t.amount ELSE -t.amount END) AS delta " +
+            "FROM AccountTransaction t WHERE t.account.id IN :accountIds " +
+            "GROUP BY t.account.id, CAST(t.transactionDate AS LocalDate) " +
+            "ORDER BY t.account.id, CAST(t.transactionDate AS LocalDate)")
+    List<DailyDelta> sumDailyDeltas(@Param("accountIds") Collection<UUID> accountIds);
+
+    interface DailyDelta {
+        UUID getAccountId();
+
+        LocalDate getBalanceDate();
+
+        BigDecimal getDelta();
+    }
 }
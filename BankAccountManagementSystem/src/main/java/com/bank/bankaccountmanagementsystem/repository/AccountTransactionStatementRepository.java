@@ -0,0 +1,26 @@
+package com.bank.bankaccountmanagementsystem.repository;
+
+import com.bank.bankaccountmanagementsystem.dto.AccountTransactionHistoryDTO;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Fragment of {@link AccountTransactionRepository} for the statement queries, whose fetch size is configuration
+ * rather than an annotation constant.
+ */
+public interface AccountTransactionStatementRepository {
+
+    /**
+     * Statement rows of an account, oldest first, in {@code [from, to)}; a {@code null} bound is open. Rows are read
+     * {@code fetchSize} at a time. Must be consumed inside a transaction and closed.
+     */
+    Stream<AccountTransactionHistoryDTO> streamStatement(UUID accountId, LocalDateTime from, LocalDateTime to, int fetchSize);
+
+    /**
+     * {@link #streamStatement} over account_transactions_archive. Archived rows are older than every hot row, so a
+     * full statement is this stream followed by {@link #streamStatement}.
+     */
+    Stream<AccountTransactionHistoryDTO> streamArchivedStatement(UUID accountId, LocalDateTime from, LocalDateTime to, int fetchSize);
+}
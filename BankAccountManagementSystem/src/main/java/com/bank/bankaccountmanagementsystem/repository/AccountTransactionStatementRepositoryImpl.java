@@ -0,0 +1,52 @@
+package com.bank.bankaccountmanagementsystem.repository;
+
+import com.bank.bankaccountmanagementsystem.dto.AccountTransactionHistoryDTO;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+class AccountTransactionStatementRepositoryImpl implements AccountTransactionStatementRepository {
+
+    private static final String STATEMENT_QUERY =
+            "SELECT new com.bank.bankaccountmanagementsystem.dto.AccountTransactionHistoryDTO(t.id, t.transactionType, t.amount, t.transactionDate) " +
+            "FROM AccountTransaction t WHERE t.account.id = :accountId " +
+            "AND (:from IS NULL OR t.transactionDate >= :from) " +
+            "AND (:to IS NULL OR t.transactionDate < :to) " +
+            "ORDER BY t.transactionDate, t.id";
+
+    private static final String ARCHIVED_STATEMENT_QUERY =
+            "SELECT new com.bank.bankaccountmanagementsystem.dto.AccountTransactionHistoryDTO(t.id, t.transactionType, t.amount, t.transactionDate) " +
+            "FROM ArchivedTransaction t WHERE t.accountId = :accountId " +
+            "AND (:from IS NULL OR t.transactionDate >= :from) " +
+            "AND (:to IS NULL OR t.transactionDate < :to) " +
+            "ORDER BY t.transactionDate, t.id";
+
+    private final EntityManager entityManager;
+
+    AccountTransactionStatementRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Stream<AccountTransactionHistoryDTO> streamStatement(UUID accountId, LocalDateTime from, LocalDateTime to, int fetchSize) {
+        return stream(STATEMENT_QUERY, accountId, from, to, fetchSize);
+    }
+
+    @Override
+    public Stream<AccountTransactionHistoryDTO> streamArchivedStatement(UUID accountId, LocalDateTime from, LocalDateTime to, int fetchSize) {
+        return stream(ARCHIVED_STATEMENT_QUERY, accountId, from, to, fetchSize);
+    }
+
+    private Stream<AccountTransactionHistoryDTO> stream(String query, UUID accountId, LocalDateTime from, LocalDateTime to, int fetchSize) {
+        return entityManager.createQuery(query, AccountTransactionHistoryDTO.class)
+                .setParameter("accountId", accountId)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+}
@@ -0,0 +1,9 @@
+package com.bank.bankaccountmanagementsystem.repository;
+
+import com.bank.bankaccountmanagementsystem.model.FxRate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface FxRateRepository extends JpaRepository<FxRate, FxRate.Key> {
+}
@@ -0,0 +1,59 @@
+package com.bank.bankaccountmanagementsystem.repository;
+
+import com.bank.bankaccountmanagementsystem.model.LedgerEvent;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+@Repository
+public interface LedgerEventRepository extends JpaRepository<LedgerEvent, LedgerEvent.Key> {
+
+    /**
+     * Inserts one event right away instead of at flush, so that a sequence number already taken by another writer
+     * fails here, on the primary key, and not at commit.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO ledger_events (account_id, sequence_number, event_type, delta, event_date) " +
+            "VALUES (:accountId, :sequenceNumber, :eventType, :delta, :eventDate)", nativeQuery = true)
+    int append(@Param("accountId") UUID accountId,
+               @Param("sequenceNumber") long sequenceNumber,
+               @Param("eventType") String eventType,
+               @Param("delta") BigDecimal delta,
+               @Param("eventDate") LocalDateTime eventDate);
+
+    /**
+     * Events of an account after {@code after}, in sequence order: the tail to replay on top of a snapshot.
+     */
+    @Query("SELECT new com.bank.bankaccountmanagementsystem.repository.LedgerEventRepository$Delta(e.accountId, e.sequenceNumber, e.delta) " +
+            "FROM LedgerEvent e WHERE e.accountId = :accountId AND e.sequenceNumber > :after ORDER BY e.sequenceNumber")
+    List<Delta> findTail(@Param("accountId") UUID accountId, @Param("after") long after);
+
+    /**
+     * Streams every event of the given accounts, grouped by account and in sequence order. Must be consumed inside a
+     * transaction and closed.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.bank.bankaccountmanagementsystem.repository.LedgerEventRepository$Delta(e.accountId, e.sequenceNumber, e.delta) " +
+            "FROM LedgerEvent e WHERE e.accountId IN :accountIds ORDER BY e.accountId, e.sequenceNumber")
+    Stream<Delta> streamDeltas(@Param("accountIds") Collection<UUID> accountIds);
+
+    @Modifying
+    @Query("DELETE FROM LedgerEvent e WHERE e.accountId = :accountId")
+    int deleteByAccountId(@Param("accountId") UUID accountId);
+
+    // Arayüz projeksiyonu yerine record: yeniden oynatmada olay başına vekil nesne oluşturulmaz
+    record Delta(UUID accountId, long sequenceNumber, BigDecimal delta) {
+    }
+}
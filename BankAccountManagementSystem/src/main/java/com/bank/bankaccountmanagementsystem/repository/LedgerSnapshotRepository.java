@@ -0,0 +1,34 @@
+package com.bank.bankaccountmanagementsystem.repository;
+
+import com.bank.bankaccountmanagementsystem.model.LedgerSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.UUID;
+
+@Repository
+public interface LedgerSnapshotRepository extends JpaRepository<LedgerSnapshot, UUID> {
+
+    /**
+     * Inserts or replaces the account's snapshot. The update re-binds the parameters instead of using
+     * {@code VALUES()}, which MySQL deprecates.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO ledger_snapshots (account_id, sequence_number, balance, taken_at) " +
+            "VALUES (:accountId, :sequenceNumber, :balance, :takenAt) " +
+            "ON DUPLICATE KEY UPDATE sequence_number = :sequenceNumber, balance = :balance, taken_at = :takenAt", nativeQuery = true)
+    int upsert(@Param("accountId") UUID accountId,
+               @Param("sequenceNumber") long sequenceNumber,
+               @Param("balance") BigDecimal balance,
+               @Param("takenAt") LocalDateTime takenAt);
+
+    @Modifying
+    @Query("DELETE FROM LedgerSnapshot s WHERE s.accountId IN :accountIds")
+    int deleteByAccountIds(@Param("accountIds") Collection<UUID> accountIds);
+}
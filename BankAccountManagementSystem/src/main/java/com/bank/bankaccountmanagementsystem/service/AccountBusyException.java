@@ -0,0 +1,17 @@
+package com.bank.bankaccountmanagementsystem.service;
+
+/**
+ * The account's lock could not be taken in time; the client may retry. Like {@link RejectionException} it has no
+ * stack trace, since lock timeouts come in bursts exactly when the service is already overloaded.
+ */
+public class AccountBusyException extends IllegalStateException {
+
+    public AccountBusyException() {
+        super("Account is busy, please try again.");
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
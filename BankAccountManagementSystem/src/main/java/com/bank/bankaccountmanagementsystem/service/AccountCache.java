@@ -0,0 +1,84 @@
+package com.bank.bankaccountmanagementsystem.service;
+
+import com.bank.bankaccountmanagementsystem.config.AccountCacheProperties;
+import com.bank.bankaccountmanagementsystem.dto.AccountDTO;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of {@link AccountDTO}s. Writers call {@link #evict} once their change is committed;
+ * eviction also marks the account as recently written in {@link ReadYourWritesGuard}, so the reload that follows it
+ * cannot come from a lagging replica.
+ * A miss puts a pending future in the map and the calling thread loads the account outside the map's lock; readers
+ * of the same key wait on that future. An eviction removes a pending future too, so a reader can never re-populate
+ * the entry with a balance older than the last local write.
+ * <p>
+ * Loading inside the map's lock would deadlock the connection pool: a committing writer evicts while still holding
+ * its connection, and the loader holding the lock may be waiting for that connection.
+ */
+@Component
+public class AccountCache {
+
+    private final AccountCacheProperties properties;
+    private final ReadYourWritesGuard readYourWritesGuard;
+    private final AsyncCache<UUID, AccountDTO> cache;
+
+    public AccountCache(AccountCacheProperties properties, ReadYourWritesGuard readYourWritesGuard, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.readYourWritesGuard = readYourWritesGuard;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "accounts");
+    }
+
+    public AccountDTO get(UUID accountId, Function<UUID, AccountDTO> loader) {
+        if (!properties.isEnabled()) {
+            return loader.apply(accountId);
+        }
+        CompletableFuture<AccountDTO> pending = new CompletableFuture<>();
+        CompletableFuture<AccountDTO> entry = cache.get(accountId, (key, executor) -> pending);
+        if (entry != pending) {
+            AccountDTO cached = entry.join();
+            // Boş sonuç, yüklemenin başarısız olduğunu gösterir; hata kendi yüklememizle yeniden oluşur
+            return cached != null ? cached : loader.apply(accountId);
+        }
+        AccountDTO loaded = null;
+        try {
+            loaded = loader.apply(accountId);
+            return loaded;
+        } finally {
+            // Her çıkışta (Error dahil) tamamlanır, yoksa aynı anahtarı bekleyenler asılı kalır. Hatada null:
+            // hatayla tamamlanan future Caffeine tarafından WARN ile loglanır, null ile tamamlanan sessizce düşer
+            pending.complete(loaded);
+        }
+    }
+
+    // İşlem içindeyse commit sonrasına ertelenir; aksi halde hemen silinir.
+    // Yazma işareti önce kaydedilir: commit sonrası geri çağrılar kayıt sırasıyla çalışır, böylece giriş silindiğinde
+    // hesap birincile sabitlenmiş olur ve araya giren okuma replikadaki eski bakiyeyi önbelleğe koyamaz.
+    public void evict(UUID accountId) {
+        readYourWritesGuard.recordWrite(accountId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.synchronous().invalidate(accountId);
+                }
+            });
+        } else {
+            cache.synchronous().invalidate(accountId);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.bank.bankaccountmanagementsystem.service;
+
+import com.bank.bankaccountmanagementsystem.config.IdentityIndexProperties;
+import com.bank.bankaccountmanagementsystem.model.Account;
+import com.bank.bankaccountmanagementsystem.repository.AccountRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+/**
+ * One bloom filter of owner identity numbers per {@link Account.AccountType}. A negative answer proves that no
+ * account exists for the key, so createAccount can insert straight away; a positive answer (or an index that is
+ * still warming up) falls back to the database lookup. The unique constraint {@code unique_account_identity_type}
+ * stays the source of truth, e.g. for accounts created concurrently or on another instance.
+ */
+@Component
+public class AccountIdentityIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountIdentityIndex.class);
+
+    private final IdentityIndexProperties properties;
+    private final AccountRepository accountRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Map<Account.AccountType, BloomFilter> filters = new EnumMap<>(Account.AccountType.class);
+    private final Counter skippedLookups;
+    private final Counter checkedLookups;
+
+    private volatile boolean ready;
+
+    public AccountIdentityIndex(IdentityIndexProperties properties, AccountRepository accountRepository,
+                                PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.accountRepository = accountRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        if (properties.isEnabled()) {
+            for (Account.AccountType type : Account.AccountType.values()) {
+                filters.put(type, new BloomFilter(properties.getExpectedInsertions(), properties.getFalsePositiveRate()));
+            }
+        }
+        this.skippedLookups = meterRegistry.counter("bank.account.identity-index.lookups", "result", "skipped");
+        this.checkedLookups = meterRegistry.counter("bank.account.identity-index.lookups", "result", "checked");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpInBackground() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Thread warmUp = new Thread(this::warmUp, "identity-index-warmup");
+        warmUp.setDaemon(true);
+        warmUp.start();
+    }
+
+    void warmUp() {
+        try {
+            long loaded = readOnlyTransaction.execute(status -> {
+                try (Stream<AccountRepository.OwnerKey> keys = accountRepository.streamOwnerKeys()) {
+                    return keys.mapToLong(key -> {
+                        add(key.getAccountOwnerIdentityNo(), key.getAccountType());
+                        return 1;
+                    }).sum();
+                }
+            });
+            ready = true;
+            log.info("Account identity index ready with {} keys", loaded);
+        } catch (RuntimeException e) {
+            log.warn("Account identity index warm-up failed; createAccount keeps using the database lookup", e);
+        }
+    }
+
+    /**
+     * {@code false} only when the key is known not to exist.
+     */
+    public boolean mightContain(Long identityNo, Account.AccountType accountType) {
+        if (!ready || identityNo == null || accountType == null) {
+            return true;
+        }
+        boolean mightContain = filters.get(accountType).mightContain(identityNo);
+        (mightContain ? checkedLookups : skippedLookups).increment();
+        return mightContain;
+    }
+
+    public void add(Long identityNo, Account.AccountType accountType) {
+        if (identityNo != null && accountType != null && properties.isEnabled()) {
+            filters.get(accountType).add(identityNo);
+        }
+    }
+
+    static final class BloomFilter {
+
+        private final AtomicLongArray words;
+        private final long bitCount;
+        private final int hashCount;
+
+        BloomFilter(int expectedInsertions, double falsePositiveRate) {
+            long n = Math.max(1, expectedInsertions);
+            long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.words = new AtomicLongArray((int) ((Math.max(64, bits) + 63) >>> 6));
+            this.bitCount = (long) words.length() << 6;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+        }
+
+        void add(long key) {
+            long h1 = mix(key);
+            long h2 = mix(h1) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current;
+                do {
+                    current = words.get(word);
+                } while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask));
+            }
+        }
+
+        boolean mightContain(long key) {
+            long h1 = mix(key);
+            long h2 = mix(h1) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // SplitMix64 karıştırıcısı
+        private static long mix(long z) {
+            z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+            z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+            return z ^ (z >>> 31);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.bank.bankaccountmanagementsystem.service;
+
+/**
+ * The account does not exist.
+ */
+public class AccountNotFoundException extends RejectionException {
+
+    public AccountNotFoundException(String message) {
+        super(message);
+    }
+}
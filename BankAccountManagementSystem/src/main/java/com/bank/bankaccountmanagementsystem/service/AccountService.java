@@ -3,74 +3,180 @@ package com.bank.bankaccountmanagementsystem.service;
 import com.bank.bankaccountmanagementsystem.mapper.AccountMapper;
 import com.bank.bankaccountmanagementsystem.dto.AccountDTO;
 import com.bank.bankaccountmanagementsystem.model.Account;
+import com.bank.bankaccountmanagementsystem.model.AccountTransaction;
+import com.bank.bankaccountmanagementsystem.model.Money;
 import com.bank.bankaccountmanagementsystem.repository.AccountRepository;
 import com.bank.bankaccountmanagementsystem.repository.AccountTransactionRepository;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 @Service
 public class AccountService {
 
+    private static final String DUPLICATE_ACCOUNT_MESSAGE = "An account already exists with this identity number and account type.";
+
     private final AccountRepository accountRepository;
     private final AccountMapper accountMapper;
     private final AccountTransactionRepository accountTransactionRepository;
-
-    public AccountService(AccountRepository accountRepository, AccountMapper accountMapper,AccountTransactionRepository accountTransactionRepository) {
+    private final OptimisticLockRetrier optimisticLockRetrier;
+    private final AccountCache accountCache;
+    private final AccountIdentityIndex accountIdentityIndex;
+    private final DailyBalanceService dailyBalanceService;
+    private final ReadYourWritesGuard readYourWritesGuard;
+    private final EventLedger eventLedger;
+    private final BalanceEngine balanceEngine;
+
+    public AccountService(AccountRepository accountRepository, AccountMapper accountMapper,AccountTransactionRepository accountTransactionRepository,
+                          OptimisticLockRetrier optimisticLockRetrier, AccountCache accountCache, AccountIdentityIndex accountIdentityIndex,
+                          DailyBalanceService dailyBalanceService, ReadYourWritesGuard readYourWritesGuard, EventLedger eventLedger,
+                          BalanceEngine balanceEngine) {
         this.accountRepository = accountRepository;
         this.accountMapper = accountMapper;
         this.accountTransactionRepository = accountTransactionRepository;
+        this.optimisticLockRetrier = optimisticLockRetrier;
+        this.accountCache = accountCache;
+        this.accountIdentityIndex = accountIdentityIndex;
+        this.dailyBalanceService = dailyBalanceService;
+        this.readYourWritesGuard = readYourWritesGuard;
+        this.eventLedger = eventLedger;
+        this.balanceEngine = balanceEngine;
     }
 
 
     public AccountDTO createAccount(AccountDTO accountDTO) {
-        Optional<Account> existingAccount = accountRepository.findByAccountOwnerIdentityNoAndAccountType(
-                accountDTO.getAccountOwnerIdentityNo(), accountDTO.getAccountType());
-
-        if (existingAccount.isPresent()) {
-            throw new IllegalArgumentException("An account already exists with this identity number and account type.");
+        // İndeks anahtarın yeni olduğunu kanıtlayamazsa veritabanına sorulur.
+        if (accountIdentityIndex.mightContain(accountDTO.getAccountOwnerIdentityNo(), accountDTO.getAccountType())) {
+            Optional<Account> existingAccount = accountRepository.findByAccountOwnerIdentityNoAndAccountType(
+                    accountDTO.getAccountOwnerIdentityNo(), accountDTO.getAccountType());
+
+            if (existingAccount.isPresent()) {
+                throw new InvalidRequestException(DUPLICATE_ACCOUNT_MESSAGE);
+            }
         }
 
         Account account = accountMapper.toAccountEntity(accountDTO);
-        Account savedAccount = accountRepository.save(account);
+        Account savedAccount;
+        try {
+            savedAccount = eventLedger.isEnabled()
+                    ? optimisticLockRetrier.inTransaction("createAccount", () -> saveAndOpen(account))
+                    : accountRepository.save(account);
+        } catch (DataIntegrityViolationException e) {
+            if (isUniqueViolation(e)) {
+                throw new InvalidRequestException(DUPLICATE_ACCOUNT_MESSAGE);
+            }
+            throw e;
+        }
+        accountIdentityIndex.add(savedAccount.getAccountOwnerIdentityNo(), savedAccount.getAccountType());
+        // Yeni hesap replikaya ulaşmadan okunursa 404 dönmesin
+        readYourWritesGuard.recordWrite(savedAccount.getId());
 
         return accountMapper.toAccountDTO(savedAccount);
     }
 
+    // Açılış olayı hesap satırıyla aynı transaction'da yazılır
+    private Account saveAndOpen(Account account) {
+        Account savedAccount = accountRepository.saveAndFlush(account);
+        eventLedger.open(savedAccount.getId(), savedAccount.getBalance());
+        return savedAccount;
+    }
+
+    private static boolean isUniqueViolation(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE;
+            }
+        }
+        return false;
+    }
+
 
     public AccountDTO updateAccount(UUID accountId, AccountDTO accountDTO) {
-        Account existingAccount = accountRepository.findById(accountId)
-                .orElseThrow(() -> new IllegalArgumentException("Account not found: " + accountId));
+        Supplier<AccountDTO> update = () -> optimisticLockRetrier.inTransaction("updateAccount", () -> applyUpdate(accountId, accountDTO));
+        return balanceEngine.isEnabled() ? balanceEngine.released(List.of(accountId), update) : update.get();
+    }
+
+    private AccountDTO applyUpdate(UUID accountId, AccountDTO accountDTO) {
+        // Defter modunda satır önce kilitlenir, bakiye farkı ADJUSTMENT olayı olarak eklenir
+        Account existingAccount = (eventLedger.isEnabled() ? accountRepository.findByIdForUpdate(accountId) : accountRepository.findById(accountId))
+                .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountId));
+        if (eventLedger.isEnabled() && accountDTO.getBalance() != null) {
+            eventLedger.adjustTo(accountId, Money.of(accountDTO.getBalance()));
+        }
 
+        Money previousBalance = existingAccount.getBalance();
         existingAccount.setAccountOwnerFirstName(accountDTO.getAccountOwnerFirstName());
         existingAccount.setAccountOwnerLastName(accountDTO.getAccountOwnerLastName());
-        existingAccount.setBalance(accountDTO.getBalance());
+        existingAccount.setBalance(accountDTO.getBalance() == null ? null : Money.of(accountDTO.getBalance()));
         existingAccount.setAccountType(accountDTO.getAccountType());
+        accountIdentityIndex.add(existingAccount.getAccountOwnerIdentityNo(), existingAccount.getAccountType());
 
         Account updatedAccount = accountRepository.save(existingAccount);
+        // Elle değiştirilen bakiye bir düzeltme kaydıyla yazılır; geçmiş bakiye sorguları düzeltmeyi zamanında görür
+        if (previousBalance != null && updatedAccount.getBalance() != null) {
+            Money delta = updatedAccount.getBalance().minus(previousBalance);
+            if (delta.signum() != 0) {
+                AccountTransaction adjustment = new AccountTransaction();
+                adjustment.setAccount(updatedAccount);
+                adjustment.setTransactionType(delta.signum() > 0
+                        ? AccountTransaction.TransactionType.ADJUSTMENT_IN : AccountTransaction.TransactionType.ADJUSTMENT_OUT);
+                adjustment.setAmount((delta.signum() > 0 ? delta : delta.negate()).toBigDecimal());
+                adjustment.setTransactionDate(LocalDateTime.now());
+                accountTransactionRepository.save(adjustment);
+                dailyBalanceService.record(accountId, adjustment.getTransactionDate().toLocalDate());
+            }
+        }
+        accountCache.evict(accountId);
         return accountMapper.toAccountDTO(updatedAccount);
     }
 
 
     public AccountDTO getAccountDTOById(UUID accountId) {
-        Account account = accountRepository.findById(accountId)
-                .orElseThrow(() -> new IllegalArgumentException("Account not found: " + accountId));
+        return accountCache.get(accountId, this::loadAccountDTO);
+    }
+
+    // findById salt okunur bir transaction açar; yakın zamanda yazılmadıysa replikadan okunur
+    private AccountDTO loadAccountDTO(UUID accountId) {
+        Account account = readYourWritesGuard.read(accountId, () -> accountRepository.findById(accountId))
+                .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountId));
         return accountMapper.toAccountDTO(account);
     }
 
 
-    @Transactional
+    // Motor hesabı silme commit edilene kadar bırakır; bu yüzden transaction metot içinde açılır
     public void deleteAccount(UUID accountId) {
+        Supplier<Void> delete = () -> optimisticLockRetrier.inTransaction("deleteAccount", () -> {
+            applyDelete(accountId);
+            return null;
+        });
+        if (balanceEngine.isEnabled()) {
+            balanceEngine.released(List.of(accountId), delete);
+        } else {
+            delete.get();
+        }
+    }
+
+    private void applyDelete(UUID accountId) {
         if (!accountRepository.existsById(accountId)) {
-            throw new IllegalArgumentException("Account not found: " + accountId);
+            throw new AccountNotFoundException("Account not found: " + accountId);
         }
 
 
+        // Toplu DELETE: satırlar belleğe yüklenmez, arşivdeki işlemler de silinir
         accountTransactionRepository.deleteByAccountId(accountId);
+        accountTransactionRepository.deleteArchivedByAccountId(accountId);
+        dailyBalanceService.deleteForAccount(accountId);
+        // Mod sonradan kapatılmış olsa da olaylar silinir; aksi halde yabancı anahtar hesabın silinmesini engeller
+        eventLedger.delete(accountId);
 
 
         accountRepository.deleteById(accountId);
+        accountCache.evict(accountId);
     }
 
 }
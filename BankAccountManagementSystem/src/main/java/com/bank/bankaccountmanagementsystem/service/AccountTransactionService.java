@@ -1,65 +1,598 @@
 package com.bank.bankaccountmanagementsystem.service;
 
+import com.bank.bankaccountmanagementsystem.config.AccountWriteProperties;
 import com.bank.bankaccountmanagementsystem.dto.AccountTransactionDTO;
+import com.bank.bankaccountmanagementsystem.dto.AccountTransactionHistoryDTO;
+import com.bank.bankaccountmanagementsystem.dto.AccountTransactionRequestDTO;
+import com.bank.bankaccountmanagementsystem.dto.BulkTransactionResultDTO;
+import com.bank.bankaccountmanagementsystem.dto.BulkTransactionResultDTO.Rejection;
+import com.bank.bankaccountmanagementsystem.dto.TransactionCursor;
+import com.bank.bankaccountmanagementsystem.dto.TransactionPageDTO;
+import com.bank.bankaccountmanagementsystem.dto.TransferDTO;
 import com.bank.bankaccountmanagementsystem.model.Account;
 import com.bank.bankaccountmanagementsystem.model.AccountTransaction;
+import com.bank.bankaccountmanagementsystem.model.LedgerEvent;
+import com.bank.bankaccountmanagementsystem.model.Money;
 import com.bank.bankaccountmanagementsystem.repository.AccountRepository;
 import com.bank.bankaccountmanagementsystem.repository.AccountTransactionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
 
 @Service
 public class AccountTransactionService {
 
+    static final Money MIN_BALANCE = Money.ZERO;
+    static final Money MAX_BALANCE = Money.ofMinor(999_999_999);
+    private static final BigDecimal MIN_BALANCE_DECIMAL = MIN_BALANCE.toBigDecimal();
+    private static final BigDecimal MAX_BALANCE_DECIMAL = MAX_BALANCE.toBigDecimal();
+    static final String ACCOUNT_NOT_FOUND = "Account not found";
+    static final String BALANCE_BELOW_ZERO = "Balance cannot fall below zero.";
+    static final String BALANCE_OVER_LIMIT = "Balance exceeds the limit.";
+
     @Autowired
     private AccountRepository accountRepository;
 
     @Autowired
     private AccountTransactionRepository accountTransactionRepository;
 
+    @Autowired
+    private AccountWriteProperties accountWriteProperties;
 
-    private AccountTransactionDTO processTransaction(UUID accountId, BigDecimal amount, boolean isDeposit) {
-        Account account = accountRepository.findById(accountId)
-                .orElseThrow(() -> new IllegalArgumentException("Account not found"));
+    @Autowired
+    private OptimisticLockRetrier optimisticLockRetrier;
 
-        BigDecimal newBalance = isDeposit ? account.getBalance().add(amount) : account.getBalance().subtract(amount);
-        if (newBalance.compareTo(BigDecimal.ZERO) < 0) {
-            throw new IllegalArgumentException("Balance cannot fall below zero.");
-        }
-        if (newBalance.compareTo(new BigDecimal(9999999)) > 0) {
-            throw new IllegalArgumentException("Balance exceeds the limit.");
-        }
+    @Autowired
+    private AccountLockRegistry accountLockRegistry;
+
+    @Autowired
+    private GroupCommitJournal groupCommitJournal;
+
+    @Autowired
+    private AccountCache accountCache;
+
+    @Autowired
+    private DailyBalanceService dailyBalanceService;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private FxRateTable fxRateTable;
 
-        account.setBalance(newBalance);
-        accountRepository.save(account);
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ReadYourWritesGuard readYourWritesGuard;
+
+    @Autowired
+    private EventLedger eventLedger;
+
+    @Autowired
+    private BalanceEngine balanceEngine;
+
+    private OutcomeTimers depositTimers;
+    private OutcomeTimers withdrawTimers;
+    private OutcomeTimers transferTimers;
+
+    // Kilit bekleme, transaction ve commit dahil; kilit beklemesi ayrıca bank.account.lock.wait ile ölçülür
+    @PostConstruct
+    void registerMeters() {
+        depositTimers = new OutcomeTimers(meterRegistry, "bank.account.transaction", "deposit");
+        withdrawTimers = new OutcomeTimers(meterRegistry, "bank.account.transaction", "withdraw");
+        transferTimers = new OutcomeTimers(meterRegistry, "bank.account.transaction", "transfer");
+    }
+
+    // currency null ise tutar hesabın para birimindedir.
+    private AccountTransactionDTO processTransaction(UUID accountId, BigDecimal requestAmount, Account.AccountType currency,
+                                                     boolean isDeposit, String idempotencyKey) {
+        Money requested = requested(requestAmount);
+        Money amount = currency == null ? requested : toAccountCurrency(accountId, requested, currency);
+        Account account;
+        if (eventLedger.isEnabled()) {
+            account = applyToLedger(accountId, amount, isDeposit);
+        } else if (accountWriteProperties.getStrategy() == AccountWriteProperties.Strategy.ATOMIC) {
+            account = applyAtomically(accountId, amount, isDeposit);
+        } else {
+            account = applyToLoadedAccount(accountId, amount, isDeposit);
+        }
 
         AccountTransaction transaction = new AccountTransaction();
         transaction.setAccount(account);
         transaction.setTransactionType(isDeposit ? AccountTransaction.TransactionType.DEPOSIT : AccountTransaction.TransactionType.WITHDRAWAL);
-        transaction.setAmount(amount);
+        transaction.setAmount(amount.toBigDecimal());
         transaction.setTransactionDate(LocalDateTime.now());
         accountTransactionRepository.save(transaction);
+        dailyBalanceService.record(accountId, transaction.getTransactionDate().toLocalDate());
+        accountCache.evict(accountId);
 
-
-        return new AccountTransactionDTO(
-                account.getId().toString(),
+        AccountTransactionDTO result = new AccountTransactionDTO(
+                accountId.toString(),
                 transaction.getTransactionType(),
                 transaction.getAmount(),
                 transaction.getTransactionDate()
         );
+        if (idempotencyKey != null) {
+            idempotencyStore.record(idempotencyKey, result, requestAmount, currency);
+        }
+        return result;
+    }
+
+    // İstekteki tutar; kuruştan küçük kesir ya da aralık dışı değer 400 ile reddedilir.
+    private static Money requested(BigDecimal amount) {
+        try {
+            return Money.of(amount);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException(e.getMessage());
+        }
+    }
+
+    /**
+     * Rejection a failed bulk item stands for, so a caller waiting on a single operation (group commit) gets the
+     * same exception type, and status, as without batching.
+     */
+    static RejectionException rejectionFor(BulkTransactionResultDTO result) {
+        return switch (result.getRejection()) {
+            case ACCOUNT_NOT_FOUND -> new AccountNotFoundException(result.getMessage());
+            case BALANCE_LIMIT -> new BalanceLimitException(result.getMessage());
+            case INVALID_REQUEST -> new InvalidRequestException(result.getMessage());
+        };
+    }
+
+    // Hesabın para birimi işlem içinde okunur: updateAccount onu değiştirebilir.
+    private Money toAccountCurrency(UUID accountId, Money amount, Account.AccountType currency) {
+        Account.AccountType accountCurrency = accountRepository.findAccountTypeById(accountId)
+                .orElseThrow(() -> new AccountNotFoundException(ACCOUNT_NOT_FOUND));
+        return converted(amount, currency, accountCurrency);
+    }
+
+    private Money converted(Money amount, Account.AccountType from, Account.AccountType to) {
+        Money converted;
+        try {
+            converted = fxRateTable.convert(amount, from, to);
+        } catch (ArithmeticException e) {
+            throw new InvalidRequestException("Amount is out of range.");
+        }
+        if (converted.signum() <= 0) {
+            throw new InvalidRequestException("Amount is too small to convert.");
+        }
+        return converted;
+    }
+
+    // Bakiye kontrolü ve güncelleme tek bir UPDATE ile veritabanında yapılır; okuma-değiştirme-yazma yok.
+    private Account applyAtomically(UUID accountId, Money amount, boolean isDeposit) {
+        Money delta = isDeposit ? amount : amount.negate();
+        int updated = accountRepository.applyBalanceDelta(accountId, delta.toBigDecimal(), MIN_BALANCE_DECIMAL, MAX_BALANCE_DECIMAL);
+        if (updated == 0) {
+            throw rejection(accountId, isDeposit);
+        }
+        return accountRepository.getReferenceById(accountId);
+    }
+
+    // OPTIMISTIC: @Version çakışması commit sırasında yakalanır. PESSIMISTIC: satır okunurken kilitlenir.
+    private Account applyToLoadedAccount(UUID accountId, Money amount, boolean isDeposit) {
+        Account account = (accountWriteProperties.getStrategy() == AccountWriteProperties.Strategy.PESSIMISTIC
+                ? accountRepository.findByIdForUpdate(accountId)
+                : accountRepository.findById(accountId))
+                .orElseThrow(() -> new AccountNotFoundException(ACCOUNT_NOT_FOUND));
+
+        account.setBalance(applyToBalance(account.getBalance(), amount, isDeposit));
+        return accountRepository.save(account);
+    }
+
+    // Defter modu: bakiye olay günlüğünden gelir. accounts.balance önce yazılır ki olay eklenirken satır kilitli olsun;
+    // bellekteki durum eskiyse olayın sıra numarası çakışır ve işlem yeniden denenir.
+    private Account applyToLedger(UUID accountId, Money amount, boolean isDeposit) {
+        Money newBalance = applyToBalance(eventLedger.balance(accountId), amount, isDeposit);
+        accountRepository.setBalance(accountId, newBalance.toBigDecimal());
+        eventLedger.append(accountId, isDeposit ? LedgerEvent.EventType.DEPOSIT : LedgerEvent.EventType.WITHDRAWAL,
+                isDeposit ? amount : amount.negate());
+        return accountRepository.getReferenceById(accountId);
+    }
+
+    /**
+     * Balance after a deposit or withdrawal of {@code amount}. Throws BalanceLimitException if it would leave
+     * [{@link #MIN_BALANCE}, {@link #MAX_BALANCE}].
+     */
+    public static Money applyToBalance(Money balance, Money amount, boolean isDeposit) {
+        // Tutar üst sınırı aşmıyorsa toplam long'a sığar; ayrıca taşma kontrolü gerekmez.
+        if (amount.compareTo(MAX_BALANCE) > 0) {
+            throw new BalanceLimitException(isDeposit ? BALANCE_OVER_LIMIT : BALANCE_BELOW_ZERO);
+        }
+        Money newBalance = isDeposit ? balance.plus(amount) : balance.minus(amount);
+        if (newBalance.compareTo(MIN_BALANCE) < 0) {
+            throw new BalanceLimitException(BALANCE_BELOW_ZERO);
+        }
+        if (newBalance.compareTo(MAX_BALANCE) > 0) {
+            throw new BalanceLimitException(BALANCE_OVER_LIMIT);
+        }
+        return newBalance;
+    }
+
+    // Sadece reddedilen işlemlerde çalışır: hiçbir satır güncellenmediyse nedenini bulur.
+    private IllegalArgumentException rejection(UUID accountId, boolean isDeposit) {
+        if (!accountRepository.existsById(accountId)) {
+            return new AccountNotFoundException(ACCOUNT_NOT_FOUND);
+        }
+        return new BalanceLimitException(isDeposit ? BALANCE_OVER_LIMIT : BALANCE_BELOW_ZERO);
     }
 
 
     public AccountTransactionDTO deposit(UUID accountId, BigDecimal amount) {
-        return processTransaction(accountId, amount, true);
+        if (balanceEngine.isEnabled()) {
+            return awaitEngine(accountId, amount, true);
+        }
+        if (groupCommitJournal.isEnabled()) {
+            return awaitGroupCommit(new AccountTransactionRequestDTO(accountId, AccountTransaction.TransactionType.DEPOSIT, amount));
+        }
+        return post(accountId, amount, null, true, null);
     }
 
 
     public AccountTransactionDTO withdraw(UUID accountId, BigDecimal amount) {
-        return processTransaction(accountId, amount, false);
+        if (balanceEngine.isEnabled()) {
+            return awaitEngine(accountId, amount, false);
+        }
+        if (groupCommitJournal.isEnabled()) {
+            return awaitGroupCommit(new AccountTransactionRequestDTO(accountId, AccountTransaction.TransactionType.WITHDRAWAL, amount));
+        }
+        return post(accountId, amount, null, false, null);
+    }
+
+    /**
+     * Deposit that is applied at most once per {@code idempotencyKey}: a repeated call returns the original result
+     * without touching the balance. {@code null} key behaves like {@link #deposit(UUID, BigDecimal)}.
+     */
+    public AccountTransactionDTO deposit(UUID accountId, BigDecimal amount, String idempotencyKey) {
+        return deposit(accountId, amount, null, idempotencyKey);
+    }
+
+    /**
+     * Deposit of an amount in {@code currency}, converted to the account's currency at the current rate;
+     * {@code null} currency means the account's own. See {@link #deposit(UUID, BigDecimal, String)} for the key.
+     */
+    public AccountTransactionDTO deposit(UUID accountId, BigDecimal amount, Account.AccountType currency, String idempotencyKey) {
+        if (idempotencyKey != null) {
+            return postOnce(accountId, amount, currency, true, idempotencyKey);
+        }
+        return currency == null ? deposit(accountId, amount) : post(accountId, amount, currency, true, null);
+    }
+
+    /**
+     * Withdrawal that is applied at most once per {@code idempotencyKey}; see {@link #deposit(UUID, BigDecimal, String)}.
+     */
+    public AccountTransactionDTO withdraw(UUID accountId, BigDecimal amount, String idempotencyKey) {
+        return idempotencyKey == null ? withdraw(accountId, amount) : postOnce(accountId, amount, null, false, idempotencyKey);
+    }
+
+    // Motor açıkken buraya yalnızca anahtarlı ya da dövizli istekler gelir; hesap önce motordan alınır
+    private AccountTransactionDTO post(UUID accountId, BigDecimal amount, Account.AccountType currency, boolean isDeposit, String idempotencyKey) {
+        Supplier<AccountTransactionDTO> posting = () -> accountLockRegistry.withLock(accountId,
+                () -> optimisticLockRetrier.inTransaction(isDeposit ? "deposit" : "withdraw",
+                        () -> processTransaction(accountId, amount, currency, isDeposit, idempotencyKey)));
+        return (isDeposit ? depositTimers : withdrawTimers).record(() -> balanceEngine.isEnabled()
+                ? balanceEngine.released(List.of(accountId), posting)
+                : posting.get());
+    }
+
+    // Anahtarlı istekler grup commit'e girmez: anahtar, bakiye değişikliğiyle aynı transaction'da yazılmalıdır.
+    // Yeni anahtar için ek sorgu yapılmaz; tekrar eden anahtar önbellekte ya da PK ihlaliyle bulunur.
+    private AccountTransactionDTO postOnce(UUID accountId, BigDecimal amount, Account.AccountType currency, boolean isDeposit,
+                                           String idempotencyKey) {
+        Optional<IdempotencyStore.Entry> cached = idempotencyStore.findCached(idempotencyKey);
+        if (cached.isPresent()) {
+            return replay(cached.get(), accountId, amount, currency, isDeposit);
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return post(accountId, amount, currency, isDeposit, idempotencyKey);
+            } catch (DataIntegrityViolationException e) {
+                Optional<IdempotencyStore.Entry> original = idempotencyStore.load(idempotencyKey);
+                if (original.isPresent()) {
+                    return replay(original.get(), accountId, amount, currency, isDeposit);
+                }
+                // Süresi dolmuş satır silindi; istek bir kez daha yeni olarak denenir.
+                if (attempt == 2) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private AccountTransactionDTO replay(IdempotencyStore.Entry original, UUID accountId, BigDecimal amount,
+                                         Account.AccountType currency, boolean isDeposit) {
+        AccountTransaction.TransactionType type = isDeposit ? AccountTransaction.TransactionType.DEPOSIT : AccountTransaction.TransactionType.WITHDRAWAL;
+        AccountTransactionDTO result = original.result();
+        if (!result.getAccountId().equals(accountId.toString()) || result.getTransactionType() != type
+                || original.requestAmount().compareTo(amount) != 0 || original.requestCurrency() != currency) {
+            throw new InvalidRequestException("Idempotency-Key was already used for a different request.");
+        }
+        return result;
+    }
+
+
+    // Grup commit'i bekler; servis hataları (IllegalArgumentException vb.) çağırana olduğu gibi iletilir.
+    private AccountTransactionDTO awaitGroupCommit(AccountTransactionRequestDTO operation) {
+        OutcomeTimers timers = operation.getTransactionType() == AccountTransaction.TransactionType.DEPOSIT ? depositTimers : withdrawTimers;
+        return timers.record(() -> join(groupCommitJournal.submit(operation)));
+    }
+
+    // Bellekteki motor: veritabanına gidilmez, işlem shard'ın günlüğüne yazılınca onaylanır
+    private AccountTransactionDTO awaitEngine(UUID accountId, BigDecimal amount, boolean isDeposit) {
+        return (isDeposit ? depositTimers : withdrawTimers).record(
+                () -> join(balanceEngine.submit(accountId, requested(amount), isDeposit)));
+    }
+
+    private static AccountTransactionDTO join(CompletableFuture<AccountTransactionDTO> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Moves {@code amount} between two accounts in one transaction and writes a TRANSFER_OUT and a TRANSFER_IN leg
+     * with the same date. Lock stripes are taken in stripe order and account rows in id order, whatever the
+     * direction, so opposite-direction transfers between the same accounts cannot deadlock.
+     */
+    public TransferDTO transfer(UUID fromAccountId, UUID toAccountId, BigDecimal amount) {
+        return transfer(fromAccountId, toAccountId, amount, null);
+    }
+
+    /**
+     * Transfer of an amount in {@code currency} ({@code null}: the source account's). Each leg is converted to its
+     * own account's currency at the current rate.
+     */
+    public TransferDTO transfer(UUID fromAccountId, UUID toAccountId, BigDecimal amount, Account.AccountType currency) {
+        return transferTimers.record(() -> {
+            if (fromAccountId.equals(toAccountId)) {
+                throw new InvalidRequestException("Cannot transfer to the same account.");
+            }
+            Money requested = requested(amount);
+            Supplier<TransferDTO> transfer = () -> accountLockRegistry.withLocks(fromAccountId, toAccountId,
+                    () -> optimisticLockRetrier.inTransaction("transfer", () -> processTransfer(fromAccountId, toAccountId, requested, currency)));
+            return balanceEngine.isEnabled()
+                    ? balanceEngine.released(List.of(fromAccountId, toAccountId), transfer)
+                    : transfer.get();
+        });
+    }
+
+    private TransferDTO processTransfer(UUID fromAccountId, UUID toAccountId, Money amount, Account.AccountType currency) {
+        List<Account> accounts = accountRepository.findAllByIdForUpdate(List.of(fromAccountId, toAccountId));
+        if (accounts.size() != 2) {
+            throw new AccountNotFoundException(ACCOUNT_NOT_FOUND);
+        }
+        Account source = accounts.get(0).getId().equals(fromAccountId) ? accounts.get(0) : accounts.get(1);
+        Account target = source == accounts.get(0) ? accounts.get(1) : accounts.get(0);
+        Account.AccountType requestCurrency = currency == null ? source.getAccountType() : currency;
+        Money debit = converted(amount, requestCurrency, source.getAccountType());
+        Money credit = converted(amount, requestCurrency, target.getAccountType());
+        if (eventLedger.isEnabled()) {
+            Money sourceBalance = applyToBalance(eventLedger.balance(fromAccountId), debit, false);
+            Money targetBalance = applyToBalance(eventLedger.balance(toAccountId), credit, true);
+            eventLedger.append(fromAccountId, LedgerEvent.EventType.TRANSFER_OUT, debit.negate());
+            eventLedger.append(toAccountId, LedgerEvent.EventType.TRANSFER_IN, credit);
+            accountRepository.setBalance(fromAccountId, sourceBalance.toBigDecimal());
+            accountRepository.setBalance(toAccountId, targetBalance.toBigDecimal());
+        } else {
+            applyToBalance(source.getBalance(), debit, false);
+            applyToBalance(target.getBalance(), credit, true);
+
+            // Satırlar kilitli; koşullu UPDATE sınırları yine de veritabanında doğrular.
+            if (accountRepository.applyBalanceDelta(fromAccountId, debit.negate().toBigDecimal(), MIN_BALANCE_DECIMAL, MAX_BALANCE_DECIMAL) == 0
+                    || accountRepository.applyBalanceDelta(toAccountId, credit.toBigDecimal(), MIN_BALANCE_DECIMAL, MAX_BALANCE_DECIMAL) == 0) {
+                throw new IllegalStateException("Balance changed during transfer.");
+            }
+        }
+
+        LocalDateTime transactionDate = LocalDateTime.now();
+        List<AccountTransaction> legs = new ArrayList<>(2);
+        for (UUID accountId : List.of(fromAccountId, toAccountId)) {
+            AccountTransaction leg = new AccountTransaction();
+            leg.setAccount(accountRepository.getReferenceById(accountId));
+            boolean outgoing = accountId.equals(fromAccountId);
+            leg.setTransactionType(outgoing ? AccountTransaction.TransactionType.TRANSFER_OUT : AccountTransaction.TransactionType.TRANSFER_IN);
+            leg.setAmount((outgoing ? debit : credit).toBigDecimal());
+            leg.setTransactionDate(transactionDate);
+            legs.add(leg);
+        }
+        accountTransactionRepository.saveAll(legs);
+        for (Account account : accounts) {
+            dailyBalanceService.record(account.getId(), transactionDate.toLocalDate());
+            accountCache.evict(account.getId());
+        }
+
+        return new TransferDTO(fromAccountId, toAccountId, debit.toBigDecimal(), credit.toBigDecimal(), transactionDate);
+    }
+
+    /**
+     * Applies many deposits/withdrawals in one transaction. Operations are grouped per account; all accounts are
+     * locked by one statement in id order (the order transfers lock in, so neither can deadlock with the other or
+     * with another bulk call), operations are validated in request
+     * order against a running balance, the net change is written with a single UPDATE and all transaction rows
+     * are inserted as one JDBC batch. Rejected operations are reported per item and do not affect the others.
+     */
+    public List<BulkTransactionResultDTO> processBulk(List<AccountTransactionRequestDTO> operations) {
+        Supplier<List<BulkTransactionResultDTO>> bulk = () -> optimisticLockRetrier.inTransaction("bulk", () -> applyBulk(operations));
+        if (!balanceEngine.isEnabled()) {
+            return bulk.get();
+        }
+        Set<UUID> accountIds = new HashSet<>();
+        for (AccountTransactionRequestDTO operation : operations) {
+            if (operation.getAccountId() != null) {
+                accountIds.add(operation.getAccountId());
+            }
+        }
+        return balanceEngine.released(accountIds, bulk);
+    }
+
+    private List<BulkTransactionResultDTO> applyBulk(List<AccountTransactionRequestDTO> operations) {
+        BulkTransactionResultDTO[] results = new BulkTransactionResultDTO[operations.size()];
+        Money[] amounts = new Money[operations.size()];
+        Map<UUID, List<Integer>> indexesByAccount = new LinkedHashMap<>();
+        for (int i = 0; i < operations.size(); i++) {
+            AccountTransactionRequestDTO operation = operations.get(i);
+            if (operation.getAccountId() == null || operation.getTransactionType() == null) {
+                results[i] = failure(i, operation, Rejection.INVALID_REQUEST, "Account id and transaction type are required.");
+            } else if (operation.getTransactionType() != AccountTransaction.TransactionType.DEPOSIT
+                    && operation.getTransactionType() != AccountTransaction.TransactionType.WITHDRAWAL) {
+                results[i] = failure(i, operation, Rejection.INVALID_REQUEST, "Only deposits and withdrawals can be applied in bulk.");
+            } else if (operation.getAmount() == null || operation.getAmount().signum() <= 0) {
+                results[i] = failure(i, operation, Rejection.INVALID_REQUEST, "Amount must be greater than zero.");
+            } else {
+                try {
+                    amounts[i] = Money.of(operation.getAmount());
+                    indexesByAccount.computeIfAbsent(operation.getAccountId(), id -> new ArrayList<>()).add(i);
+                } catch (IllegalArgumentException e) {
+                    // Kuruştan küçük kesir ya da aralık dışı tutar: tekil yoldaki gibi geçersiz istek
+                    results[i] = failure(i, operation, Rejection.INVALID_REQUEST, e.getMessage());
+                }
+            }
+        }
+
+        LocalDateTime transactionDate = LocalDateTime.now();
+        Map<UUID, Account> lockedAccounts = new HashMap<>();
+        if (!indexesByAccount.isEmpty()) {
+            for (Account account : accountRepository.findAllByIdForUpdate(indexesByAccount.keySet())) {
+                lockedAccounts.put(account.getId(), account);
+            }
+        }
+        Map<UUID, Money> netChanges = new LinkedHashMap<>();
+        for (Map.Entry<UUID, List<Integer>> entry : indexesByAccount.entrySet()) {
+            Account account = lockedAccounts.get(entry.getKey());
+            if (account == null) {
+                for (int i : entry.getValue()) {
+                    results[i] = failure(i, operations.get(i), Rejection.ACCOUNT_NOT_FOUND, ACCOUNT_NOT_FOUND);
+                }
+                continue;
+            }
+
+            Money openingBalance = eventLedger.isEnabled() ? eventLedger.balance(entry.getKey()) : account.getBalance();
+            Money balance = openingBalance;
+            for (int i : entry.getValue()) {
+                AccountTransactionRequestDTO operation = operations.get(i);
+                try {
+                    balance = applyToBalance(balance, amounts[i], operation.getTransactionType() == AccountTransaction.TransactionType.DEPOSIT);
+                    results[i] = new BulkTransactionResultDTO(i, operation.getAccountId(), operation.getTransactionType(),
+                            operation.getAmount(), true, null, transactionDate, null);
+                } catch (BalanceLimitException e) {
+                    results[i] = failure(i, operation, Rejection.BALANCE_LIMIT, e.getMessage());
+                }
+            }
+            netChanges.put(entry.getKey(), balance.minus(openingBalance));
+        }
+
+        if (eventLedger.isEnabled()) {
+            for (int i = 0; i < results.length; i++) {
+                if (results[i].isSuccess()) {
+                    boolean isDeposit = results[i].getTransactionType() == AccountTransaction.TransactionType.DEPOSIT;
+                    eventLedger.append(results[i].getAccountId(), LedgerEvent.EventType.of(results[i].getTransactionType()),
+                            isDeposit ? amounts[i] : amounts[i].negate());
+                }
+            }
+        }
+        Set<UUID> posted = new HashSet<>();
+        for (BulkTransactionResultDTO result : results) {
+            if (result.isSuccess()) {
+                posted.add(result.getAccountId());
+            }
+        }
+        for (Map.Entry<UUID, Money> netChange : netChanges.entrySet()) {
+            if (!posted.contains(netChange.getKey())) {
+                continue;
+            }
+            // Net değişim sıfırsa (ör. +5/-5) yalnızca UPDATE atlanır; işlem satırları yine de yazıldığı için
+            // günlük bakiye, önbellek ve replika sabitlemesi güncellenmeli
+            if (netChange.getValue().signum() != 0) {
+                if (eventLedger.isEnabled()) {
+                    accountRepository.setBalance(netChange.getKey(), eventLedger.balance(netChange.getKey()).toBigDecimal());
+                } else if (accountRepository.applyBalanceDelta(netChange.getKey(), netChange.getValue().toBigDecimal(), MIN_BALANCE_DECIMAL, MAX_BALANCE_DECIMAL) == 0) {
+                    // Satır kilitli olduğu için buraya gelinmemeli; gelinirse tüm toplu işlem geri alınır.
+                    throw new IllegalStateException("Balance of account " + netChange.getKey() + " changed during bulk processing.");
+                }
+            }
+            dailyBalanceService.record(netChange.getKey(), transactionDate.toLocalDate());
+            accountCache.evict(netChange.getKey());
+        }
+
+        List<AccountTransaction> transactions = new ArrayList<>();
+        for (BulkTransactionResultDTO result : results) {
+            if (result.isSuccess()) {
+                AccountTransaction transaction = new AccountTransaction();
+                transaction.setAccount(accountRepository.getReferenceById(result.getAccountId()));
+                transaction.setTransactionType(result.getTransactionType());
+                transaction.setAmount(result.getAmount());
+                transaction.setTransactionDate(transactionDate);
+                transactions.add(transaction);
+            }
+        }
+        accountTransactionRepository.saveAll(transactions);
+
+        return Arrays.asList(results);
+    }
+
+    private BulkTransactionResultDTO failure(int index, AccountTransactionRequestDTO operation, Rejection rejection, String message) {
+        return new BulkTransactionResultDTO(index, operation.getAccountId(), operation.getTransactionType(),
+                operation.getAmount(), false, message, null, rejection);
+    }
+
+    /**
+     * One page of an account's history, newest first. {@code cursor} is {@code null} for the first page.
+     */
+    @Transactional(readOnly = true)
+    public TransactionPageDTO getTransactionHistory(UUID accountId, TransactionCursor cursor, int size) {
+        return readYourWritesGuard.read(accountId, () -> loadTransactionHistory(accountId, cursor, size));
+    }
+
+    private TransactionPageDTO loadTransactionHistory(UUID accountId, TransactionCursor cursor, int size) {
+        Limit limit = Limit.of(size + 1);
+        List<AccountTransactionHistoryDTO> rows = cursor == null
+                ? accountTransactionRepository.findHistory(accountId, limit)
+                : accountTransactionRepository.findHistoryBefore(accountId, cursor.transactionDate(), cursor.id(), limit);
+        if (rows.size() <= size) {
+            // Sıcak tablo bitti; arşivdeki satırların hepsi daha eski, sayfa aynı imleçle arşivden tamamlanır
+            Limit remaining = Limit.of(size + 1 - rows.size());
+            List<AccountTransactionHistoryDTO> archived = cursor == null
+                    ? accountTransactionRepository.findArchivedHistory(accountId, remaining)
+                    : accountTransactionRepository.findArchivedHistoryBefore(accountId, cursor.transactionDate(), cursor.id(), remaining);
+            if (!archived.isEmpty()) {
+                rows = new ArrayList<>(rows);
+                rows.addAll(archived);
+            }
+        }
+
+        if (rows.isEmpty() && !accountRepository.existsById(accountId)) {
+            throw new AccountNotFoundException(ACCOUNT_NOT_FOUND);
+        }
+        if (rows.size() <= size) {
+            return new TransactionPageDTO(rows, null);
+        }
+        List<AccountTransactionHistoryDTO> page = rows.subList(0, size);
+        return new TransactionPageDTO(page, TransactionCursor.of(page.get(size - 1)).encode());
     }
-}
\ No newline at end of file
+}
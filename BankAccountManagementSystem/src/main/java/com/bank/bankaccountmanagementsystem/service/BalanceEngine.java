@@ -0,0 +1,488 @@
+package com.bank.bankaccountmanagementsystem.service;
+
+import com.bank.bankaccountmanagementsystem.config.BalanceEngineProperties;
+import com.bank.bankaccountmanagementsystem.config.LedgerProperties;
+import com.bank.bankaccountmanagementsystem.dto.AccountTransactionDTO;
+import com.bank.bankaccountmanagementsystem.model.AccountTransaction;
+import com.bank.bankaccountmanagementsystem.model.Money;
+import com.bank.bankaccountmanagementsystem.repository.AccountRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * In-memory balance engine for deposits and withdrawals. Accounts are spread by id over single-writer
+ * {@link BalanceShard}s; each shard applies operations to the balances it holds, appends them to its own
+ * memory-mapped {@link WriteAheadLog} and acknowledges them according to the fsync policy, without a database round
+ * trip. A feed thread then writes the logged operations to account_transactions, accounts.balance and the daily
+ * balances in batches, and checkpoints each shard's log. At startup every shard rebuilds its balances from its log
+ * and the records past the checkpoint are fed again; the feed is idempotent, so a record fed twice is written once.
+ * <p>
+ * Any other write to an account (transfers, bulk, keyed or converted postings, edits, deletion) must run through
+ * {@link #released}, which takes the account out of its shard until the write is done.
+ * <p>
+ * The balances in memory are only correct while this engine is the only writer of the database, so a single instance
+ * may run against a database. Startup takes an exclusive lock on a file in the log directory and fails if another
+ * process holds it, or if the log was written with a different shard count.
+ */
+@Component
+public class BalanceEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceEngine.class);
+
+    private static final String SHARD_DIRECTORY_PREFIX = "shard-";
+    private static final String SHARDS_FILE = "engine.shards";
+
+    // Kimlik kaydın kendisinden türetilir: yeniden beslenen kayıt INSERT IGNORE ile atlanır
+    private static final String INSERT_TRANSACTION = "INSERT IGNORE INTO account_transactions " +
+            "(id, account_id, transaction_date, transaction_type, amount) VALUES (?, ?, ?, ?, ?)";
+
+    private final BalanceEngineProperties properties;
+    private final LedgerProperties ledgerProperties;
+    private final AccountRepository accountRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final DailyBalanceService dailyBalanceService;
+    private final AccountCache accountCache;
+    private final MeterRegistry meterRegistry;
+
+    private final Object fedMonitor = new Object();
+    private BalanceShard[] shards;
+    private long[] fedSequences;
+    private BlockingQueue<BalanceShard.Applied> feed;
+    private volatile boolean running;
+    private volatile boolean feeding;
+    private volatile boolean flushRequested;
+    private Thread feeder;
+    private FileChannel lockChannel;
+
+    public BalanceEngine(BalanceEngineProperties properties, LedgerProperties ledgerProperties,
+                         AccountRepository accountRepository, JdbcTemplate jdbcTemplate,
+                         PlatformTransactionManager transactionManager, DailyBalanceService dailyBalanceService,
+                         AccountCache accountCache, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.ledgerProperties = ledgerProperties;
+        this.accountRepository = accountRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.dailyBalanceService = dailyBalanceService;
+        this.accountCache = accountCache;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void start() throws InterruptedException {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (ledgerProperties.isEnabled()) {
+            throw new IllegalStateException("bank.account.engine and bank.account.ledger cannot both be enabled");
+        }
+        long started = System.nanoTime();
+        lockWalDirectory();
+        int shardCount = Math.max(1, properties.getShards());
+        try {
+            checkShardCount(shardCount);
+        } catch (RuntimeException e) {
+            unlockWalDirectory();
+            throw e;
+        }
+        feed = new ArrayBlockingQueue<>(Math.max(1, properties.getFeedQueueCapacity()));
+        fedSequences = new long[shardCount];
+        shards = new BalanceShard[shardCount];
+        Timer syncTimer = meterRegistry.timer("bank.account.engine.sync");
+        Gauge.builder("bank.account.engine.feed.lag", feed, BlockingQueue::size).register(meterRegistry);
+
+        // Kurtarma beslenmemiş kayıtları kuyruğa koyar; kuyruk dolarsa boşaltan besleyici önceden çalışıyor olmalı
+        feeding = true;
+        feeder = new Thread(this::feedLoop, "balance-engine-feeder");
+        feeder.setDaemon(true);
+        feeder.start();
+
+        long recovered = 0;
+        for (int i = 0; i < shardCount; i++) {
+            WriteAheadLog wal = new WriteAheadLog(Path.of(properties.getWalDirectory(), SHARD_DIRECTORY_PREFIX + i),
+                    properties.getWalSegmentSize().toBytes());
+            fedSequences[i] = wal.checkpoint();
+            shards[i] = new BalanceShard(i, properties, wal, feed, accountRepository::findBalanceById, syncTimer);
+            recovered += shards[i].recover();
+        }
+        for (BalanceShard shard : shards) {
+            shard.start();
+        }
+        running = true;
+        log.info("Balance engine started with {} shards; recovered {} log records in {} ms", shardCount, recovered,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (!running) {
+            unlockWalDirectory();
+            return;
+        }
+        running = false;
+        for (BalanceShard shard : shards) {
+            shard.stop();
+        }
+        // Besleyici kuyruğu boşaltıp çıkar; yetişemezse kalan kayıtlar bir sonraki açılışta beslenir
+        feeding = false;
+        feeder.join(TimeUnit.SECONDS.toMillis(30));
+        unlockWalDirectory();
+    }
+
+    /**
+     * Stops at once, as a crash would: queued operations are not applied and applied ones not fed.
+     */
+    void halt() throws InterruptedException {
+        running = false;
+        feeding = false;
+        feeder.interrupt();
+        feeder.join(TimeUnit.SECONDS.toMillis(10));
+        for (BalanceShard shard : shards) {
+            shard.halt();
+        }
+        unlockWalDirectory();
+    }
+
+    // Kilit işletim sistemi tarafından tutulur; süreç çökerse kendiliğinden bırakılır
+    private void lockWalDirectory() {
+        Path lockFile = Path.of(properties.getWalDirectory(), "engine.lock");
+        try {
+            Files.createDirectories(lockFile.getParent());
+            FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            FileLock lock;
+            try {
+                lock = channel.tryLock();
+            } catch (OverlappingFileLockException e) {
+                lock = null;
+            }
+            if (lock == null) {
+                channel.close();
+                throw new IllegalStateException("Write-ahead log directory " + lockFile.getParent()
+                        + " is used by another balance engine; only one instance may run against the database");
+            }
+            lockChannel = channel;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot lock write-ahead log directory " + lockFile.getParent(), e);
+        }
+    }
+
+    private void unlockWalDirectory() {
+        if (lockChannel == null) {
+            return;
+        }
+        try {
+            // Kanal kapanınca kilit de bırakılır
+            lockChannel.close();
+        } catch (IOException e) {
+            log.warn("Cannot release the write-ahead log directory lock", e);
+        }
+        lockChannel = null;
+    }
+
+    /**
+     * Refuses to start when the log was written with a different shard count. An account's shard is its hash modulo
+     * the count, so after a change its unfed records would be recovered by the wrong shard, or not at all if their
+     * shard no longer exists. The count is stored next to the lock file the first time the engine starts.
+     */
+    private void checkShardCount(int shardCount) {
+        Path directory = Path.of(properties.getWalDirectory());
+        Path shardsFile = directory.resolve(SHARDS_FILE);
+        try {
+            List<Integer> logs;
+            try (Stream<Path> entries = Files.list(directory)) {
+                logs = entries.filter(Files::isDirectory)
+                        .map(entry -> entry.getFileName().toString())
+                        .filter(name -> name.matches(SHARD_DIRECTORY_PREFIX + "\\d+"))
+                        .map(name -> Integer.parseInt(name.substring(SHARD_DIRECTORY_PREFIX.length())))
+                        .sorted()
+                        .toList();
+            }
+            if (Files.exists(shardsFile)) {
+                String stored = Files.readString(shardsFile).trim();
+                if (!stored.equals(Integer.toString(shardCount))) {
+                    throw new IllegalStateException("Write-ahead log directory " + directory + " was written with "
+                            + stored + " shards, but bank.account.engine.shards is " + shardCount);
+                }
+            }
+            // Sayı dosyası bu sürümden önce yazılmış günlüklerde yoktur; dizinler eski sayıyı ele verir
+            if (!logs.isEmpty() && !logs.equals(IntStream.range(0, shardCount).boxed().toList())) {
+                throw new IllegalStateException("Write-ahead log directory " + directory + " holds the logs of shards "
+                        + logs + ", but bank.account.engine.shards is " + shardCount);
+            }
+            if (!Files.exists(shardsFile)) {
+                Files.writeString(shardsFile, Integer.toString(shardCount), StandardOpenOption.CREATE_NEW,
+                        StandardOpenOption.WRITE, StandardOpenOption.SYNC);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot check the shard count of write-ahead log " + directory, e);
+        }
+    }
+
+    /**
+     * Whether deposits and withdrawals go through the engine. Follows the configuration rather than the engine's
+     * state, so during shutdown they are rejected with AccountBusyException instead of taking the database path
+     * while the log still holds unfed records.
+     */
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Applies a deposit or withdrawal on the account's shard. The future fails with AccountNotFoundException or
+     * BalanceLimitException like the database path, and with AccountBusyException if the shard's queue is full.
+     */
+    public CompletableFuture<AccountTransactionDTO> submit(UUID accountId, Money amount, boolean isDeposit) {
+        if (!running) {
+            return CompletableFuture.failedFuture(new AccountBusyException());
+        }
+        return shard(accountId).submit(accountId, amount, isDeposit);
+    }
+
+    /**
+     * Runs {@code work}, a database write to the given accounts, while the engine holds none of them: each account is
+     * fenced on its shard, its logged operations are fed, and it is dropped from memory. Its deposits and withdrawals
+     * wait until {@code work} returns and then load the account again. Runs {@code work} directly when disabled, and
+     * throws AccountBusyException once the engine is stopping.
+     */
+    public <T> T released(Collection<UUID> accountIds, Supplier<T> work) {
+        if (!properties.isEnabled()) {
+            return work.get();
+        }
+        if (!running) {
+            throw new AccountBusyException();
+        }
+        List<UUID> fenced = new ArrayList<>();
+        // Besleyici aralığın dolmasını beklemeden yazsın
+        flushRequested = true;
+        try {
+            List<CompletableFuture<Long>> releases = new ArrayList<>();
+            for (UUID accountId : new TreeSet<>(accountIds)) {
+                releases.add(shard(accountId).release(accountId));
+                fenced.add(accountId);
+            }
+            long deadline = System.nanoTime() + properties.getReleaseTimeout().toNanos();
+            for (int i = 0; i < fenced.size(); i++) {
+                awaitFed(shard(fenced.get(i)).index(), join(releases.get(i)), deadline);
+            }
+            return work.get();
+        } finally {
+            resume(fenced);
+        }
+    }
+
+    /**
+     * The balance the engine holds for the account, empty if it is not in memory.
+     */
+    Optional<Money> balance(UUID accountId) {
+        return join(shard(accountId).balance(accountId));
+    }
+
+    /**
+     * Waits until everything applied so far is in the database.
+     */
+    void awaitFeed() {
+        long deadline = System.nanoTime() + properties.getReleaseTimeout().toNanos();
+        for (BalanceShard shard : shards) {
+            awaitFed(shard.index(), shard.wal().lastSequence(), deadline);
+        }
+    }
+
+    private BalanceShard shard(UUID accountId) {
+        return shards[Math.floorMod(accountId.hashCode(), shards.length)];
+    }
+
+    private void resume(List<UUID> accountIds) {
+        boolean interrupted = false;
+        for (UUID accountId : accountIds) {
+            while (true) {
+                try {
+                    shard(accountId).resume(accountId);
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void awaitFed(int shard, long sequence, long deadline) {
+        synchronized (fedMonitor) {
+            while (fedSequences[shard] < sequence) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new AccountBusyException();
+                }
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(fedMonitor, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new AccountBusyException();
+                }
+            }
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void feedLoop() {
+        long feedIntervalNanos = properties.getFeedInterval().toNanos();
+        int batchSize = Math.max(1, properties.getFeedBatchSize());
+        List<BalanceShard.Applied> batch = new ArrayList<>(batchSize);
+        try {
+            while (feeding || !feed.isEmpty()) {
+                BalanceShard.Applied first = feed.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + feedIntervalNanos;
+                while (batch.size() < batchSize) {
+                    feed.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0 || flushRequested) {
+                        break;
+                    }
+                    BalanceShard.Applied next = feed.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flushRequested = false;
+                writeWithRetry(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Kayıtlar günlükte durduğu için atılmaz: veritabanı dönene kadar aynı parti yeniden denenir
+    private void writeWithRetry(List<BalanceShard.Applied> batch) throws InterruptedException {
+        while (true) {
+            try {
+                write(batch);
+                return;
+            } catch (RuntimeException e) {
+                if (!feeding) {
+                    log.warn("Feeding {} balance engine records failed; they are fed again at the next start", batch.size(), e);
+                    return;
+                }
+                log.warn("Feeding {} balance engine records failed, retrying", batch.size(), e);
+                Thread.sleep(1_000);
+            }
+        }
+    }
+
+    private void write(List<BalanceShard.Applied> batch) {
+        long[] fed = new long[shards.length];
+        transaction.executeWithoutResult(status -> {
+            List<Object[]> rows = new ArrayList<>(batch.size());
+            // Hesap başına, her günün son bakiyesi (kayıt sırasıyla)
+            Map<UUID, Map<LocalDate, Long>> closingBalances = new LinkedHashMap<>();
+            for (BalanceShard.Applied applied : batch) {
+                WriteAheadLog.Entry entry = applied.entry();
+                fed[applied.shard()] = entry.sequence();
+                if (entry.type() == WriteAheadLog.RELEASE) {
+                    continue;
+                }
+                LocalDateTime transactionDate = BalanceShard.transactionDate(entry.epochMillis());
+                rows.add(new Object[]{
+                        bytes(transactionId(applied.shard(), entry)),
+                        bytes(entry.accountId()),
+                        Timestamp.valueOf(transactionDate),
+                        (entry.type() == WriteAheadLog.DEPOSIT
+                                ? AccountTransaction.TransactionType.DEPOSIT : AccountTransaction.TransactionType.WITHDRAWAL).name(),
+                        Money.ofMinor(entry.amount()).toBigDecimal()
+                });
+                closingBalances.computeIfAbsent(entry.accountId(), id -> new LinkedHashMap<>())
+                        .put(transactionDate.toLocalDate(), entry.balance());
+            }
+            jdbcTemplate.batchUpdate(INSERT_TRANSACTION, rows);
+            for (Map.Entry<UUID, Map<LocalDate, Long>> account : closingBalances.entrySet()) {
+                for (Map.Entry<LocalDate, Long> day : account.getValue().entrySet()) {
+                    accountRepository.setBalance(account.getKey(), Money.ofMinor(day.getValue()).toBigDecimal());
+                    dailyBalanceService.record(account.getKey(), day.getKey());
+                }
+                accountCache.evict(account.getKey());
+            }
+        });
+
+        for (int shard = 0; shard < fed.length; shard++) {
+            if (fed[shard] > 0) {
+                shards[shard].wal().checkpoint(fed[shard]);
+            }
+        }
+        synchronized (fedMonitor) {
+            for (int shard = 0; shard < fed.length; shard++) {
+                fedSequences[shard] = Math.max(fedSequences[shard], fed[shard]);
+            }
+            fedMonitor.notifyAll();
+        }
+    }
+
+    /**
+     * Version 7 layout like the generated ids: the record's time in the top 48 bits, then the shard and its sequence
+     * number, so the same record always gets the same id.
+     */
+    static UUID transactionId(int shard, WriteAheadLog.Entry entry) {
+        long mostSignificant = (entry.epochMillis() << 16) | 0x7000L | (shard & 0x0FFFL);
+        long leastSignificant = 0x8000_0000_0000_0000L | (entry.sequence() & 0x3FFF_FFFF_FFFF_FFFFL);
+        return new UUID(mostSignificant, leastSignificant);
+    }
+
+    private static byte[] bytes(UUID id) {
+        return ByteBuffer.allocate(16).putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits()).array();
+    }
+}
@@ -0,0 +1,11 @@
+package com.bank.bankaccountmanagementsystem.service;
+
+/**
+ * The operation would take the balance below zero or above the maximum.
+ */
+public class BalanceLimitException extends RejectionException {
+
+    public BalanceLimitException(String message) {
+        super(message);
+    }
+}
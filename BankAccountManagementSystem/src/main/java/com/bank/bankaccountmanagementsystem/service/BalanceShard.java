@@ -0,0 +1,336 @@
+package com.bank.bankaccountmanagementsystem.service;
+
+import com.bank.bankaccountmanagementsystem.config.BalanceEngineProperties;
+import com.bank.bankaccountmanagementsystem.dto.AccountTransactionDTO;
+import com.bank.bankaccountmanagementsystem.model.AccountTransaction;
+import com.bank.bankaccountmanagementsystem.model.Money;
+import io.micrometer.core.instrument.Timer;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * One shard of the {@link BalanceEngine}: the balances of the accounts that hash to it, owned by a single writer
+ * thread that takes commands from the shard's queue, so no balance is ever touched by two threads. Every applied
+ * operation is appended to the shard's {@link WriteAheadLog} and handed to the database feed; the caller's future
+ * completes according to the fsync policy. An account is loaded from the database the first time the shard sees it.
+ * <p>
+ * A released account is fenced: its operations are parked until it is resumed, after which it is loaded again.
+ */
+final class BalanceShard {
+
+    private final int index;
+    private final BalanceEngineProperties.FsyncPolicy fsyncPolicy;
+    private final int maxBatchSize;
+    private final long fsyncIntervalNanos;
+    private final WriteAheadLog wal;
+    private final BlockingQueue<Object> queue;
+    private final BlockingQueue<Applied> feed;
+    private final Function<UUID, Optional<Money>> loader;
+    private final Timer syncTimer;
+
+    // Yalnızca yazıcı iş parçacığı erişir
+    private final Map<UUID, Money> balances = new HashMap<>();
+    private final Map<UUID, Fence> fences = new HashMap<>();
+    private final List<Acknowledgement<?>> unacknowledged = new ArrayList<>();
+    private long lastSync = System.nanoTime();
+    private long lastRelease;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    BalanceShard(int index, BalanceEngineProperties properties, WriteAheadLog wal, BlockingQueue<Applied> feed,
+                 Function<UUID, Optional<Money>> loader, Timer syncTimer) {
+        this.index = index;
+        this.fsyncPolicy = properties.getFsync();
+        this.maxBatchSize = Math.max(1, properties.getMaxBatchSize());
+        this.fsyncIntervalNanos = properties.getFsyncInterval().toNanos();
+        this.wal = wal;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity()));
+        this.feed = feed;
+        this.loader = loader;
+        this.syncTimer = syncTimer;
+    }
+
+    /**
+     * Rebuilds the balances of the accounts with records past the checkpoint and no later release, and feeds those
+     * records to the database. Every other account is fully in the database and is loaded from there on its next
+     * operation, so a write made to it while the engine was down is not overwritten. Must run before {@link #start};
+     * returns the number of records read.
+     */
+    long recover() throws InterruptedException {
+        long checkpoint = wal.checkpoint();
+        List<WriteAheadLog.Entry> unfed = new ArrayList<>();
+        long[] read = new long[1];
+        wal.recover(entry -> {
+            read[0]++;
+            if (entry.type() == WriteAheadLog.RELEASE) {
+                balances.remove(entry.accountId());
+                lastRelease = entry.sequence();
+            } else if (entry.sequence() > checkpoint) {
+                // Beslenmiş kayıtlar atlanır; o hesapların bakiyesi veritabanından okunur
+                balances.put(entry.accountId(), Money.ofMinor(entry.balance()));
+            }
+            if (entry.sequence() > checkpoint) {
+                unfed.add(entry);
+            }
+        });
+        for (WriteAheadLog.Entry entry : unfed) {
+            feed.put(new Applied(index, entry));
+        }
+        return read[0];
+    }
+
+    void start() {
+        running = true;
+        writer = new Thread(this::writeLoop, "balance-shard-" + index);
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // Kuyruktakiler uygulanır, günlük diske yazılıp kapatılır
+    void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    // Çökmenin benzeri: kuyruktakiler uygulanmaz, günlük eşitlenmez
+    void halt() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.interrupt();
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    int index() {
+        return index;
+    }
+
+    WriteAheadLog wal() {
+        return wal;
+    }
+
+    CompletableFuture<AccountTransactionDTO> submit(UUID accountId, Money amount, boolean isDeposit) {
+        Posting posting = new Posting(accountId, amount, isDeposit, new CompletableFuture<>());
+        if (!running || !queue.offer(posting)) {
+            posting.future.completeExceptionally(new AccountBusyException());
+        }
+        return posting.future;
+    }
+
+    /**
+     * Fences the account, drops its balance and returns a sequence number at or above every operation on it the
+     * shard applied before: that of the RELEASE record written for it, or of the last one if it was not in memory.
+     */
+    CompletableFuture<Long> release(UUID accountId) {
+        Release release = new Release(accountId, new CompletableFuture<>());
+        if (!running || !queue.offer(release)) {
+            release.future.completeExceptionally(new AccountBusyException());
+        }
+        return release.future;
+    }
+
+    // Kuyruk doluysa beklenir: bir çit açık kalırsa hesabın işlemleri sonsuza dek bekler
+    void resume(UUID accountId) throws InterruptedException {
+        queue.put(new Resume(accountId));
+    }
+
+    CompletableFuture<Optional<Money>> balance(UUID accountId) {
+        CompletableFuture<Optional<Money>> future = new CompletableFuture<>();
+        if (!running || !queue.offer(new Inspect(accountId, future))) {
+            future.completeExceptionally(new AccountBusyException());
+        }
+        return future;
+    }
+
+    private void writeLoop() {
+        List<Object> batch = new ArrayList<>(maxBatchSize);
+        long pollNanos = fsyncPolicy == BalanceEngineProperties.FsyncPolicy.INTERVAL
+                ? Math.max(1, fsyncIntervalNanos) : TimeUnit.MILLISECONDS.toNanos(100);
+        try {
+            while (running || !queue.isEmpty()) {
+                Object first = queue.poll(pollNanos, TimeUnit.NANOSECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, maxBatchSize - 1);
+                    for (Object command : batch) {
+                        apply(command);
+                    }
+                    batch.clear();
+                }
+                if (!unacknowledged.isEmpty()) {
+                    // BATCH: bir fsync, sıradaki tüm işlemler için
+                    sync();
+                    unacknowledged.forEach(Acknowledgement::complete);
+                    unacknowledged.clear();
+                } else if (fsyncPolicy == BalanceEngineProperties.FsyncPolicy.INTERVAL
+                        && System.nanoTime() - lastSync >= fsyncIntervalNanos) {
+                    sync();
+                }
+            }
+            for (Fence fence : fences.values()) {
+                fence.parked.forEach(posting -> posting.future.completeExceptionally(new AccountBusyException()));
+            }
+            wal.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException e) {
+            // Günlüğe yazılamıyorsa bakiyeler dayanıksız: shard durur, bekleyen istekler hata alır
+            running = false;
+            failPending(batch, e);
+        }
+    }
+
+    private void apply(Object command) throws InterruptedException {
+        if (command instanceof Posting posting) {
+            post(posting);
+        } else if (command instanceof Release release) {
+            fences.computeIfAbsent(release.accountId, id -> new Fence()).holders++;
+            if (balances.remove(release.accountId) == null) {
+                // Bellekte olmayan hesabın beslenmemiş kaydı varsa, en geç son RELEASE kaydından öncedir
+                release.future.complete(lastRelease);
+                return;
+            }
+            WriteAheadLog.Entry entry = append(release.accountId, WriteAheadLog.RELEASE, 0, 0, System.currentTimeMillis());
+            lastRelease = entry.sequence();
+            // Veritabanı yazması bu kayıttan sonra başlar; politika ne olursa olsun kayıt önce diske iner
+            if (fsyncPolicy == BalanceEngineProperties.FsyncPolicy.INTERVAL) {
+                sync();
+            }
+            acknowledge(new Acknowledgement<>(release.future, entry.sequence()));
+        } else if (command instanceof Resume resume) {
+            Fence fence = fences.get(resume.accountId);
+            if (fence != null && --fence.holders == 0) {
+                fences.remove(resume.accountId);
+                for (Posting parked : fence.parked) {
+                    post(parked);
+                }
+            }
+        } else if (command instanceof Inspect inspect) {
+            inspect.future.complete(Optional.ofNullable(balances.get(inspect.accountId)));
+        }
+    }
+
+    private void post(Posting posting) throws InterruptedException {
+        Fence fence = fences.get(posting.accountId);
+        if (fence != null) {
+            fence.parked.add(posting);
+            return;
+        }
+        Money balance = balances.get(posting.accountId);
+        Money newBalance;
+        try {
+            if (balance == null) {
+                // Soğuk hesap: veritabanından bir kez okunur, sonra bellekteki bakiye esastır
+                balance = loader.apply(posting.accountId).orElseThrow(() -> new AccountNotFoundException("Account not found: " + posting.accountId));
+                balances.put(posting.accountId, balance);
+            }
+            newBalance = AccountTransactionService.applyToBalance(balance, posting.amount, posting.isDeposit);
+        } catch (RuntimeException e) {
+            posting.future.completeExceptionally(e);
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        append(posting.accountId, posting.isDeposit ? WriteAheadLog.DEPOSIT : WriteAheadLog.WITHDRAWAL,
+                posting.amount.minorUnits(), newBalance.minorUnits(), now);
+        balances.put(posting.accountId, newBalance);
+        AccountTransactionDTO result = new AccountTransactionDTO(posting.accountId.toString(),
+                posting.isDeposit ? AccountTransaction.TransactionType.DEPOSIT : AccountTransaction.TransactionType.WITHDRAWAL,
+                posting.amount.toBigDecimal(), transactionDate(now));
+        acknowledge(new Acknowledgement<>(posting.future, result));
+    }
+
+    private WriteAheadLog.Entry append(UUID accountId, byte type, long amount, long balance, long epochMillis)
+            throws InterruptedException {
+        WriteAheadLog.Entry entry = wal.append(accountId, type, amount, balance, epochMillis);
+        feed.put(new Applied(index, entry));
+        return entry;
+    }
+
+    private void acknowledge(Acknowledgement<?> acknowledgement) {
+        switch (fsyncPolicy) {
+            case ALWAYS -> {
+                sync();
+                acknowledgement.complete();
+            }
+            case BATCH -> unacknowledged.add(acknowledgement);
+            case INTERVAL -> acknowledgement.complete();
+        }
+    }
+
+    private void sync() {
+        long start = System.nanoTime();
+        wal.sync();
+        lastSync = System.nanoTime();
+        syncTimer.record(lastSync - start, TimeUnit.NANOSECONDS);
+    }
+
+    private void failPending(List<Object> batch, Exception cause) {
+        List<Object> pending = new ArrayList<>(batch);
+        queue.drainTo(pending);
+        for (Fence fence : fences.values()) {
+            pending.addAll(fence.parked);
+        }
+        for (Object command : pending) {
+            if (command instanceof Posting posting) {
+                posting.future.completeExceptionally(cause);
+            } else if (command instanceof Release release) {
+                release.future.completeExceptionally(cause);
+            }
+        }
+        // Onay bekleyenlerin kaydı diske inmemiş olabilir: başarılı sayılmaz
+        unacknowledged.forEach(acknowledgement -> acknowledgement.future().completeExceptionally(cause));
+        unacknowledged.clear();
+    }
+
+    static LocalDateTime transactionDate(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    /**
+     * A log record on its way to the database, with the shard that wrote it.
+     */
+    record Applied(int shard, WriteAheadLog.Entry entry) {
+    }
+
+    private record Acknowledgement<T>(CompletableFuture<T> future, T result) {
+
+        void complete() {
+            future.complete(result);
+        }
+    }
+
+    private record Posting(UUID accountId, Money amount, boolean isDeposit, CompletableFuture<AccountTransactionDTO> future) {
+    }
+
+    private record Release(UUID accountId, CompletableFuture<Long> future) {
+    }
+
+    private record Resume(UUID accountId) {
+    }
+
+    private record Inspect(UUID accountId, CompletableFuture<Optional<Money>> future) {
+    }
+
+    private static final class Fence {
+        private int holders;
+        private final List<Posting> parked = new ArrayList<>();
+    }
+}
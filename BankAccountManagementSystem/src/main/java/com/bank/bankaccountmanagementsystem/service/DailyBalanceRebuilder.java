@@ -0,0 +1,151 @@
+package com.bank.bankaccountmanagementsystem.service;
+
+import com.bank.bankaccountmanagementsystem.config.DailyBalanceProperties;
+import com.bank.bankaccountmanagementsystem.model.Account;
+import com.bank.bankaccountmanagementsystem.model.AccountDailyBalance;
+import com.bank.bankaccountmanagementsystem.repository.AccountDailyBalanceRepository;
+import com.bank.bankaccountmanagementsystem.repository.AccountRepository;
+import com.bank.bankaccountmanagementsystem.repository.AccountTransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Backfills account_daily_balance from account_transactions. Accounts are read in id-ordered chunks and the chunks
+ * are rebuilt in parallel, each in its own transaction. A chunk locks its accounts first, so postings to them wait
+ * for the chunk instead of racing it. The current balance is the anchor: the balance before the first posting is
+ * taken as the current balance minus the sum of all postings, and each day's closing balance follows from it.
+ * Only days from the oldest posting in account_transactions on are rebuilt; snapshots of archived months are kept.
+ */
+@Component
+public class DailyBalanceRebuilder {
+
+    private static final Logger log = LoggerFactory.getLogger(DailyBalanceRebuilder.class);
+
+    private final DailyBalanceProperties properties;
+    private final AccountRepository accountRepository;
+    private final AccountTransactionRepository accountTransactionRepository;
+    private final AccountDailyBalanceRepository accountDailyBalanceRepository;
+    private final TransactionTemplate transaction;
+
+    public DailyBalanceRebuilder(DailyBalanceProperties properties, AccountRepository accountRepository,
+                                 AccountTransactionRepository accountTransactionRepository,
+                                 AccountDailyBalanceRepository accountDailyBalanceRepository,
+                                 PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.accountRepository = accountRepository;
+        this.accountTransactionRepository = accountTransactionRepository;
+        this.accountDailyBalanceRepository = accountDailyBalanceRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (!properties.isRebuildOnStartup()) {
+            return;
+        }
+        Thread rebuild = new Thread(this::rebuild, "daily-balance-rebuild");
+        rebuild.setDaemon(true);
+        rebuild.start();
+    }
+
+    /**
+     * Returns the number of snapshot rows written.
+     */
+    public long rebuild() {
+        int threads = Math.max(1, properties.getRebuildThreads());
+        Limit chunk = Limit.of(Math.max(1, properties.getRebuildChunkSize()));
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "daily-balance-rebuild-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Kuyrukta en fazla iki tur parça bekler; hesap id'leri belleğe toptan alınmaz.
+        Semaphore inFlight = new Semaphore(threads * 2);
+        List<Future<Integer>> results = new ArrayList<>();
+        long started = System.nanoTime();
+        try {
+            LocalDateTime oldest = accountTransactionRepository.findOldestTransactionDate();
+            LocalDate rebuildFrom = oldest == null ? null : oldest.toLocalDate();
+            List<UUID> ids = accountRepository.findIds(chunk);
+            while (!ids.isEmpty()) {
+                List<UUID> accountIds = ids;
+                inFlight.acquire();
+                results.add(executor.submit(() -> {
+                    try {
+                        return transaction.execute(status -> rebuildChunk(accountIds, rebuildFrom));
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+                ids = accountRepository.findIdsAfter(accountIds.get(accountIds.size() - 1), chunk);
+            }
+            long written = 0;
+            for (Future<Integer> result : results) {
+                written += result.get();
+            }
+            log.info("Rebuilt {} daily balances in {} chunks in {} ms", written, results.size(),
+                    (System.nanoTime() - started) / 1_000_000);
+            return written;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Daily balance rebuild interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Daily balance rebuild failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int rebuildChunk(List<UUID> accountIds, LocalDate rebuildFrom) {
+        Map<UUID, BigDecimal> balances = new HashMap<>();
+        for (Account account : accountRepository.findAllByIdForUpdate(accountIds)) {
+            balances.put(account.getId(), account.getBalance().toBigDecimal());
+        }
+        List<AccountTransactionRepository.DailyDelta> deltas = accountTransactionRepository.sumDailyDeltas(accountIds);
+
+        Map<UUID, BigDecimal> totals = new HashMap<>();
+        for (AccountTransactionRepository.DailyDelta delta : deltas) {
+            totals.merge(delta.getAccountId(), delta.getDelta(), BigDecimal::add);
+        }
+        Map<UUID, BigDecimal> running = new HashMap<>();
+        List<AccountDailyBalance> snapshots = new ArrayList<>(deltas.size());
+        for (AccountTransactionRepository.DailyDelta delta : deltas) {
+            BigDecimal current = balances.get(delta.getAccountId());
+            if (current == null) {
+                continue;
+            }
+            BigDecimal closing = running.getOrDefault(delta.getAccountId(),
+                    current.subtract(totals.get(delta.getAccountId()))).add(delta.getDelta());
+            running.put(delta.getAccountId(), closing);
+            snapshots.add(new AccountDailyBalance(delta.getAccountId(), delta.getBalanceDate(), closing));
+        }
+
+        if (rebuildFrom == null) {
+            accountDailyBalanceRepository.deleteByAccountIds(accountIds);
+        } else {
+            accountDailyBalanceRepository.deleteByAccountIdsFrom(accountIds, rebuildFrom);
+        }
+        accountDailyBalanceRepository.saveAll(snapshots);
+        return snapshots.size();
+    }
+}
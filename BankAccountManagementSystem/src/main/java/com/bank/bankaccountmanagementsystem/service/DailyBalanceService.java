@@ -0,0 +1,88 @@
+package com.bank.bankaccountmanagementsystem.service;
+
+import com.bank.bankaccountmanagementsystem.dto.BalanceAsOfDTO;
+import com.bank.bankaccountmanagementsystem.model.Account;
+import com.bank.bankaccountmanagementsystem.model.AccountDailyBalance;
+import com.bank.bankaccountmanagementsystem.repository.AccountDailyBalanceRepository;
+import com.bank.bankaccountmanagementsystem.repository.AccountRepository;
+import com.bank.bankaccountmanagementsystem.repository.AccountTransactionRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Maintains account_daily_balance (one closing balance per account and day with postings) and answers point-in-time
+ * balance queries from it: the nearest snapshot plus, at most, the postings of a single day. Those postings are
+ * summed from account_transactions and account_transactions_archive, so an archived day is answered the same way.
+ */
+@Service
+public class DailyBalanceService {
+
+    private final AccountDailyBalanceRepository accountDailyBalanceRepository;
+    private final AccountTransactionRepository accountTransactionRepository;
+    private final AccountRepository accountRepository;
+    private final ReadYourWritesGuard readYourWritesGuard;
+
+    public DailyBalanceService(AccountDailyBalanceRepository accountDailyBalanceRepository,
+                               AccountTransactionRepository accountTransactionRepository,
+                               AccountRepository accountRepository, ReadYourWritesGuard readYourWritesGuard) {
+        this.accountDailyBalanceRepository = accountDailyBalanceRepository;
+        this.accountTransactionRepository = accountTransactionRepository;
+        this.accountRepository = accountRepository;
+        this.readYourWritesGuard = readYourWritesGuard;
+    }
+
+    /**
+     * Records the account's current balance as the closing balance of {@code day}. Must run in the transaction
+     * that changed the balance.
+     */
+    public void record(UUID accountId, LocalDate day) {
+        accountDailyBalanceRepository.upsertFromAccount(accountId, day);
+    }
+
+    public void deleteForAccount(UUID accountId) {
+        accountDailyBalanceRepository.deleteByAccountIds(List.of(accountId));
+    }
+
+    @Transactional(readOnly = true)
+    public BalanceAsOfDTO getBalanceAsOf(UUID accountId, LocalDateTime asOf) {
+        return readYourWritesGuard.read(accountId, () -> computeBalanceAsOf(accountId, asOf));
+    }
+
+    private BalanceAsOfDTO computeBalanceAsOf(UUID accountId, LocalDateTime asOf) {
+        Account account = accountRepository.findById(accountId)
+                .orElseThrow(() -> new AccountNotFoundException("Account not found"));
+        LocalDate day = asOf.toLocalDate();
+        LocalDateTime endOfDay = day.plusDays(1).atStartOfDay();
+
+        Optional<AccountDailyBalance> snapshot =
+                accountDailyBalanceRepository.findTopByAccountIdAndBalanceDateLessThanEqualOrderByBalanceDateDesc(accountId, day);
+        BigDecimal balance;
+        if (snapshot.isPresent() && snapshot.get().getBalanceDate().isBefore(day)) {
+            // O günden bu yana işlem yok: önceki günün kapanışı geçerli
+            balance = snapshot.get().getClosingBalance();
+        } else if (snapshot.isPresent()) {
+            // Aynı gün: kapanıştan asOf sonrasındaki işlemler geri alınır
+            balance = snapshot.get().getClosingBalance()
+                    .subtract(accountTransactionRepository.sumDeltaBetween(accountId, asOf, endOfDay))
+                    .subtract(accountTransactionRepository.sumArchivedDeltaBetween(accountId, asOf, endOfDay));
+        } else {
+            // asOf'a kadar hiç işlem yok: açılış bakiyesi, ilk anlık görüntü gününün işlemleri geri alınarak bulunur
+            balance = accountDailyBalanceRepository.findTopByAccountIdOrderByBalanceDateAsc(accountId)
+                    .map(first -> {
+                        LocalDateTime firstDayEnd = first.getBalanceDate().plusDays(1).atStartOfDay();
+                        return first.getClosingBalance()
+                                .subtract(accountTransactionRepository.sumDeltaBefore(accountId, firstDayEnd))
+                                .subtract(accountTransactionRepository.sumArchivedDeltaBefore(accountId, firstDayEnd));
+                    })
+                    .orElse(account.getBalance().toBigDecimal());
+        }
+        return new BalanceAsOfDTO(accountId, asOf, balance);
+    }
+}
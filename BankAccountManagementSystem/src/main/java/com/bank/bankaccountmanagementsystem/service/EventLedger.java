@@ -0,0 +1,213 @@
+package com.bank.bankaccountmanagementsystem.service;
+
+import com.bank.bankaccountmanagementsystem.config.LedgerProperties;
+import com.bank.bankaccountmanagementsystem.model.LedgerEvent;
+import com.bank.bankaccountmanagementsystem.model.Money;
+import com.bank.bankaccountmanagementsystem.repository.AccountRepository;
+import com.bank.bankaccountmanagementsystem.repository.LedgerEventRepository;
+import com.bank.bankaccountmanagementsystem.repository.LedgerSnapshotRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Event-sourced ledger: when enabled, ledger_events is the source of truth for balances and accounts.balance is a
+ * projection of it that writers keep up to date in the same transaction.
+ * <p>
+ * Each account's balance and last sequence number are kept in memory. An account that is not in memory is loaded
+ * from its snapshot plus the events after it; a snapshot is rewritten every {@code snapshotEvery} events, so the
+ * tail stays short. Appends take the next sequence number, and the (account_id, sequence_number) primary key turns
+ * a concurrent append from another writer or instance into an {@link OptimisticLockingFailureException}, which the
+ * write paths already retry. State changed in a transaction becomes visible to others only after it commits.
+ * <p>
+ * Writers must hold the account's row lock before they append, e.g. by updating accounts.balance first. Otherwise
+ * an append waiting on another transaction's uncommitted sequence number can deadlock with that transaction's
+ * wait for the row.
+ */
+@Component
+public class EventLedger {
+
+    private final LedgerProperties properties;
+    private final LedgerEventRepository ledgerEventRepository;
+    private final LedgerSnapshotRepository ledgerSnapshotRepository;
+    private final AccountRepository accountRepository;
+    private final Cache<UUID, Projection> projections;
+
+    public EventLedger(LedgerProperties properties, LedgerEventRepository ledgerEventRepository,
+                       LedgerSnapshotRepository ledgerSnapshotRepository, AccountRepository accountRepository) {
+        this.properties = properties;
+        this.ledgerEventRepository = ledgerEventRepository;
+        this.ledgerSnapshotRepository = ledgerSnapshotRepository;
+        this.accountRepository = accountRepository;
+        this.projections = Caffeine.newBuilder()
+                .maximumSize(properties.getProjectionMaximumSize())
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Balance after every event of the account, including the ones appended earlier in the current transaction.
+     */
+    public Money balance(UUID accountId) {
+        return current(accountId, pending()).balance();
+    }
+
+    /**
+     * Writes the OPENED event of an account created in the current transaction.
+     */
+    public void open(UUID accountId, Money balance) {
+        Map<UUID, Projection> pending = pending();
+        write(accountId, Projection.EMPTY, LedgerEvent.EventType.OPENED, balance, pending);
+    }
+
+    /**
+     * Appends an event and returns the balance after it. Limits are the caller's to check.
+     */
+    public Money append(UUID accountId, LedgerEvent.EventType eventType, Money delta) {
+        Map<UUID, Projection> pending = pending();
+        return write(accountId, current(accountId, pending), eventType, delta, pending).balance();
+    }
+
+    /**
+     * Appends an ADJUSTMENT that brings the balance to {@code balance}; nothing if it is already there.
+     */
+    public void adjustTo(UUID accountId, Money balance) {
+        Map<UUID, Projection> pending = pending();
+        Projection current = current(accountId, pending);
+        Money delta = balance.minus(current.balance());
+        if (delta.signum() != 0) {
+            write(accountId, current, LedgerEvent.EventType.ADJUSTMENT, delta, pending);
+        }
+    }
+
+    public void delete(UUID accountId) {
+        pending().remove(accountId);
+        ledgerSnapshotRepository.deleteByAccountIds(List.of(accountId));
+        ledgerEventRepository.deleteByAccountId(accountId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                projections.invalidate(accountId);
+            }
+        });
+    }
+
+    // Yeniden oynatma commit ettikten sonra çağırır
+    void publish(Map<UUID, Projection> replayed) {
+        replayed.forEach(this::publish);
+    }
+
+    private void publish(UUID accountId, Projection projection) {
+        if (projection.sequenceNumber() == 0) {
+            return;
+        }
+        projections.asMap().merge(accountId, projection,
+                (cached, committed) -> committed.sequenceNumber() >= cached.sequenceNumber() ? committed : cached);
+    }
+
+    private Projection current(UUID accountId, Map<UUID, Projection> pending) {
+        Projection current = pending.get(accountId);
+        if (current != null) {
+            return current;
+        }
+        current = projections.getIfPresent(accountId);
+        if (current == null) {
+            current = load(accountId);
+        }
+        if (current.sequenceNumber() == 0) {
+            // Defter modu açılmadan önce açılmış hesap: ilk yazmada o anki bakiye açılış olayı olarak eklenir
+            current = new Projection(0, accountRepository.findById(accountId)
+                    .orElseThrow(() -> new AccountNotFoundException("Account not found"))
+                    .getBalance());
+        }
+        pending.put(accountId, current);
+        return current;
+    }
+
+    private Projection load(UUID accountId) {
+        Projection projection = ledgerSnapshotRepository.findById(accountId)
+                .map(snapshot -> new Projection(snapshot.getSequenceNumber(), Money.of(snapshot.getBalance())))
+                .orElse(Projection.EMPTY);
+        for (LedgerEventRepository.Delta event : ledgerEventRepository.findTail(accountId, projection.sequenceNumber())) {
+            projection = projection.apply(accountId, event.sequenceNumber(), Money.of(event.delta()));
+        }
+        return projection;
+    }
+
+    private Projection write(UUID accountId, Projection current, LedgerEvent.EventType eventType, Money delta,
+                             Map<UUID, Projection> pending) {
+        if (current.sequenceNumber() == 0 && eventType != LedgerEvent.EventType.OPENED) {
+            current = write(accountId, Projection.EMPTY, LedgerEvent.EventType.OPENED, current.balance(), pending);
+        }
+        Projection next = current.apply(accountId, current.sequenceNumber() + 1, delta);
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            ledgerEventRepository.append(accountId, next.sequenceNumber(), eventType.name(), delta.toBigDecimal(), now);
+        } catch (DataIntegrityViolationException e) {
+            // Sıra numarası başka bir yazıcıda: bellekteki durum eski, yeniden denemede tablodan okunur
+            projections.invalidate(accountId);
+            throw new OptimisticLockingFailureException("Ledger of account " + accountId + " was appended concurrently", e);
+        }
+        if (next.sequenceNumber() % Math.max(1, properties.getSnapshotEvery()) == 0) {
+            ledgerSnapshotRepository.upsert(accountId, next.sequenceNumber(), next.balance().toBigDecimal(), now);
+        }
+        pending.put(accountId, next);
+        return next;
+    }
+
+    // İşlem boyunca okunan ve yazılan durumlar; commit sonrası paylaşılır, geri almada bellekteki kopya da atılır
+    @SuppressWarnings("unchecked")
+    private Map<UUID, Projection> pending() {
+        Map<UUID, Projection> pending = (Map<UUID, Projection>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("The ledger can only be used inside a transaction");
+        }
+        Map<UUID, Projection> created = new HashMap<>();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResource(EventLedger.this);
+                if (status == STATUS_COMMITTED) {
+                    created.forEach(EventLedger.this::publish);
+                } else {
+                    projections.invalidateAll(created.keySet());
+                }
+            }
+        });
+        return created;
+    }
+
+    /**
+     * An account's balance after its event {@code sequenceNumber}. Sequence 0 is an account without events: its
+     * balance is that of the accounts row, written as the OPENED event before the account's first append.
+     */
+    record Projection(long sequenceNumber, Money balance) {
+
+        static final Projection EMPTY = new Projection(0, Money.ZERO);
+
+        Projection apply(UUID accountId, long sequenceNumber, Money delta) {
+            if (sequenceNumber != this.sequenceNumber + 1) {
+                throw new IllegalStateException("Ledger of account " + accountId + " skips from event "
+                        + this.sequenceNumber + " to " + sequenceNumber);
+            }
+            return new Projection(sequenceNumber, balance.plus(delta));
+        }
+    }
+}
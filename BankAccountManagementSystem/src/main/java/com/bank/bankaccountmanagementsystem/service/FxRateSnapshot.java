@@ -0,0 +1,104 @@
+package com.bank.bankaccountmanagementsystem.service;
+
+import com.bank.bankaccountmanagementsystem.model.Account;
+import com.bank.bankaccountmanagementsystem.model.FxRate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Collection;
+
+/**
+ * Immutable table of exchange rates between every pair of currencies, indexed by enum ordinal. A pair without a
+ * quote uses the inverse of the opposite quote, or else a cross rate through a third currency; a currency converts
+ * to itself at 1. Each rate is kept both as a {@link BigDecimal} and as a {@code long} scaled by
+ * 10^{@value #RATE_SCALE}, so a lookup is two array reads and nothing is allocated until the amount is multiplied.
+ */
+public final class FxRateSnapshot {
+
+    public static final int RATE_SCALE = 8;
+    static final int AMOUNT_SCALE = 2;
+    private static final long RATE_FACTOR = 100_000_000L;
+    private static final Account.AccountType[] CURRENCIES = Account.AccountType.values();
+
+    private final BigDecimal[] rates = new BigDecimal[CURRENCIES.length * CURRENCIES.length];
+    private final long[] scaledRates = new long[rates.length];
+    private final int quoteCount;
+
+    public FxRateSnapshot(Collection<FxRate> quotes) {
+        for (FxRate quote : quotes) {
+            if (quote.getRate().signum() > 0 && quote.getBaseCurrency() != quote.getQuoteCurrency()) {
+                rates[index(quote.getBaseCurrency(), quote.getQuoteCurrency())] = quote.getRate().setScale(RATE_SCALE, RoundingMode.HALF_EVEN);
+            }
+        }
+        for (Account.AccountType base : CURRENCIES) {
+            for (Account.AccountType quote : CURRENCIES) {
+                int index = index(base, quote);
+                if (base == quote) {
+                    rates[index] = BigDecimal.ONE.setScale(RATE_SCALE);
+                } else if (rates[index] == null && rates[index(quote, base)] != null) {
+                    rates[index] = BigDecimal.ONE.divide(rates[index(quote, base)], RATE_SCALE, RoundingMode.HALF_EVEN);
+                }
+            }
+        }
+        for (Account.AccountType base : CURRENCIES) {
+            for (Account.AccountType quote : CURRENCIES) {
+                int index = index(base, quote);
+                for (Account.AccountType pivot : CURRENCIES) {
+                    if (rates[index] == null && rates[index(base, pivot)] != null && rates[index(pivot, quote)] != null) {
+                        rates[index] = rates[index(base, pivot)].multiply(rates[index(pivot, quote)]).setScale(RATE_SCALE, RoundingMode.HALF_EVEN);
+                    }
+                }
+                scaledRates[index] = rates[index] == null ? 0 : rates[index].unscaledValue().longValueExact();
+            }
+        }
+        this.quoteCount = quotes.size();
+    }
+
+    /**
+     * Rate from {@code from} to {@code to}, or {@code null} if there is none.
+     */
+    public BigDecimal rate(Account.AccountType from, Account.AccountType to) {
+        return rates[index(from, to)];
+    }
+
+    /**
+     * Converts {@code amount} and rounds it half-even to cents.
+     */
+    public BigDecimal convert(BigDecimal amount, Account.AccountType from, Account.AccountType to) {
+        BigDecimal rate = rates[index(from, to)];
+        if (rate == null) {
+            throw missingRate(from, to);
+        }
+        return amount.multiply(rate).setScale(AMOUNT_SCALE, RoundingMode.HALF_EVEN);
+    }
+
+    /**
+     * Converts an amount in minor units (cents) and rounds it half-even, without allocating.
+     * Throws ArithmeticException if the intermediate product does not fit in a long.
+     */
+    public long convertMinor(long minorUnits, Account.AccountType from, Account.AccountType to) {
+        long rate = scaledRates[index(from, to)];
+        if (rate == 0) {
+            throw missingRate(from, to);
+        }
+        long product = Math.multiplyExact(minorUnits, rate);
+        long quotient = product / RATE_FACTOR;
+        long remainder = Math.abs(product % RATE_FACTOR);
+        if (remainder * 2 > RATE_FACTOR || (remainder * 2 == RATE_FACTOR && (quotient & 1) != 0)) {
+            quotient += Long.signum(product);
+        }
+        return quotient;
+    }
+
+    int quoteCount() {
+        return quoteCount;
+    }
+
+    private static int index(Account.AccountType from, Account.AccountType to) {
+        return from.ordinal() * CURRENCIES.length + to.ordinal();
+    }
+
+    private static InvalidRequestException missingRate(Account.AccountType from, Account.AccountType to) {
+        return new InvalidRequestException("No exchange rate from " + from + " to " + to + ".");
+    }
+}
@@ -0,0 +1,135 @@
+package com.bank.bankaccountmanagementsystem.service;
+
+import com.bank.bankaccountmanagementsystem.config.FxRateProperties;
+import com.bank.bankaccountmanagementsystem.model.Account;
+import com.bank.bankaccountmanagementsystem.model.FxRate;
+import com.bank.bankaccountmanagementsystem.model.Money;
+import com.bank.bankaccountmanagementsystem.repository.FxRateRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Current exchange rates. Readers get the latest {@link FxRateSnapshot} through a single volatile read and never
+ * wait; a refresh builds a complete new snapshot from the configured source and swaps it in. If a refresh fails the
+ * previous snapshot stays in place.
+ */
+@Component
+public class FxRateTable {
+
+    private static final Logger log = LoggerFactory.getLogger(FxRateTable.class);
+
+    private final FxRateProperties properties;
+    private final FxRateRepository fxRateRepository;
+
+    private volatile FxRateSnapshot snapshot = new FxRateSnapshot(List.of());
+    private volatile boolean running;
+    private Thread refresher;
+
+    public FxRateTable(FxRateProperties properties, FxRateRepository fxRateRepository) {
+        this.properties = properties;
+        this.fxRateRepository = fxRateRepository;
+    }
+
+    @PostConstruct
+    void start() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            // Kur olmadan da uygulama açılır; yalnızca döviz çevirisi gereken istekler reddedilir.
+            log.warn("Initial exchange rate load failed", e);
+        }
+        if (!properties.isRefreshEnabled()) {
+            return;
+        }
+        running = true;
+        refresher = new Thread(this::refreshLoop, "fx-rate-refresh");
+        refresher.setDaemon(true);
+        refresher.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (refresher != null) {
+            refresher.interrupt();
+            refresher.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    public FxRateSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Converts {@code amount} from one currency to another at the current rate, rounded half-even to cents.
+     * Throws ArithmeticException if the amount is too large to convert in a long.
+     */
+    public Money convert(Money amount, Account.AccountType from, Account.AccountType to) {
+        if (from == to) {
+            return amount;
+        }
+        return Money.ofMinor(snapshot.convertMinor(amount.minorUnits(), from, to));
+    }
+
+    /**
+     * Reloads every rate from the configured source and publishes them together. Returns the number of quotes read.
+     */
+    public int refresh() {
+        FxRateSnapshot loaded = new FxRateSnapshot(properties.getSource() == FxRateProperties.Source.FILE ? readFile() : fxRateRepository.findAll());
+        snapshot = loaded;
+        return loaded.quoteCount();
+    }
+
+    private List<FxRate> readFile() {
+        if (properties.getFile() == null || properties.getFile().isBlank()) {
+            throw new IllegalStateException("bank.account.fx.file is not set.");
+        }
+        Properties lines = new Properties();
+        try (Reader reader = Files.newBufferedReader(Path.of(properties.getFile()))) {
+            lines.load(reader);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read exchange rates from " + properties.getFile(), e);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<FxRate> rates = new ArrayList<>();
+        for (String pair : lines.stringPropertyNames()) {
+            String[] currencies = pair.split("/");
+            if (currencies.length != 2) {
+                throw new IllegalStateException("Invalid currency pair: " + pair);
+            }
+            rates.add(new FxRate(Account.AccountType.valueOf(currencies[0].trim()), Account.AccountType.valueOf(currencies[1].trim()),
+                    new BigDecimal(lines.getProperty(pair).trim()), now));
+        }
+        return rates;
+    }
+
+    private void refreshLoop() {
+        while (running) {
+            try {
+                Thread.sleep(properties.getRefreshInterval().toMillis());
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                refresh();
+            } catch (RuntimeException e) {
+                // Önceki kurlar kullanılmaya devam eder.
+                log.warn("Exchange rate refresh failed", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.bank.bankaccountmanagementsystem.service;
+
+import com.bank.bankaccountmanagementsystem.config.GroupCommitProperties;
+import com.bank.bankaccountmanagementsystem.dto.AccountTransactionDTO;
+import com.bank.bankaccountmanagementsystem.dto.AccountTransactionRequestDTO;
+import com.bank.bankaccountmanagementsystem.dto.BulkTransactionResultDTO;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects concurrent deposits/withdrawals and commits them together: a single writer thread drains the queue
+ * every {@code flushInterval} or {@code maxBatchSize} operations and applies the group through
+ * {@link AccountTransactionService#processBulk}, so N callers share one database commit. Each operation is still
+ * validated on its own against the running balance; rejected ones fail only their own future.
+ */
+@Component
+public class GroupCommitJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(GroupCommitJournal.class);
+
+    private final GroupCommitProperties properties;
+    private final AccountTransactionService accountTransactionService;
+    private final BlockingQueue<PendingOperation> queue;
+    private final DistributionSummary groupSize;
+    private final Timer flushTimer;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public GroupCommitJournal(GroupCommitProperties properties, MeterRegistry meterRegistry,
+                              @Lazy AccountTransactionService accountTransactionService) {
+        this.properties = properties;
+        this.accountTransactionService = accountTransactionService;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity()));
+        this.groupSize = DistributionSummary.builder("bank.account.group-commit.size")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.flushTimer = meterRegistry.timer("bank.account.group-commit.flush");
+    }
+
+    @PostConstruct
+    void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::drainLoop, "group-commit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    public boolean isEnabled() {
+        return running;
+    }
+
+    public CompletableFuture<AccountTransactionDTO> submit(AccountTransactionRequestDTO operation) {
+        PendingOperation pending = new PendingOperation(operation, new CompletableFuture<>());
+        if (!running || !queue.offer(pending)) {
+            pending.future.completeExceptionally(new AccountBusyException());
+        } else if (!running && queue.remove(pending)) {
+            // stop() araya girdi: yazıcı boş kuyrukta çıkmış olabilir, işlem kimse tarafından tamamlanmaz
+            pending.future.completeExceptionally(new AccountBusyException());
+        }
+        return pending.future;
+    }
+
+    private void drainLoop() {
+        try {
+            drainUntilStopped();
+        } finally {
+            // Yazıcı kesintiyle çıktıysa kuyrukta kalanlar beklemede kalmasın
+            PendingOperation leftover;
+            while ((leftover = queue.poll()) != null) {
+                leftover.future.completeExceptionally(new AccountBusyException());
+            }
+        }
+    }
+
+    private void drainUntilStopped() {
+        long flushIntervalNanos = properties.getFlushInterval().toNanos();
+        int maxBatchSize = Math.max(1, properties.getMaxBatchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingOperation first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<PendingOperation> group = new ArrayList<>(maxBatchSize);
+                group.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (group.size() < maxBatchSize) {
+                    queue.drainTo(group, maxBatchSize - group.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (group.size() >= maxBatchSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingOperation next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    group.add(next);
+                }
+                flush(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void flush(List<PendingOperation> group) {
+        groupSize.record(group.size());
+        List<AccountTransactionRequestDTO> operations = new ArrayList<>(group.size());
+        for (PendingOperation pending : group) {
+            operations.add(pending.operation);
+        }
+
+        List<BulkTransactionResultDTO> results;
+        try {
+            results = flushTimer.recordCallable(() -> accountTransactionService.processBulk(operations));
+        } catch (Exception e) {
+            log.warn("Group commit of {} operations failed", group.size(), e);
+            for (PendingOperation pending : group) {
+                pending.future.completeExceptionally(e);
+            }
+            return;
+        }
+
+        for (int i = 0; i < group.size(); i++) {
+            BulkTransactionResultDTO result = results.get(i);
+            CompletableFuture<AccountTransactionDTO> future = group.get(i).future;
+            if (result.isSuccess()) {
+                future.complete(new AccountTransactionDTO(result.getAccountId().toString(), result.getTransactionType(),
+                        result.getAmount(), result.getTransactionDate()));
+            } else {
+                future.completeExceptionally(AccountTransactionService.rejectionFor(result));
+            }
+        }
+    }
+
+    private record PendingOperation(AccountTransactionRequestDTO operation, CompletableFuture<AccountTransactionDTO> future) {
+    }
+}
@@ -0,0 +1,182 @@
+package com.bank.bankaccountmanagementsystem.service;
+
+import com.bank.bankaccountmanagementsystem.config.IdempotencyProperties;
+import com.bank.bankaccountmanagementsystem.dto.AccountTransactionDTO;
+import com.bank.bankaccountmanagementsystem.model.Account;
+import com.bank.bankaccountmanagementsystem.model.IdempotencyRecord;
+import com.bank.bankaccountmanagementsystem.repository.IdempotencyRecordRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers the result of every deposit/withdraw sent with an Idempotency-Key for {@code ttl}. The idempotency_keys
+ * table is the source of truth: a key is inserted in the same transaction as its posting, so a duplicate fails on
+ * the primary key and the posting is rolled back. A bounded front cache answers retries of recent keys without a
+ * database round trip; keys evicted from it are still found in the table.
+ */
+@Component
+public class IdempotencyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    private final IdempotencyProperties properties;
+    private final IdempotencyRecordRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache<String, Entry> cache;
+
+    private volatile boolean running;
+    private Thread cleaner;
+
+    public IdempotencyStore(IdempotencyProperties properties, IdempotencyRecordRepository repository,
+                            MeterRegistry meterRegistry, PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "idempotency-keys");
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        cleaner = new Thread(this::cleanupLoop, "idempotency-cleanup");
+        cleaner.setDaemon(true);
+        cleaner.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        cleaner.interrupt();
+        cleaner.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    /**
+     * Result cached for {@code key}, if any. Never touches the database.
+     */
+    public Optional<Entry> findCached(String key) {
+        return Optional.ofNullable(cache.getIfPresent(key));
+    }
+
+    /**
+     * Stores {@code key} with the request's amount and currency ({@code null}: the account's) and the posting's
+     * result. Must run in the posting's transaction; throws
+     * DataIntegrityViolationException if the key is already stored. The cache is filled once the transaction commits.
+     */
+    public void record(String key, AccountTransactionDTO result, BigDecimal requestAmount, Account.AccountType requestCurrency) {
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setIdempotencyKey(key);
+        record.setAccountId(UUID.fromString(result.getAccountId()));
+        record.setTransactionType(result.getTransactionType());
+        record.setAmount(result.getAmount());
+        record.setTransactionDate(result.getTransactionDate());
+        record.setRequestAmount(requestAmount);
+        record.setRequestCurrency(requestCurrency);
+        record.setCreatedAt(LocalDateTime.now());
+        repository.saveAndFlush(record);
+
+        Entry entry = new Entry(result, requestAmount, requestCurrency);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.put(key, entry);
+            }
+        });
+    }
+
+    /**
+     * Reads {@code key} from the table after a duplicate insert. An expired row that cleanup has not reached yet is
+     * deleted and reported as absent, so the caller can post the request as new.
+     */
+    public Optional<Entry> load(String key) {
+        return transactionTemplate.execute(status -> {
+            Optional<IdempotencyRecord> record = repository.findById(key);
+            if (record.isEmpty()) {
+                return Optional.empty();
+            }
+            if (record.get().getCreatedAt().isBefore(cutoff())) {
+                repository.delete(record.get());
+                return Optional.empty();
+            }
+            Entry entry = toEntry(record.get());
+            cache.put(key, entry);
+            return Optional.of(entry);
+        });
+    }
+
+    /**
+     * Deletes expired keys in batches of {@code cleanupBatchSize}, each in its own short transaction.
+     */
+    public long purgeExpired() {
+        LocalDateTime cutoff = cutoff();
+        int batchSize = Math.max(1, properties.getCleanupBatchSize());
+        long total = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> repository.deleteExpired(cutoff, batchSize));
+            total += deleted;
+        } while (deleted == batchSize && running);
+        return total;
+    }
+
+    void invalidateCache() {
+        cache.invalidateAll();
+    }
+
+    private LocalDateTime cutoff() {
+        return LocalDateTime.now().minus(properties.getTtl());
+    }
+
+    private void cleanupLoop() {
+        while (running) {
+            try {
+                Thread.sleep(properties.getCleanupInterval().toMillis());
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                long deleted = purgeExpired();
+                if (deleted > 0) {
+                    log.debug("Deleted {} expired idempotency keys", deleted);
+                }
+            } catch (RuntimeException e) {
+                // Bir sonraki turda yeniden denenir.
+                log.warn("Idempotency key cleanup failed", e);
+            }
+        }
+    }
+
+    private static Entry toEntry(IdempotencyRecord record) {
+        AccountTransactionDTO result = new AccountTransactionDTO(record.getAccountId(), record.getTransactionType(),
+                record.getAmount(), record.getTransactionDate());
+        return new Entry(result, record.getRequestAmount() == null ? record.getAmount() : record.getRequestAmount(),
+                record.getRequestCurrency());
+    }
+
+    /**
+     * A stored key: what was asked for and what was posted.
+     */
+    public record Entry(AccountTransactionDTO result, BigDecimal requestAmount, Account.AccountType requestCurrency) {
+    }
+}
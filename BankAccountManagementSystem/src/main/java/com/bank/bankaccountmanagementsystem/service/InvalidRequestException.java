@@ -0,0 +1,12 @@
+package com.bank.bankaccountmanagementsystem.service;
+
+/**
+ * The request itself is invalid: a malformed amount, a missing exchange rate, a reused idempotency key or a
+ * duplicate account.
+ */
+public class InvalidRequestException extends RejectionException {
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,179 @@
+package com.bank.bankaccountmanagementsystem.service;
+
+import com.bank.bankaccountmanagementsystem.config.LedgerProperties;
+import com.bank.bankaccountmanagementsystem.model.Account;
+import com.bank.bankaccountmanagementsystem.model.LedgerSnapshot;
+import com.bank.bankaccountmanagementsystem.model.Money;
+import com.bank.bankaccountmanagementsystem.repository.AccountRepository;
+import com.bank.bankaccountmanagementsystem.repository.LedgerEventRepository;
+import com.bank.bankaccountmanagementsystem.repository.LedgerSnapshotRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+/**
+ * Rebuilds every balance from ledger_events, ignoring the snapshots. Accounts are read in id-ordered chunks and the
+ * chunks are replayed in parallel, each in its own transaction with its accounts locked; an account's events are
+ * only ever folded by one thread, in sequence order. Each replayed account gets a fresh snapshot, accounts.balance
+ * is corrected where it disagrees with the log, and the in-memory projections are replaced once the chunk commits.
+ * Accounts without events are left alone.
+ */
+@Component
+public class LedgerReplayer {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerReplayer.class);
+
+    private final LedgerProperties properties;
+    private final AccountRepository accountRepository;
+    private final LedgerEventRepository ledgerEventRepository;
+    private final LedgerSnapshotRepository ledgerSnapshotRepository;
+    private final EventLedger eventLedger;
+    private final TransactionTemplate transaction;
+
+    public LedgerReplayer(LedgerProperties properties, AccountRepository accountRepository,
+                          LedgerEventRepository ledgerEventRepository, LedgerSnapshotRepository ledgerSnapshotRepository,
+                          EventLedger eventLedger, PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.accountRepository = accountRepository;
+        this.ledgerEventRepository = ledgerEventRepository;
+        this.ledgerSnapshotRepository = ledgerSnapshotRepository;
+        this.eventLedger = eventLedger;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void replayOnStartup() {
+        if (!properties.isEnabled() || !properties.isReplayOnStartup()) {
+            return;
+        }
+        Thread replay = new Thread(this::replay, "ledger-replay");
+        replay.setDaemon(true);
+        replay.start();
+    }
+
+    public Report replay() {
+        int threads = Math.max(1, properties.getReplayThreads());
+        Limit chunk = Limit.of(Math.max(1, properties.getReplayChunkSize()));
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "ledger-replay-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Kuyrukta en fazla iki tur parça bekler; hesap id'leri belleğe toptan alınmaz.
+        Semaphore inFlight = new Semaphore(threads * 2);
+        List<Future<Report>> results = new ArrayList<>();
+        long started = System.nanoTime();
+        try {
+            List<UUID> ids = accountRepository.findIds(chunk);
+            while (!ids.isEmpty()) {
+                List<UUID> accountIds = ids;
+                inFlight.acquire();
+                results.add(executor.submit(() -> {
+                    try {
+                        Map<UUID, EventLedger.Projection> replayed = new HashMap<>();
+                        Report report = transaction.execute(status -> replayChunk(accountIds, replayed));
+                        eventLedger.publish(replayed);
+                        return report;
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+                ids = accountRepository.findIdsAfter(accountIds.get(accountIds.size() - 1), chunk);
+            }
+            Report total = new Report(0, 0, 0, Duration.ZERO);
+            for (Future<Report> result : results) {
+                total = total.plus(result.get());
+            }
+            total = new Report(total.accounts(), total.events(), total.corrected(), Duration.ofNanos(System.nanoTime() - started));
+            log.info("Replayed {} events of {} accounts in {} ms ({} events/s), corrected {} balances", total.events(),
+                    total.accounts(), total.elapsed().toMillis(), total.eventsPerSecond(), total.corrected());
+            return total;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Ledger replay interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Ledger replay failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Report replayChunk(List<UUID> accountIds, Map<UUID, EventLedger.Projection> replayed) {
+        Map<UUID, Money> balances = new HashMap<>();
+        for (Account account : accountRepository.findAllByIdForUpdate(accountIds)) {
+            balances.put(account.getId(), account.getBalance());
+        }
+
+        long events = 0;
+        try (Stream<LedgerEventRepository.Delta> deltas = ledgerEventRepository.streamDeltas(accountIds)) {
+            // Olaylar hesaba göre gruplu gelir: hesap değişene kadar tek bir değişkende toplanır
+            UUID accountId = null;
+            EventLedger.Projection projection = null;
+            for (Iterator<LedgerEventRepository.Delta> iterator = deltas.iterator(); iterator.hasNext(); events++) {
+                LedgerEventRepository.Delta event = iterator.next();
+                if (!event.accountId().equals(accountId)) {
+                    if (accountId != null) {
+                        replayed.put(accountId, projection);
+                    }
+                    accountId = event.accountId();
+                    projection = EventLedger.Projection.EMPTY;
+                }
+                projection = projection.apply(accountId, event.sequenceNumber(), Money.of(event.delta()));
+            }
+            if (accountId != null) {
+                replayed.put(accountId, projection);
+            }
+        }
+
+        long corrected = 0;
+        LocalDateTime now = LocalDateTime.now();
+        List<LedgerSnapshot> snapshots = new ArrayList<>(replayed.size());
+        for (Map.Entry<UUID, EventLedger.Projection> entry : replayed.entrySet()) {
+            EventLedger.Projection projection = entry.getValue();
+            snapshots.add(new LedgerSnapshot(entry.getKey(), projection.sequenceNumber(), projection.balance().toBigDecimal(), now));
+            if (!projection.balance().equals(balances.get(entry.getKey()))) {
+                accountRepository.setBalance(entry.getKey(), projection.balance().toBigDecimal());
+                corrected++;
+            }
+        }
+        // Anlık görüntüler tek tek upsert edilmez: parçanınkiler silinip toplu INSERT ile yeniden yazılır
+        ledgerSnapshotRepository.deleteByAccountIds(accountIds);
+        ledgerSnapshotRepository.saveAll(snapshots);
+        return new Report(replayed.size(), events, corrected, Duration.ZERO);
+    }
+
+    /**
+     * Outcome of a replay; {@code corrected} counts accounts whose accounts.balance disagreed with the log.
+     */
+    public record Report(long accounts, long events, long corrected, Duration elapsed) {
+
+        public long eventsPerSecond() {
+            long nanos = elapsed.toNanos();
+            return nanos == 0 ? 0 : events * 1_000_000_000L / nanos;
+        }
+
+        Report plus(Report other) {
+            return new Report(accounts + other.accounts, events + other.events, corrected + other.corrected, elapsed);
+        }
+    }
+}
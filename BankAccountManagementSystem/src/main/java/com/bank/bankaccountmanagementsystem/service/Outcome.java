@@ -0,0 +1,41 @@
+package com.bank.bankaccountmanagementsystem.service;
+
+import java.util.Locale;
+
+/**
+ * How an operation ended, as a low-cardinality metric tag.
+ */
+public enum Outcome {
+    SUCCESS, VALIDATION_ERROR, NOT_FOUND, BALANCE_LIMIT, UNAVAILABLE, ERROR;
+
+    /**
+     * Request attribute {@code ApiExceptionHandler} sets when it turns an exception into an error response.
+     */
+    public static final String REQUEST_ATTRIBUTE = Outcome.class.getName();
+
+    private final String tag = name().toLowerCase(Locale.ROOT);
+
+    public static Outcome of(Throwable error) {
+        if (error == null) {
+            return SUCCESS;
+        }
+        if (error instanceof AccountNotFoundException) {
+            return NOT_FOUND;
+        }
+        if (error instanceof BalanceLimitException) {
+            return BALANCE_LIMIT;
+        }
+        if (error instanceof RejectionException) {
+            return VALIDATION_ERROR;
+        }
+        // Kilit zaman aşımı ya da dolu kuyruk; istemci tekrar deneyebilir (503)
+        if (error instanceof AccountBusyException) {
+            return UNAVAILABLE;
+        }
+        return ERROR;
+    }
+
+    public String tag() {
+        return tag;
+    }
+}
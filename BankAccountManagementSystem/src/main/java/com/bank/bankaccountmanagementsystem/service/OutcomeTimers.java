@@ -0,0 +1,40 @@
+package com.bank.bankaccountmanagementsystem.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * One timer per {@link Outcome} for a single operation, registered up front so that recording is an array index
+ * and not a registry lookup by tags.
+ */
+final class OutcomeTimers {
+
+    private final Timer[] timers = new Timer[Outcome.values().length];
+
+    OutcomeTimers(MeterRegistry meterRegistry, String name, String operation) {
+        for (Outcome outcome : Outcome.values()) {
+            timers[outcome.ordinal()] = Timer.builder(name)
+                    .tag("operation", operation)
+                    .tag("outcome", outcome.tag())
+                    .register(meterRegistry);
+        }
+    }
+
+    <T> T record(Supplier<T> action) {
+        long start = System.nanoTime();
+        Outcome outcome = Outcome.ERROR;
+        try {
+            T result = action.get();
+            outcome = Outcome.SUCCESS;
+            return result;
+        } catch (RuntimeException e) {
+            outcome = Outcome.of(e);
+            throw e;
+        } finally {
+            timers[outcome.ordinal()].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
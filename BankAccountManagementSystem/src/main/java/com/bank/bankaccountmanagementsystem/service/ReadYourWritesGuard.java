@@ -0,0 +1,67 @@
+package com.bank.bankaccountmanagementsystem.service;
+
+import com.bank.bankaccountmanagementsystem.config.ReplicaProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Keeps reads of a recently written account on the primary while the replica may still lag behind. Writes are
+ * recorded through {@link AccountCache#evict}, or directly by {@link #recordWrite} where nothing is cached yet;
+ * read-only service methods wrap their queries in {@link #read}.
+ * The routing data source asks {@link #isPrimaryPinned} when a read-only transaction takes its first connection,
+ * which is lazy, so a pin set inside the transaction still decides where it runs.
+ */
+@Component
+public class ReadYourWritesGuard {
+
+    private final boolean enabled;
+    private final Cache<UUID, Boolean> recentWrites;
+    private final ThreadLocal<Boolean> primaryPinned = new ThreadLocal<>();
+
+    public ReadYourWritesGuard(ReplicaProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.recentWrites = Caffeine.newBuilder()
+                .maximumSize(properties.getReadYourWritesMaximumSize())
+                .expireAfterWrite(properties.getReadYourWritesWindow())
+                .build();
+    }
+
+    // Pencere commit anında başlar; işlem içinde değilse hemen.
+    public void recordWrite(UUID accountId) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recentWrites.put(accountId, Boolean.TRUE);
+                }
+            });
+        } else {
+            recentWrites.put(accountId, Boolean.TRUE);
+        }
+    }
+
+    public <T> T read(UUID accountId, Supplier<T> reader) {
+        if (!enabled || recentWrites.getIfPresent(accountId) == null || primaryPinned.get() != null) {
+            return reader.get();
+        }
+        primaryPinned.set(Boolean.TRUE);
+        try {
+            return reader.get();
+        } finally {
+            primaryPinned.remove();
+        }
+    }
+
+    public boolean isPrimaryPinned() {
+        return primaryPinned.get() != null;
+    }
+}
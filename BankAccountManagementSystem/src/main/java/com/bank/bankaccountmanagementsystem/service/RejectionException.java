@@ -0,0 +1,19 @@
+package com.bank.bankaccountmanagementsystem.service;
+
+/**
+ * A request the service turns down as part of normal operation, such as a missing account or an overdraft. These are
+ * expected and can arrive in bursts, so they carry no stack trace: filling one in walks every frame of the request
+ * thread, which costs more than the rejection itself. Extends IllegalArgumentException so callers that catch that
+ * (bulk processing, group commit) handle them unchanged.
+ */
+public abstract class RejectionException extends IllegalArgumentException {
+
+    protected RejectionException(String message) {
+        super(message);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,162 @@
+package com.bank.bankaccountmanagementsystem.service;
+
+import com.bank.bankaccountmanagementsystem.config.StatementProperties;
+import com.bank.bankaccountmanagementsystem.dto.AccountTransactionHistoryDTO;
+import com.bank.bankaccountmanagementsystem.repository.AccountTransactionRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Writes an account statement straight from a database cursor to an output stream. Rows are DTO projections, so
+ * nothing is added to the persistence context, and each row is written before the next one is read: memory use
+ * does not depend on the number of rows. Archived postings are read first, from their own cursor, since they are
+ * older than every posting in account_transactions.
+ */
+@Component
+public class StatementExporter {
+
+    private final AccountTransactionRepository accountTransactionRepository;
+    private final ObjectMapper objectMapper;
+    private final ReadYourWritesGuard readYourWritesGuard;
+    private final StatementProperties properties;
+
+    public StatementExporter(AccountTransactionRepository accountTransactionRepository, ObjectMapper objectMapper,
+                             ReadYourWritesGuard readYourWritesGuard, StatementProperties properties) {
+        this.accountTransactionRepository = accountTransactionRepository;
+        this.objectMapper = objectMapper;
+        this.readYourWritesGuard = readYourWritesGuard;
+        this.properties = properties;
+    }
+
+    /**
+     * Returns the number of rows written. The output stream is flushed but not closed.
+     */
+    @Transactional(readOnly = true)
+    public long export(UUID accountId, LocalDateTime from, LocalDateTime to, Format format, OutputStream out) {
+        return readYourWritesGuard.read(accountId, () -> write(accountId, from, to, format, out));
+    }
+
+    private long write(UUID accountId, LocalDateTime from, LocalDateTime to, Format format, OutputStream out) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try {
+            RowWriter rowWriter = format == Format.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(objectMapper, writer);
+            long written;
+            // Arşivdeki satırlar sıcak tablodakilerden eskidir, önce onlar yazılır. İkinci sorgu ilki kapandıktan sonra
+            // açılır: akan bir sonuç kümesi açıkken aynı bağlantıda başka sorgu çalıştırılamaz.
+            try (Stream<AccountTransactionHistoryDTO> rows = accountTransactionRepository.streamArchivedStatement(accountId, from, to, properties.getFetchSize())) {
+                written = rowWriter.write(rows.iterator());
+            }
+            try (Stream<AccountTransactionHistoryDTO> rows = accountTransactionRepository.streamStatement(accountId, from, to, properties.getFetchSize())) {
+                written += rowWriter.write(rows.iterator());
+            }
+            rowWriter.finish(written);
+            writer.flush();
+            return written;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private interface RowWriter {
+        long write(Iterator<AccountTransactionHistoryDTO> rows) throws IOException;
+
+        void finish(long written) throws IOException;
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            writer.write("id,transactionType,amount,transactionDate\n");
+        }
+
+        @Override
+        public long write(Iterator<AccountTransactionHistoryDTO> rows) throws IOException {
+            long written = 0;
+            while (rows.hasNext()) {
+                AccountTransactionHistoryDTO row = rows.next();
+                writer.write(row.getId().toString());
+                writer.write(',');
+                writer.write(row.getTransactionType().name());
+                writer.write(',');
+                writer.write(row.getAmount().toPlainString());
+                writer.write(',');
+                writer.write(row.getTransactionDate().toString());
+                writer.write('\n');
+                written++;
+            }
+            return written;
+        }
+
+        @Override
+        public void finish(long written) {
+        }
+    }
+
+    private static final class NdjsonRowWriter implements RowWriter {
+
+        private final Writer writer;
+        private final SequenceWriter sequence;
+
+        NdjsonRowWriter(ObjectMapper objectMapper, Writer writer) throws IOException {
+            this.writer = writer;
+            // Her satırdan sonra flush edilmez; akış controller'a aittir ve kapatılmaz.
+            this.sequence = objectMapper.writer()
+                    .withRootValueSeparator("\n")
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .writeValues(writer);
+        }
+
+        @Override
+        public long write(Iterator<AccountTransactionHistoryDTO> rows) throws IOException {
+            long written = 0;
+            while (rows.hasNext()) {
+                sequence.write(rows.next());
+                written++;
+            }
+            return written;
+        }
+
+        @Override
+        public void finish(long written) throws IOException {
+            sequence.flush();
+            if (written > 0) {
+                writer.write('\n');
+            }
+        }
+    }
+
+    public enum Format {
+        NDJSON("application/x-ndjson"),
+        CSV("text/csv");
+
+        private final String contentType;
+
+        Format(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+    }
+}
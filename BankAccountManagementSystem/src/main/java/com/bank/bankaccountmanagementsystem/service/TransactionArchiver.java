@@ -0,0 +1,207 @@
+package com.bank.bankaccountmanagementsystem.service;
+
+import com.bank.bankaccountmanagementsystem.config.ArchiveProperties;
+import com.bank.bankaccountmanagementsystem.repository.AccountTransactionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves closed months of account_transactions to account_transactions_archive, a compressed table on MySQL.
+ * <p>
+ * On MySQL the hot table is range-partitioned by month on transaction_date. A closed partition is copied with one
+ * INSERT ... SELECT and then dropped, which frees its space at once instead of deleting row by row; each run also
+ * splits the catch-all partition so that the next {@code monthsAhead} months have their own. Elsewhere, or if the
+ * table is not partitioned, each closed month is copied and deleted by date range in its own transaction.
+ */
+@Component
+public class TransactionArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionArchiver.class);
+
+    private static final String TABLE = "account_transactions";
+    private static final String COLUMNS = "id, account_id, transaction_date, transaction_type, amount";
+    private static final String MAXVALUE = "MAXVALUE";
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+    private static final DateTimeFormatter PARTITION_BOUND = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final ArchiveProperties properties;
+    private final AccountTransactionRepository accountTransactionRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile boolean running;
+    private Thread archiver;
+
+    public TransactionArchiver(ArchiveProperties properties, AccountTransactionRepository accountTransactionRepository,
+                               JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.accountTransactionRepository = accountTransactionRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        running = true;
+        archiver = new Thread(this::archiveLoop, "transaction-archiver");
+        archiver.setDaemon(true);
+        archiver.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (archiver != null) {
+            archiver.interrupt();
+            archiver.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    /**
+     * Archives every posting dated before the retention cutoff and returns the number of rows moved.
+     */
+    public long archive() {
+        return archive(LocalDate.now());
+    }
+
+    long archive(LocalDate today) {
+        LocalDateTime cutoff = today.withDayOfMonth(1).minusMonths(properties.getRetentionMonths()).atStartOfDay();
+        List<Partition> partitions = isMySql() ? partitions() : List.of();
+        if (partitions.isEmpty()) {
+            return archiveByRange(cutoff);
+        }
+        LocalDateTime thisMonth = today.withDayOfMonth(1).atStartOfDay();
+        addPartitions(partitions, thisMonth, thisMonth.plusMonths(properties.getMonthsAhead() + 1L));
+        return archivePartitions(partitions(), cutoff);
+    }
+
+    private long archiveByRange(LocalDateTime cutoff) {
+        long moved = 0;
+        LocalDateTime oldest = accountTransactionRepository.findOldestTransactionDate();
+        while (oldest != null && oldest.isBefore(cutoff)) {
+            LocalDateTime from = oldest.toLocalDate().withDayOfMonth(1).atStartOfDay();
+            LocalDateTime to = from.plusMonths(1).isAfter(cutoff) ? cutoff : from.plusMonths(1);
+            Integer copied = transactionTemplate.execute(status -> {
+                int rows = accountTransactionRepository.copyToArchive(from, to);
+                accountTransactionRepository.deleteBetween(from, to);
+                return rows;
+            });
+            log.info("Archived {} transactions dated {} to {}", copied, from.toLocalDate(), to.toLocalDate());
+            moved += copied;
+            oldest = accountTransactionRepository.findOldestTransactionDate();
+        }
+        return moved;
+    }
+
+    // INSERT IGNORE: bölüm silinmeden önce kesilen bir çalışma tekrarlanırsa aynı satırlar yeniden kopyalanmaz
+    private long archivePartitions(List<Partition> partitions, LocalDateTime cutoff) {
+        long moved = 0;
+        for (Partition partition : partitions) {
+            if (partition.upperBound() == null || partition.upperBound().isAfter(cutoff)) {
+                continue;
+            }
+            int copied = jdbcTemplate.update("INSERT IGNORE INTO account_transactions_archive (" + COLUMNS + ") " +
+                    "SELECT " + COLUMNS + " FROM " + TABLE + " PARTITION (" + partition.name() + ")");
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP PARTITION " + partition.name());
+            log.info("Archived partition {} ({} transactions before {})", partition.name(), copied, partition.upperBound().toLocalDate());
+            moved += copied;
+        }
+        return moved;
+    }
+
+    /**
+     * Adds monthly partitions up to {@code until}, starting after the highest bounded partition or, if there is none,
+     * at the month of the oldest posting. The new ones are split off the catch-all partition if there is one; a split
+     * moves the rows it holds for those months, which is only expensive the first time.
+     */
+    private void addPartitions(List<Partition> partitions, LocalDateTime thisMonth, LocalDateTime until) {
+        Partition last = partitions.get(partitions.size() - 1);
+        LocalDateTime from = partitions.stream()
+                .map(Partition::upperBound)
+                .filter(bound -> bound != null)
+                .reduce((first, second) -> second)
+                .orElseGet(() -> {
+                    LocalDateTime oldest = accountTransactionRepository.findOldestTransactionDate();
+                    return oldest == null || oldest.isAfter(thisMonth) ? thisMonth : oldest.toLocalDate().withDayOfMonth(1).atStartOfDay();
+                });
+        List<String> definitions = new ArrayList<>();
+        for (LocalDateTime month = from; month.isBefore(until); month = month.plusMonths(1)) {
+            definitions.add("PARTITION " + PARTITION_NAME.format(month) + " VALUES LESS THAN ('" +
+                    PARTITION_BOUND.format(month.plusMonths(1)) + "')");
+        }
+        if (definitions.isEmpty()) {
+            return;
+        }
+        if (last.upperBound() == null) {
+            // Yeni aylar pmax'tan ayrılır; pmax en sonda kalır
+            definitions.add("PARTITION " + last.name() + " VALUES LESS THAN (" + MAXVALUE + ")");
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " REORGANIZE PARTITION " + last.name() +
+                    " INTO (" + String.join(", ", definitions) + ")");
+        } else {
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD PARTITION (" + String.join(", ", definitions) + ")");
+        }
+        log.info("Added monthly partitions from {} to {}", from.toLocalDate(), until.toLocalDate());
+    }
+
+    private boolean isMySql() {
+        return "MySQL".equals(jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()));
+    }
+
+    private List<Partition> partitions() {
+        return jdbcTemplate.query("SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM information_schema.PARTITIONS " +
+                        "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL " +
+                        "ORDER BY PARTITION_ORDINAL_POSITION",
+                (rs, rowNum) -> new Partition(rs.getString(1), parseBound(rs.getString(2))), TABLE);
+    }
+
+    // RANGE COLUMNS sınırı tırnaklı gelir: '2025-02-01 00:00:00'
+    private static LocalDateTime parseBound(String description) {
+        if (MAXVALUE.equalsIgnoreCase(description)) {
+            return null;
+        }
+        return LocalDateTime.parse(description.replace("'", "").substring(0, 19), PARTITION_BOUND);
+    }
+
+    private void archiveLoop() {
+        while (running) {
+            try {
+                long moved = archive();
+                if (moved > 0) {
+                    log.info("Archived {} transactions", moved);
+                }
+            } catch (RuntimeException e) {
+                // Bir sonraki turda yeniden denenir.
+                log.warn("Transaction archiving failed", e);
+            }
+            try {
+                Thread.sleep(properties.getInterval().toMillis());
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * A partition of account_transactions; {@code upperBound} is exclusive and {@code null} for MAXVALUE.
+     */
+    record Partition(String name, LocalDateTime upperBound) {
+    }
+}
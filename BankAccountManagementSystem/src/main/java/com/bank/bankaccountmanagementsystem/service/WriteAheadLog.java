@@ -0,0 +1,279 @@
+package com.bank.bankaccountmanagementsystem.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Write-ahead log of one balance engine shard: fixed-size records in memory-mapped segment files, each named after
+ * the sequence number of its first record. Records are numbered from 1 without gaps; a record is valid if its
+ * checksum matches and its number follows the previous one, so recovery stops at the first torn or stale record and
+ * clears everything after it. A separate checkpoint file holds the last sequence number written to the database;
+ * segments entirely below it are deleted.
+ * <p>
+ * Appending and syncing belong to the shard's writer thread; the checkpoint and segment deletion to the feed.
+ */
+final class WriteAheadLog implements Closeable {
+
+    static final int RECORD_SIZE = 64;
+    static final byte DEPOSIT = 0;
+    static final byte WITHDRAWAL = 1;
+    static final byte RELEASE = 2;
+
+    // Kayıt düzeni: sıra no, hesap id (2 long), tarih (epoch ms), tutar, sonraki bakiye (kuruş), tür, CRC32C
+    private static final int CHECKSUMMED_BYTES = 52;
+    private static final String SEGMENT_SUFFIX = ".wal";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private final ByteBuffer scratch = ByteBuffer.allocate(RECORD_SIZE);
+    private final CRC32C checksum = new CRC32C();
+    private final FileChannel checkpointChannel;
+
+    private FileChannel activeChannel;
+    private MappedByteBuffer active;
+    private int position;
+    private int synced;
+    private long lastSequence;
+    private long checkpoint;
+
+    /**
+     * Opens the log in {@code directory}; {@link #recover} must be called before the first append.
+     */
+    WriteAheadLog(Path directory, long segmentSize) {
+        this.directory = directory;
+        this.segmentSize = (int) Math.max(RECORD_SIZE, Math.min(segmentSize, Integer.MAX_VALUE) / RECORD_SIZE * RECORD_SIZE);
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                files.filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                        .sorted()
+                        .forEach(file -> segments.add(new Segment(file, firstSequence(file))));
+            }
+            checkpointChannel = FileChannel.open(directory.resolve(CHECKPOINT_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            ByteBuffer stored = ByteBuffer.allocate(Long.BYTES);
+            checkpoint = checkpointChannel.read(stored, 0) == Long.BYTES ? stored.getLong(0) : 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open write-ahead log " + directory, e);
+        }
+    }
+
+    /**
+     * Passes every valid record to {@code recovered} in sequence order and positions the log after the last one.
+     */
+    void recover(Consumer<Entry> recovered) {
+        try {
+            List<Segment> all = new ArrayList<>(segments);
+            long expected = all.isEmpty() ? 1 : all.get(0).firstSequence();
+            for (int i = 0; i < all.size(); i++) {
+                Segment segment = all.get(i);
+                if (segment.firstSequence() != expected) {
+                    throw new IllegalStateException("Write-ahead log segment " + segment.path() + " should start at " + expected);
+                }
+                FileChannel channel = FileChannel.open(segment.path(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+                int end = 0;
+                while (end < segmentSize) {
+                    Entry entry = read(buffer, end, expected);
+                    if (entry == null) {
+                        break;
+                    }
+                    recovered.accept(entry);
+                    expected++;
+                    end += RECORD_SIZE;
+                }
+                boolean last = i == all.size() - 1;
+                if (end < segmentSize && !last) {
+                    throw new IllegalStateException("Write-ahead log segment " + segment.path()
+                            + " has an invalid record at sequence " + expected + " but is followed by another segment");
+                }
+                if (last) {
+                    // Yarım kalan kaydın ardındaki eski kayıtlar sonraki kurtarmada geçerli sanılmasın
+                    clear(buffer, end);
+                    activeChannel = channel;
+                    active = buffer;
+                    position = end;
+                    synced = end;
+                } else {
+                    channel.close();
+                }
+            }
+            lastSequence = expected - 1;
+            if (active == null || position == segmentSize) {
+                roll();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot recover write-ahead log " + directory, e);
+        }
+    }
+
+    /**
+     * Appends a record and returns it with its sequence number; it is durable only after the next {@link #sync}.
+     */
+    Entry append(UUID accountId, byte type, long amount, long balance, long epochMillis) {
+        if (position == segmentSize) {
+            roll();
+        }
+        Entry entry = new Entry(lastSequence + 1, accountId, type, amount, balance, epochMillis);
+        scratch.clear();
+        scratch.putLong(entry.sequence())
+                .putLong(accountId.getMostSignificantBits())
+                .putLong(accountId.getLeastSignificantBits())
+                .putLong(epochMillis)
+                .putLong(amount)
+                .putLong(balance)
+                .putInt(type);
+        checksum.reset();
+        checksum.update(scratch.array(), 0, CHECKSUMMED_BYTES);
+        scratch.putInt((int) checksum.getValue());
+        active.put(position, scratch.array());
+        position += RECORD_SIZE;
+        lastSequence = entry.sequence();
+        return entry;
+    }
+
+    /**
+     * Forces the records appended since the last sync to disk.
+     */
+    void sync() {
+        if (position > synced) {
+            active.force(synced, position - synced);
+            synced = position;
+        }
+    }
+
+    long lastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Last sequence number known to be in the database.
+     */
+    synchronized long checkpoint() {
+        return checkpoint;
+    }
+
+    /**
+     * Durably records that every record up to {@code sequence} is in the database and deletes the closed segments
+     * that hold nothing newer.
+     */
+    synchronized void checkpoint(long sequence) {
+        if (sequence <= checkpoint) {
+            return;
+        }
+        try {
+            checkpointChannel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, sequence), 0);
+            checkpointChannel.force(false);
+            checkpoint = sequence;
+            // Bir segmentin son kaydı, sonraki segmentin ilk kaydından bir öncekidir; aktif segment silinmez
+            while (segments.size() > 1) {
+                Segment oldest = segments.pollFirst();
+                if (segments.peekFirst().firstSequence() - 1 > sequence) {
+                    segments.addFirst(oldest);
+                    break;
+                }
+                Files.deleteIfExists(oldest.path());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write the checkpoint of " + directory, e);
+        }
+    }
+
+    synchronized int segmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (active != null) {
+            sync();
+            activeChannel.close();
+        }
+        checkpointChannel.close();
+    }
+
+    private void roll() {
+        try {
+            if (active != null) {
+                sync();
+                activeChannel.close();
+            }
+            long firstSequence = lastSequence + 1;
+            Path path = directory.resolve(String.format("%020d%s", firstSequence, SEGMENT_SUFFIX));
+            activeChannel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            active = activeChannel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            position = 0;
+            synced = 0;
+            synchronized (this) {
+                segments.addLast(new Segment(path, firstSequence));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot start a write-ahead log segment in " + directory, e);
+        }
+    }
+
+    private Entry read(MappedByteBuffer buffer, int offset, long expected) {
+        if (buffer.getLong(offset) != expected) {
+            return null;
+        }
+        byte[] record = new byte[RECORD_SIZE];
+        buffer.get(offset, record);
+        checksum.reset();
+        checksum.update(record, 0, CHECKSUMMED_BYTES);
+        ByteBuffer fields = ByteBuffer.wrap(record);
+        if (fields.getInt(CHECKSUMMED_BYTES) != (int) checksum.getValue()) {
+            return null;
+        }
+        return new Entry(expected, new UUID(fields.getLong(8), fields.getLong(16)), (byte) fields.getInt(48),
+                fields.getLong(32), fields.getLong(40), fields.getLong(24));
+    }
+
+    private void clear(MappedByteBuffer buffer, int from) {
+        byte[] zeros = new byte[RECORD_SIZE * 1024];
+        boolean dirty = false;
+        for (int offset = from; offset < segmentSize; offset += RECORD_SIZE) {
+            if (buffer.getLong(offset) != 0) {
+                dirty = true;
+                break;
+            }
+        }
+        if (!dirty) {
+            return;
+        }
+        for (int offset = from; offset < segmentSize; offset += zeros.length) {
+            buffer.put(offset, zeros, 0, Math.min(zeros.length, segmentSize - offset));
+        }
+        buffer.force(from, segmentSize - from);
+    }
+
+    private static long firstSequence(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * One record; {@code amount} and {@code balance} (after the operation) are in minor units, both 0 for RELEASE.
+     */
+    record Entry(long sequence, UUID accountId, byte type, long amount, long balance, long epochMillis) {
+    }
+
+    private record Segment(Path path, long firstSequence) {
+    }
+}
@@ -0,0 +1,62 @@
+package com.bank.bankaccountmanagementsystem;
+
+import com.bank.bankaccountmanagementsystem.dto.AccountDTO;
+import com.bank.bankaccountmanagementsystem.model.Account;
+import com.bank.bankaccountmanagementsystem.model.Money;
+import com.bank.bankaccountmanagementsystem.repository.AccountRepository;
+import com.bank.bankaccountmanagementsystem.service.AccountService;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Accounts for tests and benchmarks. Every account gets a new owner identity number, so fixtures never trip the
+ * uniqueness check on {@code account_owner_identity_number}.
+ */
+public final class TestAccounts {
+
+    // Saatten başlar: kalıcı bir veritabanında sonraki çalıştırma öncekilerin üstünden devam eder
+    private static final AtomicLong IDENTITY_NO = new AtomicLong(10000000000L + System.currentTimeMillis() % 80_000_000_000L);
+
+    private TestAccounts() {
+    }
+
+    public static long identityNo() {
+        return IDENTITY_NO.incrementAndGet();
+    }
+
+    /**
+     * Saves an account straight through the repository, without the service's checks, events or cache.
+     */
+    public static UUID create(AccountRepository accountRepository, BigDecimal balance, Account.AccountType type) {
+        return accountRepository.save(account(balance, type)).getId();
+    }
+
+    /**
+     * Opens an account through {@link AccountService#createAccount}, the way the API does.
+     */
+    public static UUID create(AccountService accountService, BigDecimal balance, Account.AccountType type) {
+        return accountService.createAccount(accountDTO(balance, type)).getId();
+    }
+
+    public static Account account(BigDecimal balance, Account.AccountType type) {
+        Account account = new Account();
+        account.setAccountOwnerIdentityNo(identityNo());
+        account.setAccountOwnerFirstName("Test");
+        account.setAccountOwnerLastName("Account");
+        account.setAccountType(type);
+        account.setBalance(Money.of(balance));
+        return account;
+    }
+
+    public static AccountDTO accountDTO(BigDecimal balance, Account.AccountType type) {
+        AccountDTO accountDTO = new AccountDTO();
+        accountDTO.setAccountOwnerIdentityNo(identityNo());
+        accountDTO.setAccountOwnerFirstName("Test");
+        accountDTO.setAccountOwnerLastName("Account");
+        accountDTO.setAccountType(type);
+        accountDTO.setBalance(balance);
+        return accountDTO;
+    }
+}
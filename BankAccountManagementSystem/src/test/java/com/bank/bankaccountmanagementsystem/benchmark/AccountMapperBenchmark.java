@@ -0,0 +1,59 @@
+package com.bank.bankaccountmanagementsystem.benchmark;
+
+import com.bank.bankaccountmanagementsystem.dto.AccountDTO;
+import com.bank.bankaccountmanagementsystem.mapper.AccountMapper;
+import com.bank.bankaccountmanagementsystem.model.Account;
+import com.bank.bankaccountmanagementsystem.model.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AccountMapper} in both directions, including the {@link Money} / {@link BigDecimal} conversion of the balance.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccountMapperBenchmark {
+
+    private final AccountMapper accountMapper = new AccountMapper();
+    private Account account;
+    private AccountDTO accountDTO;
+
+    @Setup
+    public void setUp() {
+        account = new Account();
+        account.setId(UUID.randomUUID());
+        account.setAccountOwnerIdentityNo(12345678901L);
+        account.setAccountOwnerFirstName("Hilmi");
+        account.setAccountOwnerLastName("Polat");
+        account.setAccountType(Account.AccountType.TL);
+        account.setBalance(Money.of(new BigDecimal("1250.75")));
+        account.setVersion(3L);
+        accountDTO = accountMapper.toAccountDTO(account);
+    }
+
+    @Benchmark
+    public AccountDTO toAccountDTO() {
+        return accountMapper.toAccountDTO(account);
+    }
+
+    @Benchmark
+    public Account toAccountEntity() {
+        return accountMapper.toAccountEntity(accountDTO);
+    }
+}
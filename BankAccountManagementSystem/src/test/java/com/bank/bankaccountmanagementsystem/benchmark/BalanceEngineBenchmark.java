@@ -0,0 +1,90 @@
+package com.bank.bankaccountmanagementsystem.benchmark;
+
+import com.bank.bankaccountmanagementsystem.BankAccountManagementSystemApplication;
+import com.bank.bankaccountmanagementsystem.TestAccounts;
+import com.bank.bankaccountmanagementsystem.dto.AccountTransactionDTO;
+import com.bank.bankaccountmanagementsystem.model.Account;
+import com.bank.bankaccountmanagementsystem.repository.AccountRepository;
+import com.bank.bankaccountmanagementsystem.service.AccountTransactionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deposit and withdrawal through {@link AccountTransactionService} with the in-memory balance engine on, for each
+ * fsync policy: the hand-off to the account's shard, the log append, the sync the policy asks for and the
+ * acknowledgement. Sampled, so the result carries the latency percentiles. The accounts are loaded into their shards
+ * before measuring; the database feed runs in the background against the in-memory H2 database of the {@code h2}
+ * profile, and the log is written to a temporary directory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BalanceEngineBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+
+    @Param({"ALWAYS", "BATCH", "INTERVAL"})
+    public String fsync;
+
+    private ConfigurableApplicationContext context;
+    private AccountTransactionService accountTransactionService;
+    private UUID depositAccountId;
+    private UUID withdrawalAccountId;
+
+    @Setup
+    public void setUp() throws IOException {
+        Path walDirectory = Files.createTempDirectory("engine-benchmark");
+        context = new SpringApplicationBuilder(BankAccountManagementSystemApplication.class)
+                .profiles("h2")
+                .web(WebApplicationType.NONE)
+                .run("--spring.main.banner-mode=off", "--logging.level.root=WARN", "--spring.jpa.show-sql=false",
+                        "--bank.account.engine.enabled=true",
+                        "--bank.account.engine.fsync=" + fsync,
+                        "--bank.account.engine.wal-directory=" + walDirectory);
+        accountTransactionService = context.getBean(AccountTransactionService.class);
+        AccountRepository accountRepository = context.getBean(AccountRepository.class);
+        depositAccountId = TestAccounts.create(accountRepository, BigDecimal.ZERO, Account.AccountType.TL);
+        withdrawalAccountId = TestAccounts.create(accountRepository, new BigDecimal("9000000.00"), Account.AccountType.TL);
+        // Hesaplar shard'larına yüklenir: ölçülen yol veritabanına hiç gitmez
+        accountTransactionService.deposit(depositAccountId, AMOUNT);
+        accountTransactionService.withdraw(withdrawalAccountId, AMOUNT);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public AccountTransactionDTO deposit() {
+        return accountTransactionService.deposit(depositAccountId, AMOUNT);
+    }
+
+    @Benchmark
+    public AccountTransactionDTO withdraw() {
+        return accountTransactionService.withdraw(withdrawalAccountId, AMOUNT);
+    }
+}
@@ -0,0 +1,98 @@
+package com.bank.bankaccountmanagementsystem.benchmark;
+
+import com.bank.bankaccountmanagementsystem.model.Money;
+import com.bank.bankaccountmanagementsystem.service.AccountTransactionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The validate-and-apply step of a deposit or withdrawal: check the amount, add it to the balance and check the
+ * result against the balance limits. {@code bigDecimal} is the step as it was written before balances became
+ * {@link Money}; {@code money} is {@link AccountTransactionService#applyToBalance}; {@code moneyFromRequest} also
+ * converts the request's {@link BigDecimal} amount. Run with {@code -prof gc} to see the allocation per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BalanceUpdateBenchmark {
+
+    private static final int AMOUNTS = 1024;
+    private static final BigDecimal MIN_BALANCE = BigDecimal.ZERO;
+    private static final BigDecimal MAX_BALANCE = new BigDecimal("9999999.99");
+
+    private final BigDecimal[] decimalAmounts = new BigDecimal[AMOUNTS];
+    private final Money[] moneyAmounts = new Money[AMOUNTS];
+    private BigDecimal decimalBalance;
+    private Money moneyBalance;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < AMOUNTS; i++) {
+            decimalAmounts[i] = BigDecimal.valueOf(1 + random.nextInt(99_999), 2);
+            moneyAmounts[i] = Money.of(decimalAmounts[i]);
+        }
+        decimalBalance = new BigDecimal("5000000.00");
+        moneyBalance = Money.of(decimalBalance);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimal() {
+        int step = next++;
+        int i = (step >> 1) & (AMOUNTS - 1);
+        BigDecimal amount = decimalAmounts[i];
+        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Amount must be greater than zero.");
+        }
+        // Her tutar önce yatırılır, sonra çekilir: bakiye sınırlar içinde kalır
+        BigDecimal newBalance = (step & 1) == 0 ? decimalBalance.add(amount) : decimalBalance.subtract(amount);
+        if (newBalance.compareTo(MIN_BALANCE) < 0) {
+            throw new IllegalArgumentException("Balance cannot fall below zero.");
+        }
+        if (newBalance.compareTo(MAX_BALANCE) > 0) {
+            throw new IllegalArgumentException("Balance exceeds the limit.");
+        }
+        decimalBalance = newBalance;
+        return newBalance;
+    }
+
+    @Benchmark
+    public Money money() {
+        int step = next++;
+        int i = (step >> 1) & (AMOUNTS - 1);
+        Money amount = moneyAmounts[i];
+        if (amount.signum() <= 0) {
+            throw new IllegalArgumentException("Amount must be greater than zero.");
+        }
+        moneyBalance = AccountTransactionService.applyToBalance(moneyBalance, amount, (step & 1) == 0);
+        return moneyBalance;
+    }
+
+    @Benchmark
+    public Money moneyFromRequest() {
+        int step = next++;
+        int i = (step >> 1) & (AMOUNTS - 1);
+        Money amount = Money.of(decimalAmounts[i]);
+        if (amount.signum() <= 0) {
+            throw new IllegalArgumentException("Amount must be greater than zero.");
+        }
+        moneyBalance = AccountTransactionService.applyToBalance(moneyBalance, amount, (step & 1) == 0);
+        return moneyBalance;
+    }
+}
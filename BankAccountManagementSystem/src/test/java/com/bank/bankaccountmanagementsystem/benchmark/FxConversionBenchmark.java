@@ -0,0 +1,72 @@
+package com.bank.bankaccountmanagementsystem.benchmark;
+
+import com.bank.bankaccountmanagementsystem.model.Account;
+import com.bank.bankaccountmanagementsystem.model.FxRate;
+import com.bank.bankaccountmanagementsystem.service.FxRateSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One conversion step (rate lookup, multiply, half-even rounding to cents) on {@link BigDecimal} amounts and on
+ * amounts held as a long number of cents. Run with {@code -prof gc} to see the allocation per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FxConversionBenchmark {
+
+    private static final int AMOUNTS = 1024;
+    private static final Account.AccountType[] CURRENCIES = Account.AccountType.values();
+
+    private FxRateSnapshot snapshot;
+    private final BigDecimal[] decimalAmounts = new BigDecimal[AMOUNTS];
+    private final long[] minorAmounts = new long[AMOUNTS];
+    private final Account.AccountType[] from = new Account.AccountType[AMOUNTS];
+    private final Account.AccountType[] to = new Account.AccountType[AMOUNTS];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        snapshot = new FxRateSnapshot(List.of(
+                new FxRate(Account.AccountType.USD, Account.AccountType.TL, new BigDecimal("32.51234567"), now),
+                new FxRate(Account.AccountType.GBP, Account.AccountType.TL, new BigDecimal("41.07651234"), now),
+                new FxRate(Account.AccountType.GBP, Account.AccountType.USD, new BigDecimal("1.26340000"), now)));
+        Random random = new Random(42);
+        for (int i = 0; i < AMOUNTS; i++) {
+            minorAmounts[i] = 1 + random.nextInt(99_999_999);
+            decimalAmounts[i] = BigDecimal.valueOf(minorAmounts[i], 2);
+            from[i] = CURRENCIES[random.nextInt(CURRENCIES.length)];
+            to[i] = CURRENCIES[(from[i].ordinal() + 1 + random.nextInt(CURRENCIES.length - 1)) % CURRENCIES.length];
+        }
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimal() {
+        int i = next++ & (AMOUNTS - 1);
+        return snapshot.convert(decimalAmounts[i], from[i], to[i]);
+    }
+
+    @Benchmark
+    public long scaledLong() {
+        int i = next++ & (AMOUNTS - 1);
+        return snapshot.convertMinor(minorAmounts[i], from[i], to[i]);
+    }
+}
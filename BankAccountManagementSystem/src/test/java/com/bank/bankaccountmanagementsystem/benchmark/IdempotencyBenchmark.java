@@ -0,0 +1,98 @@
+package com.bank.bankaccountmanagementsystem.benchmark;
+
+import com.bank.bankaccountmanagementsystem.BankAccountManagementSystemApplication;
+import com.bank.bankaccountmanagementsystem.TestAccounts;
+import com.bank.bankaccountmanagementsystem.dto.AccountTransactionDTO;
+import com.bank.bankaccountmanagementsystem.model.Account;
+import com.bank.bankaccountmanagementsystem.repository.AccountRepository;
+import com.bank.bankaccountmanagementsystem.service.AccountTransactionService;
+import com.bank.bankaccountmanagementsystem.service.IdempotencyStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What an Idempotency-Key costs: the front-cache lookup on its own, a retried request answered from the stored
+ * result, and a deposit with a new key next to one without a key. Sampled, so the result carries the latency
+ * percentiles. Runs against the in-memory H2 database of the {@code h2} profile; the replayed keys are posted before
+ * measuring and stay in the cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdempotencyBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+    private static final int KEYS = 1024;
+
+    private ConfigurableApplicationContext context;
+    private AccountTransactionService accountTransactionService;
+    private IdempotencyStore idempotencyStore;
+    private UUID accountId;
+    private final String[] keys = new String[KEYS];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(BankAccountManagementSystemApplication.class)
+                .profiles("h2")
+                .web(WebApplicationType.NONE)
+                .run("--spring.main.banner-mode=off", "--logging.level.root=WARN");
+        accountTransactionService = context.getBean(AccountTransactionService.class);
+        idempotencyStore = context.getBean(IdempotencyStore.class);
+        accountId = TestAccounts.create(context.getBean(AccountRepository.class), BigDecimal.ZERO, Account.AccountType.TL);
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = UUID.randomUUID().toString();
+            accountTransactionService.deposit(accountId, AMOUNT, keys[i]);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<IdempotencyStore.Entry> findCached() {
+        return idempotencyStore.findCached(nextKey());
+    }
+
+    @Benchmark
+    public AccountTransactionDTO replay() {
+        return accountTransactionService.deposit(accountId, AMOUNT, nextKey());
+    }
+
+    @Benchmark
+    public AccountTransactionDTO depositWithoutKey() {
+        return accountTransactionService.deposit(accountId, AMOUNT);
+    }
+
+    @Benchmark
+    public AccountTransactionDTO depositWithNewKey() {
+        return accountTransactionService.deposit(accountId, AMOUNT, UUID.randomUUID().toString());
+    }
+
+    private String nextKey() {
+        next = (next + 1) & (KEYS - 1);
+        return keys[next];
+    }
+}
@@ -0,0 +1,63 @@
+package com.bank.bankaccountmanagementsystem.benchmark;
+
+import com.bank.bankaccountmanagementsystem.dto.AccountDTO;
+import com.bank.bankaccountmanagementsystem.dto.AccountTransactionDTO;
+import com.bank.bankaccountmanagementsystem.model.Account;
+import com.bank.bankaccountmanagementsystem.model.AccountTransaction;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response bodies written by the controller, serialized to bytes with an {@link ObjectMapper} configured the way
+ * Spring Boot configures it (Java time module, ISO dates).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private AccountDTO accountDTO;
+    private AccountTransactionDTO accountTransactionDTO;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        UUID accountId = UUID.randomUUID();
+        accountDTO = new AccountDTO(accountId, 12345678901L, "Hilmi", "Polat", Account.AccountType.TL, new BigDecimal("1250.75"));
+        accountTransactionDTO = new AccountTransactionDTO(accountId.toString(), AccountTransaction.TransactionType.DEPOSIT,
+                new BigDecimal("500.00"), LocalDateTime.now());
+    }
+
+    @Benchmark
+    public byte[] accountDTO() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(accountDTO);
+    }
+
+    @Benchmark
+    public byte[] accountTransactionDTO() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(accountTransactionDTO);
+    }
+}
@@ -0,0 +1,82 @@
+package com.bank.bankaccountmanagementsystem.benchmark;
+
+import com.bank.bankaccountmanagementsystem.BankAccountManagementSystemApplication;
+import com.bank.bankaccountmanagementsystem.TestAccounts;
+import com.bank.bankaccountmanagementsystem.model.Account;
+import com.bank.bankaccountmanagementsystem.repository.AccountRepository;
+import com.bank.bankaccountmanagementsystem.service.AccountTransactionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An overdraft storm: every withdrawal is rejected because the account is empty. Measures the whole rejected call
+ * through {@link AccountTransactionService} (lock, transaction, conditional UPDATE that matches no row, rollback and
+ * the exception) on the in-memory H2 database of the {@code h2} profile. {@code callerFrames} puts the call that
+ * many frames deep; a request through Tomcat, the filters and Spring MVC calls the service about 60 frames deep, and
+ * an exception with a stack trace records every one of them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 25, time = 2)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class OverdraftRejectionBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+
+    @Param({"0", "60"})
+    private int callerFrames;
+
+    private ConfigurableApplicationContext context;
+    private AccountTransactionService accountTransactionService;
+    private UUID emptyAccountId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(BankAccountManagementSystemApplication.class)
+                .profiles("h2")
+                .web(WebApplicationType.NONE)
+                .run("--spring.main.banner-mode=off", "--logging.level.root=WARN");
+        accountTransactionService = context.getBean(AccountTransactionService.class);
+        emptyAccountId = TestAccounts.create(context.getBean(AccountRepository.class), BigDecimal.ZERO, Account.AccountType.TL);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object overdraftWithdraw() {
+        return withdrawAtDepth(callerFrames);
+    }
+
+    private Object withdrawAtDepth(int frames) {
+        if (frames > 0) {
+            return withdrawAtDepth(frames - 1);
+        }
+        try {
+            return accountTransactionService.withdraw(emptyAccountId, AMOUNT);
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.bank.bankaccountmanagementsystem.benchmark;
+
+import com.bank.bankaccountmanagementsystem.BankAccountManagementSystemApplication;
+import com.bank.bankaccountmanagementsystem.TestAccounts;
+import com.bank.bankaccountmanagementsystem.dto.AccountTransactionDTO;
+import com.bank.bankaccountmanagementsystem.model.Account;
+import com.bank.bankaccountmanagementsystem.repository.AccountRepository;
+import com.bank.bankaccountmanagementsystem.service.AccountTransactionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A whole deposit and withdrawal through {@link AccountTransactionService}: lock stripe, transaction, balance update,
+ * transaction row, daily snapshot and commit, against the in-memory H2 database of the {@code h2} profile. The
+ * application context is started once per fork, without the web server.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProcessTransactionBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+
+    private ConfigurableApplicationContext context;
+    private AccountTransactionService accountTransactionService;
+    private UUID depositAccountId;
+    private UUID withdrawalAccountId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(BankAccountManagementSystemApplication.class)
+                .profiles("h2")
+                .web(WebApplicationType.NONE)
+                .run("--spring.main.banner-mode=off", "--logging.level.root=WARN");
+        accountTransactionService = context.getBean(AccountTransactionService.class);
+        AccountRepository accountRepository = context.getBean(AccountRepository.class);
+        depositAccountId = TestAccounts.create(accountRepository, BigDecimal.ZERO, Account.AccountType.TL);
+        withdrawalAccountId = TestAccounts.create(accountRepository, new BigDecimal("9000000.00"), Account.AccountType.TL);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public AccountTransactionDTO deposit() {
+        return accountTransactionService.deposit(depositAccountId, AMOUNT);
+    }
+
+    @Benchmark
+    public AccountTransactionDTO withdraw() {
+        return accountTransactionService.withdraw(withdrawalAccountId, AMOUNT);
+    }
+}
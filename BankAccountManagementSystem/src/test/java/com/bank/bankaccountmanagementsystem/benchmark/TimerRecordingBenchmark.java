@@ -0,0 +1,56 @@
+package com.bank.bankaccountmanagementsystem.benchmark;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What one request pays for a timer: two {@code System.nanoTime()} calls and one record into a Prometheus timer,
+ * with and without a percentile histogram. A deposit records three timers (HTTP, service, repository).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimerRecordingBenchmark {
+
+    private Timer timer;
+    private Timer histogramTimer;
+
+    @Setup
+    public void setUp() {
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        timer = Timer.builder("benchmark.plain").tag("outcome", "success").register(registry);
+        histogramTimer = Timer.builder("benchmark.histogram").tag("outcome", "success").publishPercentileHistogram().register(registry);
+    }
+
+    @Benchmark
+    public long timer() {
+        long start = System.nanoTime();
+        long elapsed = System.nanoTime() - start;
+        timer.record(elapsed, TimeUnit.NANOSECONDS);
+        return elapsed;
+    }
+
+    @Benchmark
+    public long histogramTimer() {
+        long start = System.nanoTime();
+        long elapsed = System.nanoTime() - start;
+        histogramTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        return elapsed;
+    }
+}
@@ -0,0 +1,64 @@
+package com.bank.bankaccountmanagementsystem.controller;
+
+import com.bank.bankaccountmanagementsystem.service.AccountBusyException;
+import com.bank.bankaccountmanagementsystem.service.AccountNotFoundException;
+import com.bank.bankaccountmanagementsystem.service.BalanceLimitException;
+import com.bank.bankaccountmanagementsystem.service.InvalidRequestException;
+import com.bank.bankaccountmanagementsystem.service.Outcome;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.method.annotation.ExceptionHandlerMethodResolver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ApiExceptionHandlerTest {
+
+    private final ApiExceptionHandler handler = new ApiExceptionHandler();
+
+    @Test
+    void rejections_shouldMapToStatusAndOutcome() {
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        ResponseEntity<ErrorResponse> response = handler.handleAccountNotFound(new AccountNotFoundException("Account not found"), request);
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals("Error: Account not found", response.getBody().getMessage());
+        assertEquals(Outcome.NOT_FOUND, request.getAttribute(Outcome.REQUEST_ATTRIBUTE));
+
+        request = new MockHttpServletRequest();
+        response = handler.handleRejected(new BalanceLimitException("Insufficient balance"), request);
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(Outcome.BALANCE_LIMIT, request.getAttribute(Outcome.REQUEST_ATTRIBUTE));
+
+        request = new MockHttpServletRequest();
+        response = handler.handleRejected(new InvalidRequestException("Amount is out of range."), request);
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(Outcome.VALIDATION_ERROR, request.getAttribute(Outcome.REQUEST_ATTRIBUTE));
+
+        request = new MockHttpServletRequest();
+        response = handler.handleUnavailable(new AccountBusyException(), request);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals(Outcome.UNAVAILABLE, request.getAttribute(Outcome.REQUEST_ATTRIBUTE));
+    }
+
+    @Test
+    void otherExceptions_shouldNotBeMapped() {
+
+        // Eşlenmeyen hatalar Spring Boot'un 500 yanıtına düşer; mesajları istemciye yansıtılmaz
+        ExceptionHandlerMethodResolver resolver = new ExceptionHandlerMethodResolver(ApiExceptionHandler.class);
+        assertNull(resolver.resolveMethodByThrowable(new IllegalArgumentException("Invalid UUID string: x")));
+        assertNull(resolver.resolveMethodByThrowable(new IllegalStateException("Ledger replay failed")));
+        assertEquals("handleRejected", resolver.resolveMethodByThrowable(new InvalidRequestException("Invalid")).getName());
+        assertEquals("handleAccountNotFound", resolver.resolveMethodByThrowable(new AccountNotFoundException("Account not found")).getName());
+    }
+
+    @Test
+    void domainRejections_shouldNotCaptureStackTrace() {
+
+        assertEquals(0, new AccountNotFoundException("Account not found").getStackTrace().length);
+        assertEquals(0, new BalanceLimitException("Insufficient balance").getStackTrace().length);
+        assertEquals(0, new AccountBusyException().getStackTrace().length);
+    }
+}
@@ -0,0 +1,283 @@
+package com.bank.bankaccountmanagementsystem.controller;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator for the {@code /accounts} API. Each step sends requests at a fixed target rate for a
+ * fixed time, whether or not earlier responses have arrived, so a slow server cannot slow the generator down.
+ * Latency is measured from the time a request was scheduled, not from when it was actually sent, which keeps
+ * queueing delay in the numbers (no coordinated omission). Account keys are drawn from a Zipfian distribution.
+ * <p>
+ * The saturation point is the highest target rate that was still served: achieved throughput at least 95% of the
+ * target, nothing dropped, no errors and p99 under the configured limit.
+ */
+final class ApiLoadHarness {
+
+    private static final Logger log = LoggerFactory.getLogger(ApiLoadHarness.class);
+
+    private static final long HIGHEST_LATENCY = TimeUnit.MINUTES.toNanos(2);
+    private static final int HOT_KEYS_PERCENT = 1;
+
+    enum Endpoint {
+        CREATE, GET, DEPOSIT, WITHDRAW
+    }
+
+    /**
+     * Settings, read from {@code load.*} system properties.
+     */
+    record Config(List<Integer> rates, Duration warmup, Duration stepDuration, double skew, Map<Endpoint, Integer> mix,
+                  int maxInFlight, Duration requestTimeout, Duration p99Limit, Path report) {
+
+        static Config fromSystemProperties() {
+            List<Integer> rates = Arrays.stream(System.getProperty("load.rates", "50,100,200,400").split(","))
+                    .map(String::trim).map(Integer::valueOf).toList();
+            Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+            for (String entry : System.getProperty("load.mix", "create=5,get=60,deposit=20,withdraw=15").split(",")) {
+                String[] parts = entry.split("=");
+                mix.put(Endpoint.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), Integer.valueOf(parts[1].trim()));
+            }
+            return new Config(rates,
+                    DurationStyle.detectAndParse(System.getProperty("load.warmup", "10s")),
+                    DurationStyle.detectAndParse(System.getProperty("load.step-duration", "20s")),
+                    Double.parseDouble(System.getProperty("load.skew", "0.99")),
+                    mix,
+                    Integer.getInteger("load.max-in-flight", 1000),
+                    DurationStyle.detectAndParse(System.getProperty("load.request-timeout", "10s")),
+                    DurationStyle.detectAndParse(System.getProperty("load.p99-limit", "500ms")),
+                    Path.of(System.getProperty("load.report", "target/load-report.md")));
+        }
+    }
+
+    record EndpointResult(Endpoint endpoint, long ok, long busy, long errors, double requestsPerSecond, Histogram latency) {
+    }
+
+    record StepResult(int targetRate, double achievedRate, long dropped, long errors, Histogram latency, List<EndpointResult> endpoints) {
+    }
+
+    private final Config config;
+    private final URI baseUri;
+    private final List<UUID> accounts;
+    private final ZipfianGenerator keys;
+    private final Endpoint[] weightedEndpoints;
+    private final AtomicLong nextIdentityNo = new AtomicLong(90_000_000_000L + ThreadLocalRandom.current().nextInt(1_000_000) * 1_000L);
+
+    ApiLoadHarness(Config config, URI baseUri, List<UUID> accounts) {
+        this.config = config;
+        this.baseUri = baseUri;
+        this.accounts = accounts;
+        this.keys = new ZipfianGenerator(accounts.size(), config.skew());
+        List<Endpoint> weighted = new ArrayList<>();
+        config.mix().forEach((endpoint, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                weighted.add(endpoint);
+            }
+        });
+        this.weightedEndpoints = weighted.toArray(Endpoint[]::new);
+    }
+
+    List<StepResult> run() throws IOException {
+        // İstemci tarafı az sayıda thread kullanır; sunucuyla aynı makinede çalışır.
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(2);
+        HttpClient client = HttpClient.newBuilder()
+                .executor(clientExecutor)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        try {
+            runStep(client, config.rates().get(0), config.warmup());
+            List<StepResult> steps = new ArrayList<>();
+            for (int rate : config.rates()) {
+                StepResult step = runStep(client, rate, config.stepDuration());
+                log.info("target {} req/s: achieved {} req/s, p99 {} ms, {} dropped, {} errors", rate,
+                        String.format(Locale.ROOT, "%.0f", step.achievedRate()),
+                        String.format(Locale.ROOT, "%.1f", millis(step.latency().getValueAtPercentile(99))), step.dropped(), step.errors());
+                steps.add(step);
+            }
+            writeReport(steps);
+            return steps;
+        } finally {
+            clientExecutor.shutdownNow();
+        }
+    }
+
+    private StepResult runStep(HttpClient client, int rate, Duration duration) {
+        Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new EndpointStats());
+        }
+        AtomicInteger inFlight = new AtomicInteger();
+        long dropped = 0;
+        Random random = new Random();
+        long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+
+        for (long scheduled = start; scheduled < end; scheduled += interval) {
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Endpoint endpoint = weightedEndpoints[random.nextInt(weightedEndpoints.length)];
+            if (inFlight.get() >= config.maxInFlight()) {
+                dropped++;
+                continue;
+            }
+            inFlight.incrementAndGet();
+            long intended = scheduled;
+            EndpointStats endpointStats = stats.get(endpoint);
+            client.sendAsync(request(endpoint, random), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        endpointStats.record(System.nanoTime() - intended, error == null ? response.statusCode() : -1);
+                        inFlight.decrementAndGet();
+                    });
+        }
+        // Zaman aşımı her isteğin sonunda kaydedilmesini sağlar
+        while (inFlight.get() > 0) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        double seconds = duration.toNanos() / 1e9;
+
+        Histogram overall = new Histogram(HIGHEST_LATENCY, 3);
+        List<EndpointResult> endpoints = new ArrayList<>();
+        long completed = 0;
+        long errors = 0;
+        for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats endpointStats = entry.getValue();
+            overall.add(endpointStats.latency);
+            completed += endpointStats.ok.get() + endpointStats.busy.get();
+            errors += endpointStats.errors.get();
+            endpoints.add(new EndpointResult(entry.getKey(), endpointStats.ok.get(), endpointStats.busy.get(), endpointStats.errors.get(),
+                    endpointStats.ok.get() / seconds, endpointStats.latency));
+        }
+        return new StepResult(rate, completed / seconds, dropped, errors, overall, endpoints);
+    }
+
+    private HttpRequest request(Endpoint endpoint, Random random) {
+        UUID accountId = accounts.get(keys.next(random));
+        HttpRequest.Builder builder = switch (endpoint) {
+            case CREATE -> HttpRequest.newBuilder(baseUri.resolve("/accounts"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(("{\"accountOwnerIdentityNo\":%d,\"accountOwnerFirstName\":\"Load\"," +
+                            "\"accountOwnerLastName\":\"Test\",\"accountType\":\"TL\",\"balance\":0}").formatted(nextIdentityNo.incrementAndGet())));
+            case GET -> HttpRequest.newBuilder(baseUri.resolve("/accounts/" + accountId)).GET();
+            case DEPOSIT -> HttpRequest.newBuilder(baseUri.resolve("/accounts/" + accountId + "/deposit?amount=1.00"))
+                    .POST(HttpRequest.BodyPublishers.noBody());
+            case WITHDRAW -> HttpRequest.newBuilder(baseUri.resolve("/accounts/" + accountId + "/withdraw?amount=1.00"))
+                    .POST(HttpRequest.BodyPublishers.noBody());
+        };
+        return builder.timeout(config.requestTimeout()).build();
+    }
+
+    private void writeReport(List<StepResult> steps) throws IOException {
+        StringBuilder report = new StringBuilder();
+        report.append("# /accounts load test\n\n");
+        report.append("- Target: ").append(baseUri).append('\n');
+        report.append(String.format(Locale.ROOT, "- Accounts: %d, Zipf exponent %.2f: the hottest %d%% of accounts get %.0f%% of requests%n",
+                accounts.size(), config.skew(), HOT_KEYS_PERCENT, 100 * keys.share(accounts.size() * HOT_KEYS_PERCENT / 100)));
+        Map<String, String> mix = new LinkedHashMap<>();
+        int totalWeight = weightedEndpoints.length;
+        config.mix().forEach((endpoint, weight) -> mix.put(endpoint.name().toLowerCase(Locale.ROOT), 100 * weight / totalWeight + "%"));
+        report.append("- Mix: ").append(mix).append('\n');
+        report.append("- Steps of ").append(config.stepDuration().toSeconds()).append(" s after a ")
+                .append(config.warmup().toSeconds()).append(" s warm-up. Latency is measured from the scheduled send time;")
+                .append(" requests time out after ").append(config.requestTimeout().toSeconds()).append(" s.\n");
+        report.append("- ").append(saturation(steps)).append("\n\n");
+
+        report.append("| Target req/s | Achieved req/s | Dropped | Errors | p50 ms | p99 ms | p99.9 ms | max ms |\n");
+        report.append("|---|---|---|---|---|---|---|---|\n");
+        for (StepResult step : steps) {
+            report.append(String.format(Locale.ROOT, "| %d | %.0f | %d | %d | %s |%n", step.targetRate(), step.achievedRate(),
+                    step.dropped(), step.errors(), percentiles(step.latency())));
+        }
+        for (StepResult step : steps) {
+            report.append("\n## ").append(step.targetRate()).append(" req/s\n\n");
+            report.append("| Endpoint | OK | 503 | Errors | OK/s | p50 ms | p99 ms | p99.9 ms | max ms |\n");
+            report.append("|---|---|---|---|---|---|---|---|---|\n");
+            for (EndpointResult endpoint : step.endpoints()) {
+                report.append(String.format(Locale.ROOT, "| %s | %d | %d | %d | %.1f | %s |%n", endpoint.endpoint().name().toLowerCase(Locale.ROOT),
+                        endpoint.ok(), endpoint.busy(), endpoint.errors(), endpoint.requestsPerSecond(), percentiles(endpoint.latency())));
+            }
+        }
+
+        if (config.report().getParent() != null) {
+            Files.createDirectories(config.report().getParent());
+        }
+        Files.writeString(config.report(), report);
+        log.info("report written to {}", config.report().toAbsolutePath());
+    }
+
+    private String saturation(List<StepResult> steps) {
+        StepResult lastServed = null;
+        for (StepResult step : steps) {
+            boolean served = step.achievedRate() >= 0.95 * step.targetRate() && step.dropped() == 0 && step.errors() == 0
+                    && step.latency().getValueAtPercentile(99) <= config.p99Limit().toNanos();
+            if (!served) {
+                return lastServed == null
+                        ? "Saturated at every step; lower load.rates."
+                        : "Saturation point: " + lastServed.targetRate() + " req/s; " + step.targetRate() + " req/s was not served"
+                        + " (p99 limit " + config.p99Limit().toMillis() + " ms).";
+            }
+            lastServed = step;
+        }
+        return "Not saturated up to " + steps.get(steps.size() - 1).targetRate() + " req/s; raise load.rates.";
+    }
+
+    private static String percentiles(Histogram latency) {
+        if (latency.getTotalCount() == 0) {
+            return "- | - | - | -";
+        }
+        return String.format(Locale.ROOT, "%.1f | %.1f | %.1f | %.1f", millis(latency.getValueAtPercentile(50)),
+                millis(latency.getValueAtPercentile(99)), millis(latency.getValueAtPercentile(99.9)), millis(latency.getMaxValue()));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    // 503, hesap kilidinin zaman aşımıdır: hata değil geri basınç olarak sayılır. İstemci zaman aşımı hatadır.
+    private static final class EndpointStats {
+        final Histogram latency = new ConcurrentHistogram(HIGHEST_LATENCY, 3);
+        final AtomicLong ok = new AtomicLong();
+        final AtomicLong busy = new AtomicLong();
+        final AtomicLong errors = new AtomicLong();
+
+        void record(long nanos, int status) {
+            latency.recordValue(Math.min(nanos, HIGHEST_LATENCY));
+            if (status >= 200 && status < 300) {
+                ok.incrementAndGet();
+            } else if (status == 503) {
+                busy.incrementAndGet();
+            } else {
+                errors.incrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.bank.bankaccountmanagementsystem.controller;
+
+import com.bank.bankaccountmanagementsystem.TestAccounts;
+import com.bank.bankaccountmanagementsystem.model.Account;
+import com.bank.bankaccountmanagementsystem.repository.AccountRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ActiveProfilesResolver;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Uzun sürer: mvn test -Dload-tests=true -Dtest=ApiLoadTest
+// Varsayılan H2 (MySQL modu); -Dload.profile= ile application.properties'teki yerel MySQL kullanılır
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"server.tomcat.max-connections=10000", "server.tomcat.accept-count=1000"})
+@ActiveProfiles(resolver = ApiLoadTest.LoadProfileResolver.class)
+@EnabledIfSystemProperty(named = "load-tests", matches = "true")
+class ApiLoadTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Test
+    void mixedTraffic_shouldReportLatencyPerEndpoint() throws Exception {
+
+        ApiLoadHarness.Config config = ApiLoadHarness.Config.fromSystemProperties();
+        ApiLoadHarness harness = new ApiLoadHarness(config, URI.create("http://localhost:" + port),
+                createAccounts(Integer.getInteger("load.accounts", 1000)));
+
+        List<ApiLoadHarness.StepResult> steps = harness.run();
+
+        assertTrue(Files.exists(config.report()));
+        assertEquals(0, steps.get(0).errors());
+    }
+
+    // Çekimler bakiye sınırına takılmasın diye hesaplar yüksek bakiyeyle açılır
+    private List<UUID> createAccounts(int count) {
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            accounts.add(TestAccounts.account(new BigDecimal("1000000.00"), Account.AccountType.TL));
+        }
+        return accountRepository.saveAll(accounts).stream().map(Account::getId).toList();
+    }
+
+    static class LoadProfileResolver implements ActiveProfilesResolver {
+
+        @Override
+        public String[] resolve(Class<?> testClass) {
+            String profile = System.getProperty("load.profile", "h2");
+            return profile.isBlank() ? new String[0] : new String[]{profile};
+        }
+    }
+}
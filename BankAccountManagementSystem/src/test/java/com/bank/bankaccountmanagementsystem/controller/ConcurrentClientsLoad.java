@@ -0,0 +1,146 @@
+package com.bank.bankaccountmanagementsystem.controller;
+
+import com.bank.bankaccountmanagementsystem.TestAccounts;
+import com.bank.bankaccountmanagementsystem.model.Account;
+import com.bank.bankaccountmanagementsystem.repository.AccountRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drives {@value #CLIENTS} concurrent HTTP clients against the running application: each client sends
+ * {@value #REQUESTS_PER_CLIENT} requests back to back, nine history reads for every deposit. Reports throughput,
+ * peak JVM thread count and peak resident memory. A 503 is the account lock timing out under load and is counted as
+ * back-pressure, not as a failure.
+ */
+abstract class ConcurrentClientsLoad {
+
+    private static final Logger log = LoggerFactory.getLogger(ConcurrentClientsLoad.class);
+
+    static final int CLIENTS = 5_000;
+    static final int REQUESTS_PER_CLIENT = 4;
+    private static final int ACCOUNTS = 500;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    Result run(String mode) throws Exception {
+        List<UUID> accounts = createAccounts();
+        // İstemci tarafı az sayıda thread kullanır; ölçülen thread sayısı sunucuya aittir.
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(2);
+        HttpClient client = HttpClient.newBuilder()
+                .executor(clientExecutor)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+        AtomicLong peakRss = new AtomicLong(residentBytes());
+        AtomicInteger busy = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+
+        Thread sampler = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                peakRss.accumulateAndGet(residentBytes(), Math::max);
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        sampler.setDaemon(true);
+        sampler.start();
+
+        long start = System.nanoTime();
+        List<CompletableFuture<Void>> clients = new ArrayList<>(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+            for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                chain = chain.thenCompose(ignored -> send(client, accounts, busy, failures));
+            }
+            clients.add(chain);
+        }
+        CompletableFuture.allOf(clients.toArray(CompletableFuture[]::new)).join();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        sampler.interrupt();
+        clientExecutor.shutdown();
+
+        Result result = new Result(CLIENTS * REQUESTS_PER_CLIENT / seconds, threads.getPeakThreadCount(),
+                peakRss.get(), busy.get(), failures.get());
+        log.info("{}: {} clients x {} requests, {} req/s, peak {} JVM threads, peak RSS {} MB, {} busy (503), {} failures",
+                mode, CLIENTS, REQUESTS_PER_CLIENT, Math.round(result.requestsPerSecond()), result.peakThreads(),
+                Math.round(result.peakRssBytes() / 1e6), result.busy(), result.failures());
+        return result;
+    }
+
+    private CompletableFuture<Void> send(HttpClient client, List<UUID> accounts, AtomicInteger busy, AtomicInteger failures) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        UUID accountId = accounts.get(random.nextInt(accounts.size()));
+        HttpRequest request = random.nextInt(10) == 0
+                ? HttpRequest.newBuilder(uri("/accounts/" + accountId + "/deposit?amount=1"))
+                        .POST(HttpRequest.BodyPublishers.noBody()).build()
+                : HttpRequest.newBuilder(uri("/accounts/" + accountId + "/transactions?size=20")).GET().build();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> {
+                    if (error == null && response.statusCode() == 503) {
+                        busy.incrementAndGet();
+                    } else if (error != null || response.statusCode() != 200) {
+                        failures.incrementAndGet();
+                    }
+                    return null;
+                });
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private List<UUID> createAccounts() {
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accounts.add(TestAccounts.account(BigDecimal.ZERO, Account.AccountType.TL));
+        }
+        return accountRepository.saveAll(accounts).stream().map(Account::getId).toList();
+    }
+
+    // Linux dışında 0 döner
+    private static long residentBytes() {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc/self/status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", "")) * 1024;
+                }
+            }
+        } catch (Exception ignored) {
+            // ölçüm isteğe bağlı
+        }
+        return 0;
+    }
+
+    record Result(double requestsPerSecond, int peakThreads, long peakRssBytes, int busy, int failures) {
+    }
+}
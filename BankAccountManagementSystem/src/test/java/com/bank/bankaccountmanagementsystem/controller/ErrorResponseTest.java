@@ -0,0 +1,109 @@
+package com.bank.bankaccountmanagementsystem.controller;
+
+import com.bank.bankaccountmanagementsystem.TestAccounts;
+import com.bank.bankaccountmanagementsystem.config.BulkProperties;
+import com.bank.bankaccountmanagementsystem.model.Account;
+import com.bank.bankaccountmanagementsystem.service.AccountService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Para yatırma/çekme hataları artık düz metin değil, diğer uç noktalarla aynı JSON gövdesiyle döner
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class ErrorResponseTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private BulkProperties bulkProperties;
+
+    private UUID accountId;
+
+    @BeforeEach
+    void setUp() {
+        accountId = TestAccounts.create(accountService, BigDecimal.TEN, Account.AccountType.TL);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bulkProperties.setMaxOperations(1000);
+    }
+
+    @Test
+    void depositAndWithdrawErrors_shouldBeJson() throws Exception {
+
+        mockMvc.perform(post("/accounts/" + UUID.randomUUID() + "/deposit").param("amount", "10"))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.message").value("Error: Account not found"));
+        mockMvc.perform(post("/accounts/" + accountId + "/withdraw").param("amount", "11"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.message").value("Error: Balance cannot fall below zero."));
+        mockMvc.perform(post("/accounts/" + accountId + "/deposit").param("amount", "1.005"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Error: Amount cannot have more than 2 decimal places."));
+        mockMvc.perform(post("/accounts/" + accountId + "/withdraw").param("amount", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.message").value("Amount must be greater than zero."));
+    }
+
+    @Test
+    void missingAccount_shouldNotRepeatNotFoundPrefix() throws Exception {
+
+        UUID missing = UUID.randomUUID();
+        mockMvc.perform(get("/accounts/" + missing))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Error: Account not found: " + missing));
+    }
+
+    @Test
+    void oversizedBulkRequest_shouldBeRejected() throws Exception {
+
+        bulkProperties.setMaxOperations(2);
+        String operation = "{\"accountId\": \"" + accountId + "\", \"transactionType\": \"DEPOSIT\", \"amount\": 1}";
+
+        mockMvc.perform(post("/accounts/transactions/bulk").contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + operation + "," + operation + "," + operation + "]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.message").value("At most 2 operations are allowed per request."));
+        mockMvc.perform(get("/accounts/" + accountId))
+                .andExpect(jsonPath("$.balance").value(10));
+
+        mockMvc.perform(post("/accounts/transactions/bulk").contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + operation + "," + operation + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[1].success").value(true));
+    }
+
+    @Test
+    void invalidCursor_shouldBeRejected() throws Exception {
+
+        mockMvc.perform(get("/accounts/" + accountId + "/transactions").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Error: Invalid cursor."));
+    }
+}
@@ -0,0 +1,92 @@
+package com.bank.bankaccountmanagementsystem.controller;
+
+import com.bank.bankaccountmanagementsystem.TestAccounts;
+import com.bank.bankaccountmanagementsystem.model.Account;
+import com.bank.bankaccountmanagementsystem.service.AccountService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("h2")
+class MetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private UUID accountId;
+
+    @BeforeEach
+    void setUp() {
+        accountId = TestAccounts.create(accountService, BigDecimal.valueOf(100), Account.AccountType.TL);
+    }
+
+    @Test
+    void transactions_shouldBeTimedByOperationAndOutcome() throws Exception {
+
+        long depositsBefore = count("bank.account.transaction", "operation", "deposit", "outcome", "success");
+        long limitsBefore = count("bank.account.transaction", "operation", "withdraw", "outcome", "balance_limit");
+        long notFoundBefore = count("bank.account.transaction", "operation", "deposit", "outcome", "not_found");
+        long invalidBefore = count("bank.account.transaction", "operation", "transfer", "outcome", "validation_error");
+        long httpLimitsBefore = count("http.server.requests", "uri", "/accounts/{accountId}/withdraw", "result", "balance_limit");
+        long httpNotFoundBefore = count("http.server.requests", "uri", "/accounts/{accountId}", "result", "not_found");
+
+        mockMvc.perform(post("/accounts/" + accountId + "/deposit").param("amount", "10")).andExpect(status().isOk());
+        mockMvc.perform(post("/accounts/" + accountId + "/withdraw").param("amount", "1000")).andExpect(status().isBadRequest());
+        mockMvc.perform(post("/accounts/" + UUID.randomUUID() + "/deposit").param("amount", "10")).andExpect(status().isNotFound());
+        mockMvc.perform(post("/accounts/" + accountId + "/transfer").param("to", accountId.toString()).param("amount", "10"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/accounts/" + UUID.randomUUID())).andExpect(status().isNotFound());
+
+        assertEquals(depositsBefore + 1, count("bank.account.transaction", "operation", "deposit", "outcome", "success"));
+        assertEquals(limitsBefore + 1, count("bank.account.transaction", "operation", "withdraw", "outcome", "balance_limit"));
+        assertEquals(notFoundBefore + 1, count("bank.account.transaction", "operation", "deposit", "outcome", "not_found"));
+        assertEquals(invalidBefore + 1, count("bank.account.transaction", "operation", "transfer", "outcome", "validation_error"));
+        assertEquals(httpLimitsBefore + 1, count("http.server.requests", "uri", "/accounts/{accountId}/withdraw", "result", "balance_limit"));
+        assertEquals(httpNotFoundBefore + 1, count("http.server.requests", "uri", "/accounts/{accountId}", "result", "not_found"));
+        assertTrue(count("spring.data.repository.invocations", "repository", "AccountRepository", "method", "applyBalanceDelta") > 0);
+        assertTrue(count("hikaricp.connections.acquire") > 0);
+    }
+
+    @Test
+    void prometheusEndpoint_shouldExposeHistograms() throws Exception {
+
+        mockMvc.perform(post("/accounts/" + accountId + "/deposit").param("amount", "10")).andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(scrape.contains("bank_account_transaction_seconds_bucket{"));
+        assertTrue(scrape.contains("http_server_requests_seconds_bucket{"));
+        assertTrue(scrape.contains("spring_data_repository_invocations_seconds_count{"));
+        assertTrue(scrape.contains("hikaricp_connections_acquire_seconds_count{"));
+    }
+
+    private long count(String name, String... tags) {
+        return meterRegistry.find(name).tags(tags).timers().stream().mapToLong(Timer::count).sum();
+    }
+}
@@ -0,0 +1,25 @@
+package com.bank.bankaccountmanagementsystem.controller;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Uzun sürer: mvn test -Dload-tests=true -Dtest=PlatformThreadLoadTest
+// Sanal thread modu ile aynı Tomcat bağlantı sınırları; yalnızca thread modeli farklı
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"server.tomcat.max-connections=10000", "server.tomcat.accept-count=1000"})
+@ActiveProfiles("h2")
+@EnabledIfSystemProperty(named = "load-tests", matches = "true")
+class PlatformThreadLoadTest extends ConcurrentClientsLoad {
+
+    @Test
+    void platformThreads_shouldServeAllClients() throws Exception {
+
+        Result result = run("platform threads");
+
+        assertEquals(0, result.failures());
+    }
+}
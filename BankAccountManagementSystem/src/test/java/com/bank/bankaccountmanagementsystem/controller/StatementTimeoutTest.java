@@ -0,0 +1,28 @@
+package com.bank.bankaccountmanagementsystem.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StatementTimeoutTest {
+
+    @Test
+    void beforeConcurrentHandling_shouldOverrideTheDefaultTimeoutOfThisRequestOnly() throws Exception {
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAsyncSupported(true);
+        StandardServletAsyncWebRequest asyncWebRequest = new StandardServletAsyncWebRequest(request, new MockHttpServletResponse());
+        // RequestMappingHandlerAdapter'ın uyguladığı genel varsayılan
+        asyncWebRequest.setTimeout(30_000L);
+
+        new StatementTimeout(Duration.ofMinutes(30)).beforeConcurrentHandling(asyncWebRequest, () -> null);
+        asyncWebRequest.startAsync();
+
+        assertEquals(Duration.ofMinutes(30).toMillis(), request.getAsyncContext().getTimeout());
+    }
+}
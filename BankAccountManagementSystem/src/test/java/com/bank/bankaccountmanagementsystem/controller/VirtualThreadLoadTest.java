@@ -0,0 +1,29 @@
+package com.bank.bankaccountmanagementsystem.controller;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Java 21 gerektirir: mvn -Pvirtual-threads test -Dload-tests=true -Dtest=*ThreadLoadTest
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"h2", "virtual-threads"})
+@EnabledForJreRange(min = JRE.JAVA_21)
+@EnabledIfSystemProperty(named = "load-tests", matches = "true")
+class VirtualThreadLoadTest extends ConcurrentClientsLoad {
+
+    @Test
+    void virtualThreads_shouldServeAllClientsWithoutThreadPerRequest() throws Exception {
+
+        Result result = run("virtual threads");
+
+        assertEquals(0, result.failures());
+        // Tomcat'in 200 platform thread'lik havuzu hiç oluşmaz
+        assertTrue(result.peakThreads() < 200, "peak threads " + result.peakThreads());
+    }
+}
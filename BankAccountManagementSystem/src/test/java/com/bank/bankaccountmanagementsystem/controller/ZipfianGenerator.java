@@ -0,0 +1,37 @@
+package com.bank.bankaccountmanagementsystem.controller;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Draws indexes in {@code [0, size)}; index {@code k} is drawn with probability proportional to
+ * {@code 1 / (k + 1)^exponent}. Exponent 0 is uniform; around 1 a few hot keys take most of the traffic.
+ */
+final class ZipfianGenerator {
+
+    private final double[] cumulative;
+
+    ZipfianGenerator(int size, double exponent) {
+        cumulative = new double[size];
+        double total = 0;
+        for (int k = 0; k < size; k++) {
+            total += 1 / Math.pow(k + 1, exponent);
+            cumulative[k] = total;
+        }
+        for (int k = 0; k < size; k++) {
+            cumulative[k] /= total;
+        }
+    }
+
+    int next(Random random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+    }
+
+    /**
+     * Share of draws that fall on the {@code hottest} most popular indexes.
+     */
+    double share(int hottest) {
+        return hottest <= 0 ? 0 : cumulative[Math.min(hottest, cumulative.length) - 1];
+    }
+}
@@ -0,0 +1,58 @@
+package com.bank.bankaccountmanagementsystem.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void of_shouldConvertExactlyAndRejectFractionsOfACent() {
+
+        assertEquals(123456, Money.of(new BigDecimal("1234.56")).minorUnits());
+        assertEquals(100, Money.of(new BigDecimal("1.0")).minorUnits());
+        assertEquals(-5, Money.of(new BigDecimal("-0.05")).minorUnits());
+        assertEquals(Money.of(new BigDecimal("10")), Money.of(new BigDecimal("10.000")));
+        assertEquals(0, new BigDecimal("1234.56").compareTo(Money.ofMinor(123456).toBigDecimal()));
+        assertEquals("1234.56", Money.ofMinor(123456).toString());
+
+        assertThrows(IllegalArgumentException.class, () -> Money.of(new BigDecimal("10.005")));
+        assertThrows(IllegalArgumentException.class, () -> Money.of(new BigDecimal("1E+17")));
+        // Yuvarlama yalnızca açıkça istendiğinde yapılır
+        assertEquals(1000, Money.of(new BigDecimal("10.005"), RoundingMode.HALF_EVEN).minorUnits());
+        assertEquals(1002, Money.of(new BigDecimal("10.015"), RoundingMode.HALF_EVEN).minorUnits());
+        assertEquals(1001, Money.of(new BigDecimal("10.005"), RoundingMode.HALF_UP).minorUnits());
+    }
+
+    @Test
+    void arithmetic_shouldBeExactAndFailOnOverflow() {
+
+        Money a = Money.of(new BigDecimal("0.10"));
+        Money b = Money.of(new BigDecimal("0.20"));
+
+        assertEquals(Money.of(new BigDecimal("0.30")), a.plus(b));
+        assertEquals(Money.of(new BigDecimal("-0.10")), a.minus(b));
+        assertEquals(-1, a.minus(b).signum());
+        assertTrue(a.compareTo(b) < 0);
+        assertSame(Money.ZERO, a.minus(a));
+
+        assertThrows(ArithmeticException.class, () -> Money.ofMinor(Long.MAX_VALUE).plus(Money.ofMinor(1)));
+        assertThrows(ArithmeticException.class, () -> Money.ofMinor(Long.MIN_VALUE).minus(Money.ofMinor(1)));
+        assertThrows(ArithmeticException.class, () -> Money.ofMinor(Long.MIN_VALUE).negate());
+    }
+
+    @Test
+    void converter_shouldRoundTripThroughTheColumnType() {
+
+        MoneyConverter converter = new MoneyConverter();
+        Money balance = Money.of(new BigDecimal("9999999.99"));
+
+        assertEquals(new BigDecimal("9999999.99"), converter.convertToDatabaseColumn(balance));
+        assertEquals(balance, converter.convertToEntityAttribute(new BigDecimal("9999999.99")));
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertNull(converter.convertToEntityAttribute(null));
+    }
+}
@@ -0,0 +1,103 @@
+package com.bank.bankaccountmanagementsystem.model;
+
+import com.bank.bankaccountmanagementsystem.TestAccounts;
+import com.bank.bankaccountmanagementsystem.repository.AccountRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class UuidV7GeneratorTest {
+
+    private static final int ROWS = 300_000;
+    private static final int BATCH = 5_000;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Test
+    void next_shouldProduceIncreasingVersion7Keys() {
+
+        long before = System.currentTimeMillis();
+        byte[][] keys = new byte[100_000][];
+        for (int i = 0; i < keys.length; i++) {
+            UUID id = UuidV7Generator.next();
+            assertEquals(7, id.version());
+            assertEquals(2, id.variant());
+            keys[i] = bytes(id);
+        }
+
+        // binary(16) sıralaması (işaretsiz bayt karşılaştırması) üretim sırasıyla aynı olmalı
+        for (int i = 1; i < keys.length; i++) {
+            assertTrue(Arrays.compareUnsigned(keys[i - 1], keys[i]) < 0, "key " + i + " is not increasing");
+        }
+        long timestamp = ByteBuffer.wrap(keys[0]).getLong() >>> 16;
+        assertTrue(timestamp >= before && timestamp <= System.currentTimeMillis() + 1);
+    }
+
+    @Test
+    void entities_shouldGetVersion7Keys() {
+
+        Account account = TestAccounts.account(BigDecimal.ZERO, Account.AccountType.TL);
+
+        assertEquals(7, accountRepository.save(account).getId().version());
+    }
+
+    // Hız karşılaştırması yüke duyarlıdır: mvn test -Dload-tests=true -Dtest=UuidV7GeneratorTest
+    @Test
+    @EnabledIfSystemProperty(named = "load-tests", matches = "true")
+    void orderedKeys_shouldInsertFaster(@TempDir Path directory) throws SQLException {
+
+        // Dosya tabanlı ayrı bir H2 veritabanı: sayfa bölünmeleri diske yazılır, uygulamanın veritabanı etkilenmez.
+        double randomRowsPerSecond = insert(directory.resolve("random"), UUID::randomUUID);
+        double orderedRowsPerSecond = insert(directory.resolve("v7"), UuidV7Generator::next);
+
+        // H2'nin yaz-kopyala deposunda dosya boyutu çalıştırmadan çalıştırmaya oynar; yalnızca hız karşılaştırılır.
+        assertTrue(orderedRowsPerSecond > randomRowsPerSecond);
+    }
+
+    private double insert(Path database, Supplier<UUID> keys) throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:file:" + database + ";MODE=MySQL", "sa", "")) {
+            connection.createStatement().execute(
+                    "CREATE TABLE account_transactions (id binary(16) PRIMARY KEY, account_id binary(16) NOT NULL, amount decimal(15,2) NOT NULL)");
+            connection.setAutoCommit(false);
+            byte[] accountId = bytes(UUID.randomUUID());
+            long start = System.nanoTime();
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO account_transactions (id, account_id, amount) VALUES (?, ?, ?)")) {
+                for (int i = 1; i <= ROWS; i++) {
+                    insert.setBytes(1, bytes(keys.get()));
+                    insert.setBytes(2, accountId);
+                    insert.setBigDecimal(3, BigDecimal.ONE);
+                    insert.addBatch();
+                    if (i % BATCH == 0) {
+                        insert.executeBatch();
+                        connection.commit();
+                    }
+                }
+            }
+            return ROWS / ((System.nanoTime() - start) / 1e9);
+        }
+    }
+
+    private static byte[] bytes(UUID id) {
+        return ByteBuffer.allocate(16).putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits()).array();
+    }
+}
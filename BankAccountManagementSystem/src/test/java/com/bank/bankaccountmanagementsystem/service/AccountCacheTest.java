@@ -0,0 +1,208 @@
+package com.bank.bankaccountmanagementsystem.service;
+
+import com.bank.bankaccountmanagementsystem.TestAccounts;
+import com.bank.bankaccountmanagementsystem.config.AccountCacheProperties;
+import com.bank.bankaccountmanagementsystem.config.ReplicaProperties;
+import com.bank.bankaccountmanagementsystem.dto.AccountDTO;
+import com.bank.bankaccountmanagementsystem.dto.AccountTransactionRequestDTO;
+import com.bank.bankaccountmanagementsystem.model.Account;
+import com.bank.bankaccountmanagementsystem.model.AccountTransaction.TransactionType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class AccountCacheTest {
+
+    private static final int READS = 5_000;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountTransactionService accountTransactionService;
+
+    @Autowired
+    private AccountCache accountCache;
+
+    @Autowired
+    private AccountCacheProperties accountCacheProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private UUID accountId;
+
+    @BeforeEach
+    void setUp() {
+        accountId = TestAccounts.create(accountService, BigDecimal.valueOf(100), Account.AccountType.TL);
+    }
+
+    @AfterEach
+    void tearDown() {
+        accountCacheProperties.setEnabled(true);
+    }
+
+    @Test
+    void writes_shouldNeverLeaveStaleBalanceInCache() {
+
+        assertBalance(100);
+
+        accountTransactionService.deposit(accountId, BigDecimal.valueOf(50));
+        assertBalance(150);
+
+        accountTransactionService.withdraw(accountId, BigDecimal.valueOf(30));
+        assertBalance(120);
+
+        accountTransactionService.processBulk(List.of(new AccountTransactionRequestDTO(accountId, TransactionType.DEPOSIT, BigDecimal.TEN)));
+        assertBalance(130);
+
+        AccountDTO update = accountService.getAccountDTOById(accountId);
+        AccountDTO changed = new AccountDTO(null, update.getAccountOwnerIdentityNo(), "Renamed",
+                update.getAccountOwnerLastName(), update.getAccountType(), BigDecimal.valueOf(500));
+        accountService.updateAccount(accountId, changed);
+        assertEquals("Renamed", accountService.getAccountDTOById(accountId).getAccountOwnerFirstName());
+        assertBalance(500);
+
+        accountService.deleteAccount(accountId);
+        assertThrows(IllegalArgumentException.class, () -> accountService.getAccountDTOById(accountId));
+    }
+
+    @Test
+    void evict_shouldNotWaitForLoadInFlight() throws Exception {
+
+        AccountDTO stale = accountService.getAccountDTOById(accountId);
+        accountCache.evict(accountId);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<AccountDTO> slowRead = CompletableFuture.supplyAsync(() -> accountCache.get(accountId, id -> {
+            loading.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return stale;
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        // Yükleme sürerken bağlantı tutan bir yazar evict eder; beklememelidir
+        CompletableFuture.runAsync(() -> accountCache.evict(accountId)).get(5, TimeUnit.SECONDS);
+        release.countDown();
+
+        assertSame(stale, slowRead.get(5, TimeUnit.SECONDS));
+        assertNotSame(stale, accountCache.get(accountId, id -> new AccountDTO()));
+    }
+
+    @Test
+    void failedLoad_shouldNotBlockLaterReads() throws Exception {
+
+        AccountDTO account = accountService.getAccountDTOById(accountId);
+        accountCache.evict(accountId);
+        assertThrows(StackOverflowError.class, () -> accountCache.get(accountId, id -> {
+            throw new StackOverflowError();
+        }));
+
+        // Yükleyici Error fırlatsa da bekleyen future tamamlanmış olmalı; sonraki okuyucu asılı kalmaz
+        assertSame(account, CompletableFuture.supplyAsync(() -> accountCache.get(accountId, id -> account)).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void evict_shouldPinReadsToThePrimaryBeforeDroppingTheEntry() {
+
+        ReplicaProperties replicaProperties = new ReplicaProperties();
+        replicaProperties.setUrl("jdbc:h2:mem:replica");
+        ReadYourWritesGuard guard = new ReadYourWritesGuard(replicaProperties);
+        AccountCache cache = new AccountCache(new AccountCacheProperties(), guard, new SimpleMeterRegistry());
+        AccountDTO cached = new AccountDTO();
+        cache.get(accountId, id -> cached);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.evict(accountId);
+            List<TransactionSynchronization> afterCommit = TransactionSynchronizationManager.getSynchronizations();
+            assertEquals(2, afterCommit.size());
+
+            // Commit sonrası ilk geri çağrı: hesap birincile sabitlenmiş, giriş henüz silinmemiş
+            afterCommit.get(0).afterCommit();
+            assertTrue(guard.read(accountId, guard::isPrimaryPinned));
+            assertSame(cached, cache.get(accountId, id -> new AccountDTO()));
+
+            afterCommit.get(1).afterCommit();
+            assertNotSame(cached, cache.get(accountId, id -> new AccountDTO()));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void repeatedReads_shouldBeServedFromTheCache() {
+
+        accountCacheProperties.setEnabled(false);
+        double hitsBefore = hits();
+        for (int i = 0; i < READS; i++) {
+            accountService.getAccountDTOById(accountId);
+        }
+        assertEquals(hitsBefore, hits());
+
+        accountCacheProperties.setEnabled(true);
+        for (int i = 0; i < READS; i++) {
+            accountService.getAccountDTOById(accountId);
+        }
+        assertTrue(hits() - hitsBefore >= READS - 1);
+    }
+
+    // Süre karşılaştırması yüke duyarlıdır: mvn test -Dload-tests=true -Dtest=AccountCacheTest
+    @Test
+    @EnabledIfSystemProperty(named = "load-tests", matches = "true")
+    void cachedReads_shouldHaveLowerP99() {
+
+        accountCacheProperties.setEnabled(false);
+        double p99Off = p99Micros();
+        accountCacheProperties.setEnabled(true);
+        double p99On = p99Micros();
+
+        assertTrue(p99On < p99Off, "p99 with cache " + p99On + " us, without " + p99Off + " us");
+    }
+
+    private double hits() {
+        return meterRegistry.get("cache.gets").tag("cache", "accounts").tag("result", "hit").functionCounter().count();
+    }
+
+    private double p99Micros() {
+        for (int i = 0; i < 500; i++) {
+            accountService.getAccountDTOById(accountId);
+        }
+        long[] latencies = new long[READS];
+        for (int i = 0; i < READS; i++) {
+            long start = System.nanoTime();
+            accountService.getAccountDTOById(accountId);
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        return latencies[(int) (READS * 0.99)] / 1_000.0;
+    }
+
+    private void assertBalance(long expected) {
+        assertEquals(0, BigDecimal.valueOf(expected).compareTo(accountService.getAccountDTOById(accountId).getBalance()));
+    }
+}
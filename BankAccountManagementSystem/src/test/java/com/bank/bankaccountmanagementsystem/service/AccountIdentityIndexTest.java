@@ -0,0 +1,74 @@
+package com.bank.bankaccountmanagementsystem.service;
+
+import com.bank.bankaccountmanagementsystem.TestAccounts;
+import com.bank.bankaccountmanagementsystem.dto.AccountDTO;
+import com.bank.bankaccountmanagementsystem.mapper.AccountMapper;
+import com.bank.bankaccountmanagementsystem.model.Account;
+import com.bank.bankaccountmanagementsystem.repository.AccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class AccountIdentityIndexTest {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountIdentityIndex accountIdentityIndex;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountMapper accountMapper;
+
+    private AccountDTO accountDTO;
+
+    @BeforeEach
+    void setUp() {
+        accountIdentityIndex.warmUp();
+        accountDTO = TestAccounts.accountDTO(BigDecimal.TEN, Account.AccountType.USD);
+    }
+
+    @Test
+    void warmUp_shouldLoadExistingKeys() {
+
+        Account existing = accountRepository.save(accountMapper.toAccountEntity(accountDTO));
+        assertFalse(accountIdentityIndex.mightContain(existing.getAccountOwnerIdentityNo(), Account.AccountType.TL));
+
+        accountIdentityIndex.warmUp();
+
+        assertTrue(accountIdentityIndex.mightContain(existing.getAccountOwnerIdentityNo(), Account.AccountType.USD));
+    }
+
+    @Test
+    void createAccount_shouldRejectDuplicateTheIndexDoesNotKnowAbout() {
+
+        // Başka bir örnek tarafından eklenmiş gibi: indeks bu anahtarı görmedi.
+        accountRepository.save(accountMapper.toAccountEntity(accountDTO));
+        assertFalse(accountIdentityIndex.mightContain(accountDTO.getAccountOwnerIdentityNo(), accountDTO.getAccountType()));
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> accountService.createAccount(accountDTO));
+
+        assertEquals("An account already exists with this identity number and account type.", exception.getMessage());
+    }
+
+    @Test
+    void createAccount_shouldRejectDuplicateOfKnownKeyByLookup() {
+
+        accountService.createAccount(accountDTO);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> accountService.createAccount(accountDTO));
+
+        assertEquals("An account already exists with this identity number and account type.", exception.getMessage());
+    }
+}
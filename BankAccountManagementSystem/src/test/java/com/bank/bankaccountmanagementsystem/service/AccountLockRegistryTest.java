@@ -0,0 +1,108 @@
+package com.bank.bankaccountmanagementsystem.service;
+
+import com.bank.bankaccountmanagementsystem.config.AccountLockProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountLockRegistryTest {
+
+    private AccountLockProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AccountLockProperties();
+        properties.setTimeout(Duration.ofMillis(50));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void stripes_shouldRoundUpToPowerOfTwo() {
+
+        properties.setStripes(100);
+
+        assertEquals(128, new AccountLockRegistry(properties, meterRegistry).stripeCount());
+    }
+
+    @Test
+    void withLock_shouldTimeOutWhileSameAccountIsHeld() throws Exception {
+
+        AccountLockRegistry registry = new AccountLockRegistry(properties, meterRegistry);
+        UUID accountId = UUID.randomUUID();
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        Future<?> holder = executor.submit(() -> registry.withLock(accountId, () -> {
+            held.countDown();
+            await(release);
+            return null;
+        }));
+        held.await();
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> registry.withLock(accountId, () -> "never"));
+        release.countDown();
+        holder.get();
+        executor.shutdown();
+
+        assertEquals("Account is busy, please try again.", exception.getMessage());
+        assertEquals(1.0, meterRegistry.counter("bank.account.lock.timeouts").count());
+        String stripe = Integer.toString(registry.stripeOf(accountId));
+        assertEquals(1.0, meterRegistry.get("bank.account.lock.contended").tag("stripe", stripe).counter().count());
+    }
+
+    @Test
+    void withLock_shouldNotBlockAccountsOnOtherStripes() throws Exception {
+
+        AccountLockRegistry registry = new AccountLockRegistry(properties, meterRegistry);
+        UUID held = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        while (registry.stripeOf(other) == registry.stripeOf(held)) {
+            other = UUID.randomUUID();
+        }
+        UUID otherAccount = other;
+
+        String result = registry.withLock(held, () -> {
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                return executor.submit(() -> registry.withLock(otherAccount, () -> "parallel")).get(1, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                throw new AssertionError(e);
+            } finally {
+                executor.shutdown();
+            }
+        });
+
+        assertEquals("parallel", result);
+    }
+
+    @Test
+    void withLock_shouldRunDirectlyWhenDisabled() {
+
+        properties.setEnabled(false);
+        AccountLockRegistry registry = new AccountLockRegistry(properties, meterRegistry);
+
+        assertEquals("ok", registry.withLock(UUID.randomUUID(), () -> "ok"));
+        assertEquals(0L, meterRegistry.get("bank.account.lock.wait").timers().stream().mapToLong(t -> t.count()).sum());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,23 +1,33 @@
 package com.bank.bankaccountmanagementsystem.service;
 
+import com.bank.bankaccountmanagementsystem.config.AccountCacheProperties;
+import com.bank.bankaccountmanagementsystem.config.AccountWriteProperties;
+import com.bank.bankaccountmanagementsystem.config.IdentityIndexProperties;
+import com.bank.bankaccountmanagementsystem.config.ReplicaProperties;
 import com.bank.bankaccountmanagementsystem.dto.AccountDTO;
 import com.bank.bankaccountmanagementsystem.mapper.AccountMapper;
 import com.bank.bankaccountmanagementsystem.model.Account;
+import com.bank.bankaccountmanagementsystem.model.Money;
 import com.bank.bankaccountmanagementsystem.repository.AccountRepository;
 import com.bank.bankaccountmanagementsystem.repository.AccountTransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.when;
 
 class AccountServiceTest {
@@ -32,6 +42,23 @@ class AccountServiceTest {
     private AccountService accountService;
     @Mock
     private AccountTransactionRepository accountTransactionRepository;
+    @Spy
+    private OptimisticLockRetrier optimisticLockRetrier = new OptimisticLockRetrier(
+            new AccountWriteProperties(), new SimpleMeterRegistry(), Mockito.mock(PlatformTransactionManager.class));
+    @Spy
+    private AccountIdentityIndex accountIdentityIndex = new AccountIdentityIndex(
+            new IdentityIndexProperties(), Mockito.mock(AccountRepository.class), Mockito.mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+    @Spy
+    private ReadYourWritesGuard readYourWritesGuard = new ReadYourWritesGuard(new ReplicaProperties());
+    @Spy
+    private AccountCache accountCache = new AccountCache(new AccountCacheProperties(), readYourWritesGuard, new SimpleMeterRegistry());
+    @Mock
+    private DailyBalanceService dailyBalanceService;
+    @Mock
+    private EventLedger eventLedger;
+
+    @Mock
+    private BalanceEngine balanceEngine;
 
     private AccountDTO accountDTO;
     private Account account;
@@ -51,7 +78,7 @@ class AccountServiceTest {
         account.setAccountOwnerIdentityNo(accountDTO.getAccountOwnerIdentityNo());
         account.setAccountOwnerFirstName(accountDTO.getAccountOwnerFirstName());
         account.setAccountOwnerLastName(accountDTO.getAccountOwnerLastName());
-        account.setBalance(accountDTO.getBalance());
+        account.setBalance(Money.of(accountDTO.getBalance()));
         account.setAccountType(accountDTO.getAccountType());
     }
 
@@ -140,10 +167,13 @@ class AccountServiceTest {
 
         when(accountRepository.existsById(accountId)).thenReturn(true);
 
-        doNothing().when(accountTransactionRepository).deleteByAccountId(accountId);
+        when(accountTransactionRepository.deleteByAccountId(accountId)).thenReturn(2);
 
         accountService.deleteAccount(accountId);
 
+        Mockito.verify(accountTransactionRepository).deleteByAccountId(accountId);
+        Mockito.verify(accountTransactionRepository).deleteArchivedByAccountId(accountId);
+
     }
 
     @Test
@@ -157,4 +187,50 @@ class AccountServiceTest {
         });
         assertEquals("Account not found: " + accountId, exception.getMessage());
     }
+
+    @Test
+    void getAccountDTOById_shouldServeRepeatedReadsFromCacheUntilUpdated() {
+
+        UUID accountId = account.getId();
+        when(accountRepository.findById(accountId)).thenReturn(Optional.of(account));
+        when(accountRepository.save(account)).thenReturn(account);
+        when(accountMapper.toAccountDTO(account)).thenReturn(accountDTO);
+
+        accountService.getAccountDTOById(accountId);
+        accountService.getAccountDTOById(accountId);
+        Mockito.verify(accountRepository, Mockito.times(1)).findById(accountId);
+
+        accountService.updateAccount(accountId, accountDTO);
+        accountService.getAccountDTOById(accountId);
+        Mockito.verify(accountRepository, Mockito.times(3)).findById(accountId);
+    }
+
+    @Test
+    void createAccount_shouldSkipLookupWhenIndexProvesKeyIsNew() {
+
+        accountIdentityIndex.warmUp();
+        when(accountMapper.toAccountEntity(accountDTO)).thenReturn(account);
+        when(accountRepository.save(account)).thenReturn(account);
+        when(accountMapper.toAccountDTO(account)).thenReturn(accountDTO);
+
+        assertNotNull(accountService.createAccount(accountDTO));
+
+        Mockito.verify(accountRepository, Mockito.never()).findByAccountOwnerIdentityNoAndAccountType(Mockito.any(), Mockito.any());
+        assertTrue(accountIdentityIndex.mightContain(accountDTO.getAccountOwnerIdentityNo(), accountDTO.getAccountType()));
+    }
+
+    @Test
+    void createAccount_shouldTranslateUniqueConstraintViolation() {
+
+        accountIdentityIndex.warmUp();
+        when(accountMapper.toAccountEntity(accountDTO)).thenReturn(account);
+        when(accountRepository.save(account)).thenThrow(new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate", new SQLException("Duplicate entry"),
+                        ConstraintViolationException.ConstraintKind.UNIQUE, "unique_account_identity_type")));
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
+            accountService.createAccount(accountDTO);
+        });
+        assertEquals("An account already exists with this identity number and account type.", exception.getMessage());
+    }
 }
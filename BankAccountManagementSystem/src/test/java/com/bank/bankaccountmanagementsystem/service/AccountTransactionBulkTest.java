@@ -0,0 +1,164 @@
+package com.bank.bankaccountmanagementsystem.service;
+
+import com.bank.bankaccountmanagementsystem.TestAccounts;
+import com.bank.bankaccountmanagementsystem.dto.AccountDTO;
+import com.bank.bankaccountmanagementsystem.dto.AccountTransactionRequestDTO;
+import com.bank.bankaccountmanagementsystem.dto.BulkTransactionResultDTO;
+import com.bank.bankaccountmanagementsystem.model.Account;
+import com.bank.bankaccountmanagementsystem.model.AccountTransaction.TransactionType;
+import com.bank.bankaccountmanagementsystem.repository.AccountDailyBalanceRepository;
+import com.bank.bankaccountmanagementsystem.repository.AccountRepository;
+import com.bank.bankaccountmanagementsystem.repository.AccountTransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class AccountTransactionBulkTest {
+
+    private static final int ACCOUNTS = 10;
+    private static final int OPERATIONS = 2_000;
+
+    @Autowired
+    private AccountTransactionService accountTransactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountTransactionRepository accountTransactionRepository;
+
+    @Autowired
+    private AccountDailyBalanceRepository accountDailyBalanceRepository;
+
+    @Autowired
+    private AccountService accountService;
+
+
+    @Test
+    void processBulk_shouldApplyValidItemsAndReportRejectedOnes() {
+
+        UUID first = createAccount(BigDecimal.valueOf(100));
+        UUID second = createAccount(BigDecimal.ZERO);
+        long transactionsBefore = accountTransactionRepository.count();
+
+        List<BulkTransactionResultDTO> results = accountTransactionService.processBulk(List.of(
+                new AccountTransactionRequestDTO(first, TransactionType.WITHDRAWAL, BigDecimal.valueOf(80)),
+                new AccountTransactionRequestDTO(first, TransactionType.WITHDRAWAL, BigDecimal.valueOf(30)),
+                new AccountTransactionRequestDTO(second, TransactionType.DEPOSIT, BigDecimal.valueOf(50)),
+                new AccountTransactionRequestDTO(first, TransactionType.DEPOSIT, BigDecimal.valueOf(5)),
+                new AccountTransactionRequestDTO(UUID.randomUUID(), TransactionType.DEPOSIT, BigDecimal.ONE),
+                new AccountTransactionRequestDTO(second, TransactionType.DEPOSIT, BigDecimal.ZERO)
+        ));
+
+        assertEquals(6, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertEquals("Balance cannot fall below zero.", results.get(1).getMessage());
+        assertTrue(results.get(2).isSuccess());
+        assertTrue(results.get(3).isSuccess());
+        assertEquals("Account not found", results.get(4).getMessage());
+        assertEquals("Amount must be greater than zero.", results.get(5).getMessage());
+
+        assertEquals(0, BigDecimal.valueOf(25).compareTo(balanceOf(first)));
+        assertEquals(0, BigDecimal.valueOf(50).compareTo(balanceOf(second)));
+        assertEquals(3, accountTransactionRepository.count() - transactionsBefore);
+    }
+
+    @Test
+    void processBulk_shouldRecordAccountsWhoseOperationsNetToZero() {
+
+        UUID accountId = createAccount(BigDecimal.valueOf(100));
+        AccountDTO cached = accountService.getAccountDTOById(accountId);
+
+        List<BulkTransactionResultDTO> results = accountTransactionService.processBulk(List.of(
+                new AccountTransactionRequestDTO(accountId, TransactionType.DEPOSIT, BigDecimal.valueOf(5)),
+                new AccountTransactionRequestDTO(accountId, TransactionType.WITHDRAWAL, BigDecimal.valueOf(5))
+        ));
+
+        assertTrue(results.stream().allMatch(BulkTransactionResultDTO::isSuccess));
+        assertEquals(0, BigDecimal.valueOf(100).compareTo(balanceOf(accountId)));
+        assertEquals(2, accountTransactionRepository.findTransactionsByAccountId(accountId).size());
+        // Bakiye değişmese de işlem satırları yazıldı: günlük bakiye kaydedilmeli, önbellek boşaltılmalı
+        assertTrue(accountDailyBalanceRepository.findTopByAccountIdOrderByBalanceDateAsc(accountId).isPresent());
+        assertNotSame(cached, accountService.getAccountDTOById(accountId));
+    }
+
+    @Test
+    void processBulk_shouldApplyEveryOperationOfALargeRequest() {
+
+        List<UUID> accounts = createAccounts();
+        List<BulkTransactionResultDTO> results = accountTransactionService.processBulk(deposits(accounts));
+
+        assertTrue(results.stream().allMatch(BulkTransactionResultDTO::isSuccess));
+        BigDecimal expected = BigDecimal.valueOf(OPERATIONS / ACCOUNTS);
+        for (UUID account : accounts) {
+            assertEquals(0, expected.compareTo(balanceOf(account)));
+        }
+    }
+
+    // Süre karşılaştırması yüke duyarlıdır: mvn test -Dload-tests=true -Dtest=AccountTransactionBulkTest
+    @Test
+    @EnabledIfSystemProperty(named = "load-tests", matches = "true")
+    void processBulk_shouldOutperformSingleOperations() {
+
+        List<UUID> accounts = createAccounts();
+        List<AccountTransactionRequestDTO> operations = deposits(accounts);
+        // Isınma
+        accountTransactionService.processBulk(operations.subList(0, 100));
+        for (int i = 0; i < 100; i++) {
+            accountTransactionService.deposit(accounts.get(i % ACCOUNTS), BigDecimal.ONE);
+        }
+
+        long start = System.nanoTime();
+        for (AccountTransactionRequestDTO operation : operations) {
+            accountTransactionService.deposit(operation.getAccountId(), operation.getAmount());
+        }
+        long singleNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        List<BulkTransactionResultDTO> results = accountTransactionService.processBulk(operations);
+        long bulkNanos = System.nanoTime() - start;
+
+        assertTrue(results.stream().allMatch(BulkTransactionResultDTO::isSuccess));
+        assertTrue(bulkNanos < singleNanos, "bulk " + bulkNanos / 1_000_000 + " ms, single " + singleNanos / 1_000_000 + " ms");
+        BigDecimal expected = BigDecimal.valueOf(2L * OPERATIONS / ACCOUNTS + 20);
+        for (UUID account : accounts) {
+            assertEquals(0, expected.compareTo(balanceOf(account)));
+        }
+    }
+
+    private List<UUID> createAccounts() {
+        List<UUID> accounts = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accounts.add(createAccount(BigDecimal.ZERO));
+        }
+        return accounts;
+    }
+
+    private static List<AccountTransactionRequestDTO> deposits(List<UUID> accounts) {
+        List<AccountTransactionRequestDTO> operations = new ArrayList<>();
+        for (int i = 0; i < OPERATIONS; i++) {
+            operations.add(new AccountTransactionRequestDTO(accounts.get(i % ACCOUNTS), TransactionType.DEPOSIT, BigDecimal.ONE));
+        }
+        return operations;
+    }
+
+    private UUID createAccount(BigDecimal balance) {
+        return TestAccounts.create(accountRepository, balance, Account.AccountType.TL);
+    }
+
+    private BigDecimal balanceOf(UUID accountId) {
+        return accountRepository.findById(accountId).orElseThrow().getBalance().toBigDecimal();
+    }
+}
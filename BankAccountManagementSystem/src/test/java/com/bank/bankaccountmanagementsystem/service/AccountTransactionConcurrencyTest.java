@@ -0,0 +1,132 @@
+package com.bank.bankaccountmanagementsystem.service;
+
+import com.bank.bankaccountmanagementsystem.TestAccounts;
+import com.bank.bankaccountmanagementsystem.config.AccountWriteProperties;
+import com.bank.bankaccountmanagementsystem.model.Account;
+import com.bank.bankaccountmanagementsystem.repository.AccountRepository;
+import com.bank.bankaccountmanagementsystem.repository.AccountTransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class AccountTransactionConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int OPERATIONS_PER_THREAD = 100;
+
+    @Autowired
+    private AccountTransactionService accountTransactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountTransactionRepository accountTransactionRepository;
+
+    @Autowired
+    private AccountWriteProperties accountWriteProperties;
+
+    private UUID accountId;
+
+    @BeforeEach
+    void setUp() {
+        accountId = TestAccounts.create(accountRepository, BigDecimal.ZERO, Account.AccountType.TL);
+        // İyimser modda tüm iş parçacıkları aynı satırda çakışır; denemeler tükenmesin.
+        accountWriteProperties.setMaxAttempts(1_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        accountWriteProperties.setStrategy(AccountWriteProperties.Strategy.ATOMIC);
+        accountWriteProperties.setMaxAttempts(5);
+    }
+
+    @ParameterizedTest
+    @EnumSource(AccountWriteProperties.Strategy.class)
+    void concurrentDeposits_shouldNotLoseUpdates(AccountWriteProperties.Strategy strategy) throws Exception {
+        accountWriteProperties.setStrategy(strategy);
+        long transactionsBefore = accountTransactionRepository.count();
+        AtomicInteger failures = new AtomicInteger();
+
+        hammer(() -> {
+            try {
+                accountTransactionService.deposit(accountId, BigDecimal.ONE);
+            } catch (RuntimeException e) {
+                failures.incrementAndGet();
+            }
+        });
+
+        int operations = THREADS * OPERATIONS_PER_THREAD;
+        BigDecimal balance = accountRepository.findById(accountId).orElseThrow().getBalance().toBigDecimal();
+        long lostUpdates = operations - failures.get() - balance.longValue();
+
+        assertEquals(0, failures.get());
+        assertEquals(0, lostUpdates);
+        assertEquals(operations, accountTransactionRepository.count() - transactionsBefore);
+    }
+
+    @ParameterizedTest
+    @EnumSource(AccountWriteProperties.Strategy.class)
+    void concurrentWithdrawals_shouldNeverOverdraw(AccountWriteProperties.Strategy strategy) throws Exception {
+        accountWriteProperties.setStrategy(strategy);
+        int funded = OPERATIONS_PER_THREAD;
+        accountTransactionService.deposit(accountId, BigDecimal.valueOf(funded));
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        hammer(() -> {
+            try {
+                accountTransactionService.withdraw(accountId, BigDecimal.ONE);
+                succeeded.incrementAndGet();
+            } catch (IllegalArgumentException e) {
+                rejected.incrementAndGet();
+            }
+        });
+
+        BigDecimal balance = accountRepository.findById(accountId).orElseThrow().getBalance().toBigDecimal();
+
+        assertEquals(funded, succeeded.get());
+        assertEquals(THREADS * OPERATIONS_PER_THREAD - funded, rejected.get());
+        assertEquals(0, balance.signum());
+    }
+
+    private void hammer(Runnable operation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                    operation.run();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,115 @@
+package com.bank.bankaccountmanagementsystem.service;
+
+import com.bank.bankaccountmanagementsystem.TestAccounts;
+import com.bank.bankaccountmanagementsystem.dto.AccountTransactionDTO;
+import com.bank.bankaccountmanagementsystem.model.Account;
+import com.bank.bankaccountmanagementsystem.model.AccountTransaction;
+import com.bank.bankaccountmanagementsystem.repository.AccountRepository;
+import com.bank.bankaccountmanagementsystem.repository.AccountTransactionRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+@Transactional
+class AccountTransactionFetchTest {
+
+    private static final int ACCOUNTS = 10;
+    private static final int TRANSACTIONS = 1_000;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountTransactionRepository accountTransactionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private final List<UUID> accountIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            Account account = TestAccounts.account(BigDecimal.ZERO, Account.AccountType.TL);
+            accounts.add(accountRepository.save(account));
+            accountIds.add(account.getId());
+        }
+        List<AccountTransaction> transactions = new ArrayList<>();
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            AccountTransaction transaction = new AccountTransaction();
+            transaction.setAccount(accounts.get(i % ACCOUNTS));
+            transaction.setTransactionType(AccountTransaction.TransactionType.DEPOSIT);
+            transaction.setAmount(BigDecimal.ONE);
+            transaction.setTransactionDate(LocalDateTime.now());
+            transactions.add(transaction);
+        }
+        accountTransactionRepository.saveAll(transactions);
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    void loadingEntities_shouldNotFetchAccounts() {
+
+        List<AccountTransaction> transactions = entityManager
+                .createQuery("SELECT t FROM AccountTransaction t WHERE t.account.id IN :accountIds", AccountTransaction.class)
+                .setParameter("accountIds", accountIds)
+                .getResultList();
+
+        assertEquals(TRANSACTIONS, transactions.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(TRANSACTIONS, statistics.getEntityLoadCount());
+        assertFalse(Hibernate.isInitialized(transactions.get(0).getAccount()));
+        // Yabancı anahtar proxy üzerinden sorgusuz okunur.
+        assertTrue(accountIds.contains(transactions.get(0).getAccount().getId()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void projection_shouldUseOneStatementRegardlessOfRowCount() {
+
+        List<AccountTransactionDTO> one = accountTransactionRepository.findTransactionsByAccountId(accountIds.get(0));
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        List<AccountTransactionDTO> all = accountTransactionRepository.findTransactionsByAccountIds(accountIds);
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        assertEquals(TRANSACTIONS / ACCOUNTS, one.size());
+        assertEquals(TRANSACTIONS, all.size());
+        assertEquals(accountIds.get(0).toString(), one.get(0).getAccountId());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+}
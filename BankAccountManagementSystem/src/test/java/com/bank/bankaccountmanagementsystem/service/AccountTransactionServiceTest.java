@@ -1,16 +1,24 @@
 package com.bank.bankaccountmanagementsystem.service;
 
+import com.bank.bankaccountmanagementsystem.config.AccountLockProperties;
+import com.bank.bankaccountmanagementsystem.config.AccountWriteProperties;
+import com.bank.bankaccountmanagementsystem.config.ReplicaProperties;
 import com.bank.bankaccountmanagementsystem.dto.AccountTransactionDTO;
 import com.bank.bankaccountmanagementsystem.model.Account;
 import com.bank.bankaccountmanagementsystem.model.AccountTransaction;
+import com.bank.bankaccountmanagementsystem.model.Money;
 import com.bank.bankaccountmanagementsystem.repository.AccountRepository;
 import com.bank.bankaccountmanagementsystem.repository.AccountTransactionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -27,6 +35,37 @@ class AccountTransactionServiceTest {
     @Mock
     private AccountTransactionRepository accountTransactionRepository;
 
+    @Mock
+    private GroupCommitJournal groupCommitJournal;
+
+    @Mock
+    private AccountCache accountCache;
+
+    @Mock
+    private DailyBalanceService dailyBalanceService;
+
+    @Spy
+    private AccountWriteProperties accountWriteProperties = new AccountWriteProperties();
+
+    @Spy
+    private OptimisticLockRetrier optimisticLockRetrier = new OptimisticLockRetrier(
+            new AccountWriteProperties(), new SimpleMeterRegistry(), Mockito.mock(PlatformTransactionManager.class));
+
+    @Spy
+    private AccountLockRegistry accountLockRegistry = new AccountLockRegistry(new AccountLockProperties(), new SimpleMeterRegistry());
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private ReadYourWritesGuard readYourWritesGuard = new ReadYourWritesGuard(new ReplicaProperties());
+
+    @Mock
+    private EventLedger eventLedger;
+
+    @Mock
+    private BalanceEngine balanceEngine;
+
     @InjectMocks
     private AccountTransactionService accountTransactionService;
 
@@ -36,10 +75,11 @@ class AccountTransactionServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        accountTransactionService.registerMeters();
         accountId = UUID.randomUUID();
         account = new Account();
         account.setId(accountId);
-        account.setBalance(BigDecimal.valueOf(5000));
+        account.setBalance(Money.of(BigDecimal.valueOf(5000)));
     }
 
     @Test
@@ -48,7 +88,7 @@ class AccountTransactionServiceTest {
         BigDecimal depositAmount = BigDecimal.valueOf(1000);
 
 
-        BigDecimal expectedBalance = account.getBalance().add(depositAmount);
+        Money expectedBalance = account.getBalance().plus(Money.of(depositAmount));
 
         AccountTransactionDTO expectedTransactionDTO = new AccountTransactionDTO(
                 accountId.toString(),
@@ -57,7 +97,12 @@ class AccountTransactionServiceTest {
                 LocalDateTime.now()
         );
 
-        Mockito.when(accountRepository.findById(accountId)).thenReturn(Optional.of(account));
+        Mockito.when(accountRepository.applyBalanceDelta(Mockito.eq(accountId), Mockito.eq(Money.of(depositAmount).toBigDecimal()), Mockito.any(), Mockito.any()))
+                .thenAnswer(invocation -> {
+                    account.setBalance(account.getBalance().plus(Money.of(depositAmount)));
+                    return 1;
+                });
+        Mockito.when(accountRepository.getReferenceById(accountId)).thenReturn(account);
 
 
         Mockito.when(accountTransactionRepository.save(Mockito.any(AccountTransaction.class)))
@@ -69,6 +114,7 @@ class AccountTransactionServiceTest {
 
         assertNotNull(transactionDTO);
         assertEquals(expectedBalance, account.getBalance());
+        Mockito.verify(accountRepository, Mockito.never()).findById(accountId);
         assertEquals(AccountTransaction.TransactionType.DEPOSIT, transactionDTO.getTransactionType());
     }
 
@@ -83,7 +129,12 @@ class AccountTransactionServiceTest {
                 LocalDateTime.now()
         );
 
-        Mockito.when(accountRepository.findById(accountId)).thenReturn(Optional.of(account));
+        Mockito.when(accountRepository.applyBalanceDelta(Mockito.eq(accountId), Mockito.eq(Money.of(withdrawalAmount).negate().toBigDecimal()), Mockito.any(), Mockito.any()))
+                .thenAnswer(invocation -> {
+                    account.setBalance(account.getBalance().minus(Money.of(withdrawalAmount)));
+                    return 1;
+                });
+        Mockito.when(accountRepository.getReferenceById(accountId)).thenReturn(account);
 
 
         Mockito.when(accountTransactionRepository.save(Mockito.any(AccountTransaction.class)))
@@ -94,7 +145,7 @@ class AccountTransactionServiceTest {
 
 
         assertNotNull(transactionDTO);
-        assertEquals(BigDecimal.valueOf(4000), account.getBalance());
+        assertEquals(Money.of(BigDecimal.valueOf(4000)), account.getBalance());
         assertEquals(AccountTransaction.TransactionType.WITHDRAWAL, transactionDTO.getTransactionType());
     }
 
@@ -103,7 +154,8 @@ class AccountTransactionServiceTest {
 
         BigDecimal withdrawalAmount = BigDecimal.valueOf(6000);
 
-        Mockito.when(accountRepository.findById(accountId)).thenReturn(Optional.of(account));
+        Mockito.when(accountRepository.applyBalanceDelta(Mockito.eq(accountId), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(0);
+        Mockito.when(accountRepository.existsById(accountId)).thenReturn(true);
 
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
@@ -116,7 +168,8 @@ class AccountTransactionServiceTest {
     void deposit_shouldThrowExceptionIfNewBalanceExceedsLimit() {
 
         BigDecimal depositAmount = BigDecimal.valueOf(10000000);
-        Mockito.when(accountRepository.findById(accountId)).thenReturn(Optional.of(account));
+        Mockito.when(accountRepository.applyBalanceDelta(Mockito.eq(accountId), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(0);
+        Mockito.when(accountRepository.existsById(accountId)).thenReturn(true);
 
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
@@ -130,7 +183,8 @@ class AccountTransactionServiceTest {
 
         BigDecimal amount = BigDecimal.valueOf(1000);
 
-        Mockito.when(accountRepository.findById(accountId)).thenReturn(Optional.empty());
+        Mockito.when(accountRepository.applyBalanceDelta(Mockito.eq(accountId), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(0);
+        Mockito.when(accountRepository.existsById(accountId)).thenReturn(false);
 
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
@@ -138,4 +192,34 @@ class AccountTransactionServiceTest {
         });
         assertEquals("Account not found", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void deposit_withOptimisticStrategy_shouldSaveLoadedAccount() {
+
+        accountWriteProperties.setStrategy(AccountWriteProperties.Strategy.OPTIMISTIC);
+        Mockito.when(accountRepository.findById(accountId)).thenReturn(Optional.of(account));
+        Mockito.when(accountRepository.save(account)).thenReturn(account);
+
+
+        AccountTransactionDTO transactionDTO = accountTransactionService.deposit(accountId, BigDecimal.valueOf(1000));
+
+
+        assertEquals(Money.of(BigDecimal.valueOf(6000)), account.getBalance());
+        assertEquals(AccountTransaction.TransactionType.DEPOSIT, transactionDTO.getTransactionType());
+        Mockito.verify(accountRepository, Mockito.never()).applyBalanceDelta(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void withdraw_withPessimisticStrategy_shouldLockAndRejectOverdraft() {
+
+        accountWriteProperties.setStrategy(AccountWriteProperties.Strategy.PESSIMISTIC);
+        Mockito.when(accountRepository.findByIdForUpdate(accountId)).thenReturn(Optional.of(account));
+
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
+            accountTransactionService.withdraw(accountId, BigDecimal.valueOf(6000));
+        });
+        assertEquals("Balance cannot fall below zero.", exception.getMessage());
+        Mockito.verify(accountRepository, Mockito.never()).save(Mockito.any(Account.class));
+    }
+}
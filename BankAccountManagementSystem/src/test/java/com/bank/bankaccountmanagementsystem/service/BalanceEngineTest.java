@@ -0,0 +1,265 @@
+package com.bank.bankaccountmanagementsystem.service;
+
+import com.bank.bankaccountmanagementsystem.TestAccounts;
+import com.bank.bankaccountmanagementsystem.config.BalanceEngineProperties;
+import com.bank.bankaccountmanagementsystem.config.LedgerProperties;
+import com.bank.bankaccountmanagementsystem.dto.AccountDTO;
+import com.bank.bankaccountmanagementsystem.model.Account;
+import com.bank.bankaccountmanagementsystem.model.Money;
+import com.bank.bankaccountmanagementsystem.repository.AccountRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Motorun bakiyeleri veritabanına gecikmeli yazılır; diğer testlerin bankdb verisinden ayrı tutulur
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:enginedb;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "bank.account.engine.enabled=true",
+        "bank.account.engine.shards=2"
+})
+@ActiveProfiles("h2")
+class BalanceEngineTest {
+
+    @DynamicPropertySource
+    static void walDirectory(DynamicPropertyRegistry registry) throws IOException {
+        Path directory = Files.createTempDirectory("engine-wal");
+        registry.add("bank.account.engine.wal-directory", directory::toString);
+    }
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountTransactionService accountTransactionService;
+
+    @Autowired
+    private BalanceEngine balanceEngine;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private DailyBalanceService dailyBalanceService;
+
+    @Autowired
+    private AccountCache accountCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+
+    @Test
+    void depositsAndWithdrawals_shouldBeAppliedInMemoryAndFedToTheTables() {
+
+        UUID accountId = createAccount(BigDecimal.valueOf(100));
+
+        accountTransactionService.deposit(accountId, BigDecimal.valueOf(50));
+        accountTransactionService.withdraw(accountId, new BigDecimal("30.25"));
+        assertThrows(BalanceLimitException.class, () -> accountTransactionService.withdraw(accountId, BigDecimal.valueOf(1_000)));
+        assertThrows(AccountNotFoundException.class, () -> accountTransactionService.deposit(UUID.randomUUID(), BigDecimal.ONE));
+
+        assertEquals(Optional.of(Money.of(new BigDecimal("119.75"))), balanceEngine.balance(accountId));
+        balanceEngine.awaitFeed();
+        assertColumnBalance("119.75", accountId);
+        assertEquals(2, transactionCount(accountId));
+        assertEquals(0, new BigDecimal("119.75").compareTo(jdbcTemplate.queryForObject(
+                "SELECT closing_balance FROM account_daily_balance WHERE account_id = ?", BigDecimal.class, bytes(accountId))));
+    }
+
+    @Test
+    void otherWrites_shouldTakeTheAccountOutOfTheEngineFirst() {
+
+        UUID source = createAccount(BigDecimal.valueOf(100));
+        UUID target = createAccount(BigDecimal.ZERO);
+        accountTransactionService.deposit(source, BigDecimal.TEN);
+
+        // Yatırma henüz yalnızca bellekte; havale onu veritabanında görmeli
+        accountTransactionService.transfer(source, target, BigDecimal.valueOf(60));
+        assertColumnBalance("50.00", source);
+        assertEquals(Optional.empty(), balanceEngine.balance(source));
+
+        accountTransactionService.deposit(source, BigDecimal.ONE);
+        AccountDTO update = accountService.getAccountDTOById(target);
+        update.setBalance(BigDecimal.valueOf(42));
+        accountService.updateAccount(target, update);
+        accountTransactionService.withdraw(target, BigDecimal.TEN);
+
+        balanceEngine.awaitFeed();
+        assertColumnBalance("51.00", source);
+        assertColumnBalance("32.00", target);
+        assertEquals(3, transactionCount(source));
+        // Havale, bakiye düzeltmesi ve çekme
+        assertEquals(3, transactionCount(target));
+    }
+
+    @Test
+    void crash_shouldRebuildShardsFromTheLogAndFeedWhatWasMissed() throws Exception {
+
+        UUID accountId = createAccount(BigDecimal.valueOf(100));
+        Path directory = Files.createTempDirectory("engine-crash");
+        // Besleme aralığı uzun: çöküşten önce hiçbir kayıt veritabanına yazılmaz
+        BalanceEngine crashed = engine(directory, Duration.ofMinutes(1));
+        for (int i = 0; i < 5; i++) {
+            crashed.submit(accountId, Money.of(BigDecimal.ONE), true).join();
+        }
+        CompletionException rejected = assertThrows(CompletionException.class,
+                () -> crashed.submit(accountId, Money.of(BigDecimal.valueOf(1_000)), false).join());
+        assertInstanceOf(BalanceLimitException.class, rejected.getCause());
+        crashed.halt();
+        assertColumnBalance("100.00", accountId);
+        assertEquals(0, transactionCount(accountId));
+
+        BalanceEngine restarted = engine(directory, Duration.ofMillis(10));
+        try {
+            assertEquals(Optional.of(Money.of(BigDecimal.valueOf(105))), restarted.balance(accountId));
+            restarted.awaitFeed();
+            assertColumnBalance("105.00", accountId);
+            assertEquals(5, transactionCount(accountId));
+
+            restarted.submit(accountId, Money.of(BigDecimal.ONE), false).join();
+            restarted.awaitFeed();
+            assertColumnBalance("104.00", accountId);
+        } finally {
+            restarted.stop();
+        }
+
+        // Temiz kapanıştan sonra kayıtlar yeniden beslenmez; beslenmiş hesap belleğe alınmaz
+        BalanceEngine reopened = engine(directory, Duration.ofMillis(10));
+        try {
+            reopened.awaitFeed();
+            assertEquals(6, transactionCount(accountId));
+            assertEquals(Optional.empty(), reopened.balance(accountId));
+        } finally {
+            reopened.stop();
+        }
+    }
+
+    @Test
+    void restart_shouldLoadFedAccountsFromTheDatabase() throws Exception {
+
+        UUID accountId = createAccount(BigDecimal.valueOf(100));
+        Path directory = Files.createTempDirectory("engine-restart");
+        BalanceEngine stopped = engine(directory, Duration.ofMillis(10));
+        stopped.submit(accountId, Money.of(BigDecimal.TEN), true).join();
+        stopped.awaitFeed();
+        stopped.stop();
+        assertColumnBalance("110.00", accountId);
+
+        // Motor kapalıyken başka bir yoldan yapılan yazma
+        jdbcTemplate.update("UPDATE accounts SET balance = ? WHERE id = ?", BigDecimal.valueOf(500), bytes(accountId));
+
+        BalanceEngine restarted = engine(directory, Duration.ofMillis(10));
+        try {
+            assertEquals(Optional.empty(), restarted.balance(accountId));
+            restarted.submit(accountId, Money.of(BigDecimal.ONE), true).join();
+            assertEquals(Optional.of(Money.of(BigDecimal.valueOf(501))), restarted.balance(accountId));
+            restarted.awaitFeed();
+            assertColumnBalance("501.00", accountId);
+        } finally {
+            restarted.stop();
+        }
+    }
+
+    @Test
+    void secondEngine_shouldNotStartOnTheSameLog() throws Exception {
+
+        Path directory = Files.createTempDirectory("engine-lock");
+        BalanceEngine first = engine(directory, Duration.ofMillis(10));
+        try {
+            assertThrows(IllegalStateException.class, () -> engine(directory, Duration.ofMillis(10)));
+        } finally {
+            first.stop();
+        }
+        engine(directory, Duration.ofMillis(10)).stop();
+    }
+
+    @Test
+    void changedShardCount_shouldRefuseToStart() throws Exception {
+
+        Path directory = Files.createTempDirectory("engine-shards");
+        engine(directory, Duration.ofMillis(10)).stop();
+
+        // Sayı düşürülürse shard-1'in kayıtları, artırılırsa hesapların eski shard'daki bakiyeleri kaybolur
+        assertThrows(IllegalStateException.class, () -> engine(directory, Duration.ofMillis(10), 1));
+        assertThrows(IllegalStateException.class, () -> engine(directory, Duration.ofMillis(10), 3));
+        engine(directory, Duration.ofMillis(10)).stop();
+
+        // Sayı dosyası olmayan eski bir günlük dizini: shard dizinleri sayıyı belirler
+        Path legacy = Files.createTempDirectory("engine-legacy");
+        Files.createDirectories(legacy.resolve("shard-0"));
+        Files.createDirectories(legacy.resolve("shard-1"));
+        Files.createDirectories(legacy.resolve("shard-2"));
+        assertThrows(IllegalStateException.class, () -> engine(legacy, Duration.ofMillis(10)));
+        engine(legacy, Duration.ofMillis(10), 3).stop();
+    }
+
+    @Test
+    void stoppedEngine_shouldRejectWritesInsteadOfBypassingTheLog() throws Exception {
+
+        UUID accountId = createAccount(BigDecimal.valueOf(100));
+        BalanceEngine stopped = engine(Files.createTempDirectory("engine-stopped"), Duration.ofMillis(10));
+        stopped.stop();
+
+        assertTrue(stopped.isEnabled());
+        CompletionException rejected = assertThrows(CompletionException.class,
+                () -> stopped.submit(accountId, Money.of(BigDecimal.ONE), true).join());
+        assertInstanceOf(AccountBusyException.class, rejected.getCause());
+        assertThrows(AccountBusyException.class, () -> stopped.released(List.of(accountId), () -> null));
+        assertColumnBalance("100.00", accountId);
+    }
+
+    private BalanceEngine engine(Path directory, Duration feedInterval) throws InterruptedException {
+        return engine(directory, feedInterval, 2);
+    }
+
+    private BalanceEngine engine(Path directory, Duration feedInterval, int shards) throws InterruptedException {
+        BalanceEngineProperties properties = new BalanceEngineProperties();
+        properties.setEnabled(true);
+        properties.setShards(shards);
+        properties.setWalDirectory(directory.toString());
+        properties.setFeedInterval(feedInterval);
+        BalanceEngine engine = new BalanceEngine(properties, new LedgerProperties(), accountRepository, jdbcTemplate,
+                transactionManager, dailyBalanceService, accountCache, new SimpleMeterRegistry());
+        engine.start();
+        return engine;
+    }
+
+    private void assertColumnBalance(String expected, UUID accountId) {
+        BigDecimal column = jdbcTemplate.queryForObject("SELECT balance FROM accounts WHERE id = ?", BigDecimal.class, bytes(accountId));
+        assertEquals(0, new BigDecimal(expected).compareTo(column), "accounts.balance");
+    }
+
+    private int transactionCount(UUID accountId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM account_transactions WHERE account_id = ?", Integer.class, bytes(accountId));
+    }
+
+    private UUID createAccount(BigDecimal balance) {
+        return TestAccounts.create(accountService, balance, Account.AccountType.TL);
+    }
+
+    private static byte[] bytes(UUID id) {
+        return ByteBuffer.allocate(16).putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits()).array();
+    }
+}
@@ -0,0 +1,209 @@
+package com.bank.bankaccountmanagementsystem.service;
+
+import com.bank.bankaccountmanagementsystem.TestAccounts;
+import com.bank.bankaccountmanagementsystem.config.DailyBalanceProperties;
+import com.bank.bankaccountmanagementsystem.dto.AccountDTO;
+import com.bank.bankaccountmanagementsystem.model.Account;
+import com.bank.bankaccountmanagementsystem.model.AccountDailyBalance;
+import com.bank.bankaccountmanagementsystem.repository.AccountDailyBalanceRepository;
+import com.bank.bankaccountmanagementsystem.repository.AccountRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class DailyBalanceTest {
+
+    private static final LocalDateTime HISTORY_START = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountTransactionService accountTransactionService;
+
+    @Autowired
+    private DailyBalanceService dailyBalanceService;
+
+    @Autowired
+    private DailyBalanceRebuilder dailyBalanceRebuilder;
+
+    @Autowired
+    private DailyBalanceProperties dailyBalanceProperties;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountDailyBalanceRepository accountDailyBalanceRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Random random = new Random();
+
+    @AfterEach
+    void tearDown() {
+        dailyBalanceProperties.setRebuildChunkSize(500);
+        dailyBalanceProperties.setRebuildThreads(4);
+    }
+
+    @Test
+    void postings_shouldKeepTodaysSnapshotAndAnswerAnyPointInTime() throws InterruptedException {
+
+        UUID accountId = createAccount(BigDecimal.valueOf(100));
+        LocalDateTime beforeDeposit = LocalDateTime.now();
+        Thread.sleep(5);
+        accountTransactionService.deposit(accountId, BigDecimal.valueOf(50));
+        Thread.sleep(5);
+        LocalDateTime betweenPostings = LocalDateTime.now();
+        Thread.sleep(5);
+        accountTransactionService.withdraw(accountId, BigDecimal.valueOf(20));
+
+        AccountDailyBalance today = accountDailyBalanceRepository
+                .findById(new AccountDailyBalance.Key(accountId, LocalDate.now())).orElseThrow();
+        assertEquals(0, BigDecimal.valueOf(130).compareTo(today.getClosingBalance()));
+
+        assertBalance(130, accountId, LocalDateTime.now());
+        assertBalance(150, accountId, betweenPostings);
+        assertBalance(100, accountId, beforeDeposit);
+        assertBalance(100, accountId, LocalDateTime.now().minusDays(3));
+        assertBalance(130, accountId, LocalDateTime.now().plusDays(3));
+    }
+
+    @Test
+    void balanceEdit_shouldBePostedAsAdjustmentAndOnlyCountFromWhenItHappened() throws InterruptedException {
+
+        // Anlık görüntüsü olmayan hesap: açılış bakiyesi düzeltmeden önceki değer olmalı
+        UUID accountId = createAccount(BigDecimal.valueOf(100));
+        LocalDateTime beforeEdit = LocalDateTime.now();
+        Thread.sleep(5);
+        AccountDTO edit = accountService.getAccountDTOById(accountId);
+        edit.setBalance(BigDecimal.valueOf(70));
+        accountService.updateAccount(accountId, edit);
+        Thread.sleep(5);
+        LocalDateTime betweenEdits = LocalDateTime.now();
+        Thread.sleep(5);
+        accountTransactionService.deposit(accountId, BigDecimal.TEN);
+        edit = accountService.getAccountDTOById(accountId);
+        edit.setBalance(BigDecimal.valueOf(95));
+        accountService.updateAccount(accountId, edit);
+
+        assertBalance(100, accountId, beforeEdit);
+        assertBalance(70, accountId, betweenEdits);
+        assertBalance(95, accountId, LocalDateTime.now());
+        assertEquals(List.of("ADJUSTMENT_OUT", "DEPOSIT", "ADJUSTMENT_IN"), jdbcTemplate.queryForList(
+                "SELECT transaction_type FROM account_transactions WHERE account_id = ? ORDER BY transaction_date, id", String.class, bytes(accountId)));
+
+        // Adın değişmesi bakiyeye dokunmaz, düzeltme kaydı da yazılmaz
+        edit = accountService.getAccountDTOById(accountId);
+        edit.setAccountOwnerFirstName("Renamed");
+        accountService.updateAccount(accountId, edit);
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM account_transactions WHERE account_id = ?", Integer.class, bytes(accountId)));
+    }
+
+    @Test
+    void rebuild_shouldMatchFullReplayForEveryDay() {
+
+        dailyBalanceProperties.setRebuildChunkSize(7);
+        dailyBalanceProperties.setRebuildThreads(3);
+        List<UUID> accounts = new ArrayList<>();
+        List<TreeMap<LocalDateTime, BigDecimal>> histories = new ArrayList<>();
+        List<BigDecimal> openings = new ArrayList<>();
+        for (int a = 0; a < 40; a++) {
+            BigDecimal opening = BigDecimal.valueOf(1_000 + random.nextInt(1_000));
+            TreeMap<LocalDateTime, BigDecimal> history = new TreeMap<>();
+            BigDecimal balance = opening;
+            for (int i = 0; i < 60; i++) {
+                LocalDateTime date = HISTORY_START.plusDays(random.nextInt(30)).plusMinutes(random.nextInt(600)).plusSeconds(i);
+                BigDecimal delta = BigDecimal.valueOf(random.nextInt(40) - 15);
+                if (delta.signum() == 0 || history.containsKey(date)) {
+                    continue;
+                }
+                history.put(date, delta);
+                balance = balance.add(delta);
+            }
+            UUID accountId = createAccount(balance);
+            insertPostings(accountId, history);
+            accounts.add(accountId);
+            histories.add(history);
+            openings.add(opening);
+        }
+
+        assertTrue(dailyBalanceRebuilder.rebuild() > 0);
+
+        for (int a = 0; a < accounts.size(); a++) {
+            for (int probe = 0; probe < 20; probe++) {
+                LocalDateTime asOf = HISTORY_START.minusDays(2).plusMinutes(random.nextInt(60 * 24 * 36));
+                BigDecimal expected = openings.get(a);
+                for (BigDecimal delta : histories.get(a).headMap(asOf, true).values()) {
+                    expected = expected.add(delta);
+                }
+                assertEquals(0, expected.compareTo(dailyBalanceService.getBalanceAsOf(accounts.get(a), asOf).getBalance()),
+                        "account " + a + " at " + asOf);
+            }
+        }
+    }
+
+    @Test
+    void rebuild_shouldReproduceIncrementalSnapshots() {
+
+        UUID accountId = createAccount(BigDecimal.valueOf(10));
+        accountTransactionService.deposit(accountId, BigDecimal.valueOf(5));
+        accountTransactionService.withdraw(accountId, BigDecimal.valueOf(3));
+        BigDecimal incremental = accountDailyBalanceRepository
+                .findById(new AccountDailyBalance.Key(accountId, LocalDate.now())).orElseThrow().getClosingBalance();
+
+        dailyBalanceRebuilder.rebuild();
+
+        BigDecimal rebuilt = accountDailyBalanceRepository
+                .findById(new AccountDailyBalance.Key(accountId, LocalDate.now())).orElseThrow().getClosingBalance();
+        assertEquals(0, incremental.compareTo(rebuilt));
+        assertEquals(0, BigDecimal.valueOf(12).compareTo(rebuilt));
+    }
+
+    @Test
+    void getBalanceAsOf_shouldRejectUnknownAccount() {
+
+        assertThrows(IllegalArgumentException.class,
+                () -> dailyBalanceService.getBalanceAsOf(UUID.randomUUID(), LocalDateTime.now()));
+    }
+
+    private void assertBalance(long expected, UUID accountId, LocalDateTime asOf) {
+        assertEquals(0, BigDecimal.valueOf(expected).compareTo(dailyBalanceService.getBalanceAsOf(accountId, asOf).getBalance()),
+                "balance at " + asOf);
+    }
+
+    private UUID createAccount(BigDecimal balance) {
+        return TestAccounts.create(accountService, balance, Account.AccountType.TL);
+    }
+
+    private void insertPostings(UUID accountId, TreeMap<LocalDateTime, BigDecimal> history) {
+        List<Object[]> rows = new ArrayList<>();
+        history.forEach((date, delta) -> rows.add(new Object[]{bytes(UUID.randomUUID()), bytes(accountId), Timestamp.valueOf(date),
+                delta.signum() > 0 ? "DEPOSIT" : "WITHDRAWAL", delta.abs()}));
+        jdbcTemplate.batchUpdate("INSERT INTO account_transactions (id, account_id, transaction_date, transaction_type, amount) " +
+                "VALUES (?, ?, ?, ?, ?)", rows);
+    }
+
+    private static byte[] bytes(UUID id) {
+        return ByteBuffer.allocate(16).putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits()).array();
+    }
+}
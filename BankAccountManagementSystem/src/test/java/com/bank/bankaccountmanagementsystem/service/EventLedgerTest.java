@@ -0,0 +1,214 @@
+package com.bank.bankaccountmanagementsystem.service;
+
+import com.bank.bankaccountmanagementsystem.TestAccounts;
+import com.bank.bankaccountmanagementsystem.config.LedgerProperties;
+import com.bank.bankaccountmanagementsystem.dto.AccountDTO;
+import com.bank.bankaccountmanagementsystem.dto.AccountTransactionRequestDTO;
+import com.bank.bankaccountmanagementsystem.model.Account;
+import com.bank.bankaccountmanagementsystem.model.AccountTransaction;
+import com.bank.bankaccountmanagementsystem.model.Money;
+import com.bank.bankaccountmanagementsystem.repository.AccountRepository;
+import com.bank.bankaccountmanagementsystem.repository.LedgerEventRepository;
+import com.bank.bankaccountmanagementsystem.repository.LedgerSnapshotRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Defter modu tüm yazmaları değiştirir; diğer testlerin bankdb verisinden ayrı tutulur
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:ledgerdb;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "bank.account.ledger.enabled=true",
+        "bank.account.ledger.snapshot-every=5",
+        "bank.account.ledger.replay-chunk-size=3"
+})
+@ActiveProfiles("h2")
+class EventLedgerTest {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountTransactionService accountTransactionService;
+
+    @Autowired
+    private LedgerReplayer ledgerReplayer;
+
+    @Autowired
+    private LedgerProperties ledgerProperties;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private LedgerEventRepository ledgerEventRepository;
+
+    @Autowired
+    private LedgerSnapshotRepository ledgerSnapshotRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+
+    @Test
+    void everyBalanceChange_shouldBeAnEventAndTheBalanceTheirSum() {
+
+        UUID source = createAccount(BigDecimal.valueOf(100));
+        UUID target = createAccount(BigDecimal.valueOf(10));
+
+        accountTransactionService.deposit(source, BigDecimal.valueOf(50));
+        accountTransactionService.withdraw(source, BigDecimal.valueOf(30));
+        assertThrows(BalanceLimitException.class, () -> accountTransactionService.withdraw(source, BigDecimal.valueOf(1_000)));
+        accountTransactionService.transfer(source, target, BigDecimal.valueOf(20));
+        accountTransactionService.processBulk(List.of(
+                new AccountTransactionRequestDTO(target, AccountTransaction.TransactionType.DEPOSIT, BigDecimal.valueOf(5)),
+                new AccountTransactionRequestDTO(target, AccountTransaction.TransactionType.WITHDRAWAL, BigDecimal.valueOf(500))));
+        AccountDTO update = accountService.getAccountDTOById(target);
+        update.setBalance(BigDecimal.valueOf(42));
+        accountService.updateAccount(target, update);
+
+        assertEquals(List.of("OPENED", "DEPOSIT", "WITHDRAWAL", "TRANSFER_OUT"), eventTypes(source));
+        assertEquals(List.of("OPENED", "TRANSFER_IN", "DEPOSIT", "ADJUSTMENT"), eventTypes(target));
+        assertBalance(100, source);
+        assertBalance(42, target);
+    }
+
+    @Test
+    void restart_shouldReplayOnlyTheTailAfterTheSnapshot() {
+
+        UUID accountId = createAccount(BigDecimal.valueOf(100));
+        for (int i = 0; i < 11; i++) {
+            accountTransactionService.deposit(accountId, BigDecimal.ONE);
+        }
+
+        // OPENED + 11 yatırma = 12 olay; anlık görüntü 10. olayda, kuyruk 2 olay
+        assertEquals(10, ledgerSnapshotRepository.findById(accountId).orElseThrow().getSequenceNumber());
+        assertEquals(2, ledgerEventRepository.findTail(accountId, 10).size());
+        EventLedger restarted = new EventLedger(ledgerProperties, ledgerEventRepository, ledgerSnapshotRepository, accountRepository);
+        Money balance = new TransactionTemplate(transactionManager).execute(status -> restarted.balance(accountId));
+        assertEquals(Money.of(BigDecimal.valueOf(111)), balance);
+    }
+
+    @Test
+    void accountWithoutEvents_shouldGetItsOpeningEventOnFirstWrite() {
+
+        UUID accountId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO accounts (id, account_owner_identity_number, account_owner_first_name, " +
+                        "account_owner_last_name, account_type, balance, version) VALUES (?, ?, 'Legacy', 'Account', 'TL', 75, 0)",
+                bytes(accountId), TestAccounts.identityNo());
+
+        accountTransactionService.deposit(accountId, BigDecimal.valueOf(25));
+
+        assertEquals(List.of("OPENED", "DEPOSIT"), eventTypes(accountId));
+        assertBalance(100, accountId);
+    }
+
+    @Test
+    void concurrentDeposits_shouldTakeConsecutiveSequenceNumbers() throws Exception {
+
+        UUID accountId = createAccount(BigDecimal.ZERO);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> deposits = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                deposits.add(executor.submit(() -> accountTransactionService.deposit(accountId, BigDecimal.ONE)));
+            }
+            for (Future<?> deposit : deposits) {
+                deposit.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(41, eventTypes(accountId).size());
+        assertEquals(41L, jdbcTemplate.queryForObject(
+                "SELECT MAX(sequence_number) FROM ledger_events WHERE account_id = ?", Long.class, bytes(accountId)));
+        assertBalance(40, accountId);
+    }
+
+    @Test
+    void replay_shouldRebuildBalancesAndSnapshotsFromTheLog() {
+
+        List<UUID> accounts = new ArrayList<>();
+        for (int a = 0; a < 7; a++) {
+            UUID accountId = createAccount(BigDecimal.valueOf(10));
+            accountTransactionService.deposit(accountId, BigDecimal.valueOf(a + 1));
+            accounts.add(accountId);
+        }
+        jdbcTemplate.update("UPDATE accounts SET balance = 999 WHERE id = ?", bytes(accounts.get(3)));
+
+        LedgerReplayer.Report report = ledgerReplayer.replay();
+
+        assertTrue(report.events() >= 14);
+        assertTrue(report.corrected() >= 1);
+        assertTrue(report.eventsPerSecond() > 0);
+        for (int a = 0; a < accounts.size(); a++) {
+            assertBalance(11 + a, accounts.get(a));
+            assertEquals(2, ledgerSnapshotRepository.findById(accounts.get(a)).orElseThrow().getSequenceNumber());
+        }
+    }
+
+    @Test
+    void replay_shouldRejectAGapInTheLog() {
+
+        UUID accountId = createAccount(BigDecimal.valueOf(10));
+        accountTransactionService.deposit(accountId, BigDecimal.ONE);
+        accountTransactionService.deposit(accountId, BigDecimal.ONE);
+        jdbcTemplate.update("DELETE FROM ledger_events WHERE account_id = ? AND sequence_number = 2", bytes(accountId));
+
+        IllegalStateException failure = assertThrows(IllegalStateException.class, () -> ledgerReplayer.replay());
+        assertTrue(failure.getCause().getMessage().contains("skips from event 1 to 3"));
+
+        jdbcTemplate.update("DELETE FROM ledger_events WHERE account_id = ?", bytes(accountId));
+    }
+
+    @Test
+    void deleteAccount_shouldDeleteItsEvents() {
+
+        UUID accountId = createAccount(BigDecimal.valueOf(10));
+        accountTransactionService.deposit(accountId, BigDecimal.ONE);
+
+        accountService.deleteAccount(accountId);
+
+        assertTrue(eventTypes(accountId).isEmpty());
+    }
+
+    private void assertBalance(long expected, UUID accountId) {
+        BigDecimal events = jdbcTemplate.queryForObject(
+                "SELECT SUM(delta) FROM ledger_events WHERE account_id = ?", BigDecimal.class, bytes(accountId));
+        BigDecimal column = jdbcTemplate.queryForObject(
+                "SELECT balance FROM accounts WHERE id = ?", BigDecimal.class, bytes(accountId));
+        assertEquals(0, BigDecimal.valueOf(expected).compareTo(events), "sum of events");
+        assertEquals(0, BigDecimal.valueOf(expected).compareTo(column), "accounts.balance");
+    }
+
+    private List<String> eventTypes(UUID accountId) {
+        return jdbcTemplate.queryForList("SELECT event_type FROM ledger_events WHERE account_id = ? ORDER BY sequence_number",
+                String.class, bytes(accountId));
+    }
+
+    private UUID createAccount(BigDecimal balance) {
+        return TestAccounts.create(accountService, balance, Account.AccountType.TL);
+    }
+
+    private static byte[] bytes(UUID id) {
+        return ByteBuffer.allocate(16).putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits()).array();
+    }
+}
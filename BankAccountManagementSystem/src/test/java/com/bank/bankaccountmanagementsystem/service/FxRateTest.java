@@ -0,0 +1,242 @@
+package com.bank.bankaccountmanagementsystem.service;
+
+import com.bank.bankaccountmanagementsystem.TestAccounts;
+import com.bank.bankaccountmanagementsystem.config.FxRateProperties;
+import com.bank.bankaccountmanagementsystem.dto.TransferDTO;
+import com.bank.bankaccountmanagementsystem.model.Account;
+import com.bank.bankaccountmanagementsystem.model.FxRate;
+import com.bank.bankaccountmanagementsystem.repository.AccountRepository;
+import com.bank.bankaccountmanagementsystem.repository.FxRateRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class FxRateTest {
+
+    private static final Account.AccountType TL = Account.AccountType.TL;
+    private static final Account.AccountType USD = Account.AccountType.USD;
+    private static final Account.AccountType GBP = Account.AccountType.GBP;
+
+    @Autowired
+    private FxRateTable fxRateTable;
+
+    @Autowired
+    private FxRateProperties fxRateProperties;
+
+    @Autowired
+    private FxRateRepository fxRateRepository;
+
+    @Autowired
+    private AccountTransactionService accountTransactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @AfterEach
+    void tearDown() {
+        fxRateProperties.setSource(FxRateProperties.Source.DATABASE);
+        fxRateProperties.setFile(null);
+        fxRateRepository.deleteAll();
+        fxRateTable.refresh();
+    }
+
+    @Test
+    void snapshot_shouldDeriveInversesAndRoundHalfEven() {
+
+        FxRateSnapshot snapshot = new FxRateSnapshot(List.of(rate(USD, TL, "32.50000000"), rate(GBP, USD, "1.25000000")));
+
+        assertEquals(0, new BigDecimal("325.00").compareTo(snapshot.convert(BigDecimal.TEN, USD, TL)));
+        assertEquals(0, new BigDecimal("10.00").compareTo(snapshot.convert(new BigDecimal("325.00"), TL, USD)));
+        assertEquals(0, new BigDecimal("0.03076923").compareTo(snapshot.rate(TL, USD)));
+        assertEquals(0, BigDecimal.ONE.compareTo(snapshot.rate(GBP, GBP)));
+        // 0.01 × 1.25 = 0.0125 → 0.01 (yarım çifte yuvarlanır)
+        assertEquals(0, new BigDecimal("0.01").compareTo(snapshot.convert(new BigDecimal("0.01"), GBP, USD)));
+        assertEquals(1, snapshot.convertMinor(1, GBP, USD));
+        assertEquals(4, snapshot.convertMinor(3, GBP, USD));
+        // GBP→TL kotasyonu yok: USD üzerinden çapraz kur
+        assertEquals(0, new BigDecimal("40.625").compareTo(snapshot.rate(GBP, TL)));
+        assertThrows(ArithmeticException.class, () -> snapshot.convertMinor(Long.MAX_VALUE / 2, USD, TL));
+
+        FxRateSnapshot partial = new FxRateSnapshot(List.of(rate(USD, TL, "32.50000000")));
+        assertThrows(IllegalArgumentException.class, () -> partial.convert(BigDecimal.ONE, GBP, TL));
+        assertThrows(IllegalArgumentException.class, () -> partial.convertMinor(1, TL, GBP));
+    }
+
+    @Test
+    void scaledLongConversion_shouldMatchBigDecimal() {
+
+        FxRateSnapshot snapshot = new FxRateSnapshot(List.of(
+                rate(USD, TL, "32.51234567"), rate(GBP, TL, "41.07651234"), rate(GBP, USD, "1.26340000")));
+        Random random = new Random(7);
+        Account.AccountType[] currencies = Account.AccountType.values();
+        for (int i = 0; i < 100_000; i++) {
+            long cents = random.nextInt(999_999_999) + 1L;
+            Account.AccountType from = currencies[random.nextInt(currencies.length)];
+            Account.AccountType to = currencies[random.nextInt(currencies.length)];
+            BigDecimal expected = snapshot.convert(BigDecimal.valueOf(cents, 2), from, to);
+            assertEquals(expected.unscaledValue().longValueExact(), snapshot.convertMinor(cents, from, to),
+                    cents + " " + from + "->" + to);
+        }
+    }
+
+    @Test
+    void depositAndTransfer_shouldConvertToAccountCurrency() {
+
+        fxRateRepository.saveAll(List.of(rate(USD, TL, "32.00000000"), rate(GBP, TL, "40.00000000")));
+        assertEquals(2, fxRateTable.refresh());
+        UUID tlAccount = createAccount(TL, BigDecimal.ZERO);
+        UUID usdAccount = createAccount(USD, BigDecimal.ZERO);
+
+        accountTransactionService.deposit(tlAccount, BigDecimal.TEN, USD, null);
+        assertEquals(0, new BigDecimal("320.00").compareTo(balanceOf(tlAccount)));
+
+        TransferDTO transfer = accountTransactionService.transfer(tlAccount, usdAccount, new BigDecimal("64.00"));
+        assertEquals(0, new BigDecimal("64.00").compareTo(transfer.getAmount()));
+        assertEquals(0, new BigDecimal("2.00").compareTo(transfer.getCreditedAmount()));
+        assertEquals(0, new BigDecimal("256.00").compareTo(balanceOf(tlAccount)));
+        assertEquals(0, new BigDecimal("2.00").compareTo(balanceOf(usdAccount)));
+
+        // Tutar GBP cinsinden: iki taraf da kendi para birimine çevrilir
+        accountTransactionService.transfer(tlAccount, usdAccount, BigDecimal.ONE, GBP);
+        assertEquals(0, new BigDecimal("216.00").compareTo(balanceOf(tlAccount)));
+        assertEquals(0, new BigDecimal("3.25").compareTo(balanceOf(usdAccount)));
+
+        assertThrows(IllegalArgumentException.class, () -> accountTransactionService.deposit(usdAccount, new BigDecimal("0.01"), TL, null));
+    }
+
+    @Test
+    void idempotentDeposit_shouldCompareRequestCurrency() {
+
+        fxRateRepository.saveAll(List.of(rate(USD, TL, "32.00000000")));
+        fxRateTable.refresh();
+        UUID tlAccount = createAccount(TL, BigDecimal.ZERO);
+        String key = UUID.randomUUID().toString();
+
+        accountTransactionService.deposit(tlAccount, BigDecimal.ONE, USD, key);
+        accountTransactionService.deposit(tlAccount, BigDecimal.ONE, USD, key);
+
+        assertEquals(0, new BigDecimal("32.00").compareTo(balanceOf(tlAccount)));
+        assertThrows(IllegalArgumentException.class, () -> accountTransactionService.deposit(tlAccount, BigDecimal.ONE, key));
+    }
+
+    @Test
+    void refresher_shouldOnlyRunWhenRefreshIsEnabled(@TempDir Path directory) throws Exception {
+
+        Path file = directory.resolve("fx-rates.properties");
+        Files.writeString(file, "USD/TL=32.5\n");
+        FxRateProperties properties = new FxRateProperties();
+        properties.setSource(FxRateProperties.Source.FILE);
+        properties.setFile(file.toString());
+        properties.setRefreshInterval(Duration.ofMillis(10));
+
+        FxRateTable once = new FxRateTable(properties, fxRateRepository);
+        once.start();
+        Files.writeString(file, "USD/TL=33\n");
+        Thread.sleep(100);
+        assertEquals(0, new BigDecimal("32.50").compareTo(once.snapshot().rate(USD, TL)));
+        once.stop();
+
+        properties.setRefreshEnabled(true);
+        FxRateTable refreshed = new FxRateTable(properties, fxRateRepository);
+        refreshed.start();
+        try {
+            Files.writeString(file, "USD/TL=34\n");
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (new BigDecimal("34").compareTo(refreshed.snapshot().rate(USD, TL)) != 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(0, new BigDecimal("34").compareTo(refreshed.snapshot().rate(USD, TL)));
+        } finally {
+            refreshed.stop();
+        }
+    }
+
+    @Test
+    void refresh_shouldLoadFromFile(@TempDir Path directory) throws Exception {
+
+        Path file = directory.resolve("fx-rates.properties");
+        Files.writeString(file, "USD/TL=32.5\nGBP/USD = 1.25\n");
+        fxRateProperties.setSource(FxRateProperties.Source.FILE);
+        fxRateProperties.setFile(file.toString());
+
+        assertEquals(2, fxRateTable.refresh());
+        assertEquals(0, new BigDecimal("40.62").compareTo(fxRateTable.snapshot().convert(BigDecimal.ONE, GBP, TL)));
+        assertEquals(0, new BigDecimal("1.25").compareTo(fxRateTable.snapshot().convert(BigDecimal.ONE, GBP, USD)));
+
+        // Bozuk dosya önceki kurları değiştirmez
+        Files.writeString(file, "USD-TL=oops\n");
+        assertThrows(RuntimeException.class, () -> fxRateTable.refresh());
+        assertEquals(0, new BigDecimal("32.50").compareTo(fxRateTable.snapshot().convert(BigDecimal.ONE, USD, TL)));
+    }
+
+    @Test
+    void readers_shouldAlwaysSeeOneConsistentSnapshotDuringRefreshes() throws Exception {
+
+        AtomicBoolean refreshing = new AtomicBoolean(true);
+        ExecutorService readers = Executors.newFixedThreadPool(3);
+        List<Future<Long>> reads = new ArrayList<>();
+        for (int r = 0; r < 3; r++) {
+            reads.add(readers.submit(() -> {
+                long count = 0;
+                while (refreshing.get()) {
+                    FxRateSnapshot snapshot = fxRateTable.snapshot();
+                    BigDecimal usd = snapshot.rate(USD, TL);
+                    BigDecimal gbp = snapshot.rate(GBP, TL);
+                    // Her tabloda GBP/TL = 2 × USD/TL; karışık bir tablo bu eşitliği bozardı
+                    if (usd != null && gbp.compareTo(usd.multiply(BigDecimal.valueOf(2))) != 0) {
+                        throw new AssertionError("mixed snapshot: " + usd + " " + gbp);
+                    }
+                    count++;
+                }
+                return count;
+            }));
+        }
+        for (int i = 1; i <= 100; i++) {
+            fxRateRepository.saveAll(List.of(rate(USD, TL, i + ".00000000"), rate(GBP, TL, (2 * i) + ".00000000")));
+            fxRateTable.refresh();
+        }
+        refreshing.set(false);
+        long total = 0;
+        for (Future<Long> read : reads) {
+            total += read.get(1, TimeUnit.MINUTES);
+        }
+        readers.shutdown();
+
+        assertTrue(total > 0);
+        assertEquals(0, new BigDecimal("100").compareTo(fxRateTable.snapshot().rate(USD, TL)));
+    }
+
+    private static FxRate rate(Account.AccountType base, Account.AccountType quote, String rate) {
+        return new FxRate(base, quote, new BigDecimal(rate), LocalDateTime.now());
+    }
+
+    private BigDecimal balanceOf(UUID accountId) {
+        return accountRepository.findById(accountId).orElseThrow().getBalance().toBigDecimal();
+    }
+
+    private UUID createAccount(Account.AccountType currency, BigDecimal balance) {
+        return TestAccounts.create(accountRepository, balance, currency);
+    }
+}
@@ -0,0 +1,175 @@
+package com.bank.bankaccountmanagementsystem.service;
+
+import com.bank.bankaccountmanagementsystem.TestAccounts;
+import com.bank.bankaccountmanagementsystem.config.GroupCommitProperties;
+import com.bank.bankaccountmanagementsystem.dto.AccountTransactionDTO;
+import com.bank.bankaccountmanagementsystem.dto.AccountTransactionRequestDTO;
+import com.bank.bankaccountmanagementsystem.dto.BulkTransactionResultDTO;
+import com.bank.bankaccountmanagementsystem.model.Account;
+import com.bank.bankaccountmanagementsystem.model.AccountTransaction;
+import com.bank.bankaccountmanagementsystem.repository.AccountRepository;
+import com.bank.bankaccountmanagementsystem.repository.AccountTransactionRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "bank.account.group-commit.enabled=true",
+        "bank.account.group-commit.flush-interval=10ms",
+        "bank.account.group-commit.max-batch-size=64"
+})
+@ActiveProfiles("h2")
+class GroupCommitJournalTest {
+
+    private static final int THREADS = 32;
+    private static final int OPERATIONS_PER_THREAD = 25;
+
+    @Autowired
+    private AccountTransactionService accountTransactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountTransactionRepository accountTransactionRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private UUID accountId;
+
+    @BeforeEach
+    void setUp() {
+        accountId = TestAccounts.create(accountRepository, BigDecimal.ZERO, Account.AccountType.TL);
+    }
+
+    @Test
+    void concurrentDeposits_shouldShareCommits() throws Exception {
+        DistributionSummary groupSize = meterRegistry.get("bank.account.group-commit.size").summary();
+        long groupsBefore = groupSize.count();
+        double operationsBefore = groupSize.totalAmount();
+        long transactionsBefore = accountTransactionRepository.count();
+
+        run(() -> accountTransactionService.deposit(accountId, BigDecimal.ONE));
+
+        int operations = THREADS * OPERATIONS_PER_THREAD;
+        long groups = groupSize.count() - groupsBefore;
+        assertEquals(operations, groupSize.totalAmount() - operationsBefore);
+
+        assertEquals(0, BigDecimal.valueOf(operations).compareTo(accountRepository.findById(accountId).orElseThrow().getBalance().toBigDecimal()));
+        assertEquals(operations, accountTransactionRepository.count() - transactionsBefore);
+        assertTrue(groups < operations);
+    }
+
+    @Test
+    void concurrentWithdrawals_shouldBeValidatedOneByOne() throws Exception {
+        int funded = 100;
+        accountTransactionService.deposit(accountId, BigDecimal.valueOf(funded));
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        run(() -> {
+            try {
+                accountTransactionService.withdraw(accountId, BigDecimal.ONE);
+                succeeded.incrementAndGet();
+            } catch (BalanceLimitException e) {
+                assertEquals("Balance cannot fall below zero.", e.getMessage());
+                rejected.incrementAndGet();
+            }
+        });
+
+        assertEquals(funded, succeeded.get());
+        assertEquals(THREADS * OPERATIONS_PER_THREAD - funded, rejected.get());
+        assertEquals(0, accountRepository.findById(accountId).orElseThrow().getBalance().signum());
+    }
+
+    @Test
+    void deposit_shouldFailOnlyItsOwnCallerWhenAccountIsMissing() {
+        AccountNotFoundException exception = assertThrows(AccountNotFoundException.class,
+                () -> accountTransactionService.deposit(UUID.randomUUID(), BigDecimal.ONE));
+        assertEquals("Account not found", exception.getMessage());
+    }
+
+    @Test
+    void rejection_shouldFollowTheTypedReasonNotTheMessage() {
+        // Mesaj metni değişse de istisna türü (ve HTTP durumu) aynı kalmalı
+        assertInstanceOf(AccountNotFoundException.class, rejection(BulkTransactionResultDTO.Rejection.ACCOUNT_NOT_FOUND));
+        assertInstanceOf(BalanceLimitException.class, rejection(BulkTransactionResultDTO.Rejection.BALANCE_LIMIT));
+        assertInstanceOf(InvalidRequestException.class, rejection(BulkTransactionResultDTO.Rejection.INVALID_REQUEST));
+    }
+
+    private RejectionException rejection(BulkTransactionResultDTO.Rejection rejection) {
+        RejectionException exception = AccountTransactionService.rejectionFor(new BulkTransactionResultDTO(0, accountId,
+                AccountTransaction.TransactionType.DEPOSIT, BigDecimal.ONE, false, "Reworded message", null, rejection));
+        assertEquals("Reworded message", exception.getMessage());
+        return exception;
+    }
+
+    @Test
+    void stop_shouldCompleteEverySubmittedOperation() throws Exception {
+        GroupCommitProperties properties = new GroupCommitProperties();
+        properties.setEnabled(true);
+        GroupCommitJournal journal = new GroupCommitJournal(properties, new SimpleMeterRegistry(), accountTransactionService);
+        journal.start();
+
+        // Kapanışla yarışan gönderimler: hiçbiri tamamlanmadan kalmamalı
+        List<CompletableFuture<AccountTransactionDTO>> submitted = new CopyOnWriteArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 500; i++) {
+                    submitted.add(journal.submit(new AccountTransactionRequestDTO(accountId, AccountTransaction.TransactionType.DEPOSIT, BigDecimal.ONE)));
+                }
+            });
+        }
+        journal.stop();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        for (CompletableFuture<AccountTransactionDTO> future : submitted) {
+            try {
+                future.get(10, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                assertInstanceOf(AccountBusyException.class, e.getCause());
+            }
+        }
+        assertInstanceOf(AccountBusyException.class, assertThrows(ExecutionException.class, () -> journal.submit(
+                new AccountTransactionRequestDTO(accountId, AccountTransaction.TransactionType.DEPOSIT, BigDecimal.ONE)).get()).getCause());
+    }
+
+    private void run(Runnable operation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                    operation.run();
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,184 @@
+package com.bank.bankaccountmanagementsystem.service;
+
+import com.bank.bankaccountmanagementsystem.TestAccounts;
+import com.bank.bankaccountmanagementsystem.dto.AccountTransactionDTO;
+import com.bank.bankaccountmanagementsystem.model.Account;
+import com.bank.bankaccountmanagementsystem.repository.AccountRepository;
+import com.bank.bankaccountmanagementsystem.repository.AccountTransactionRepository;
+import com.bank.bankaccountmanagementsystem.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class IdempotencyTest {
+
+    private static final int POSTINGS = 200;
+
+    @Autowired
+    private AccountTransactionService accountTransactionService;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountTransactionRepository accountTransactionRepository;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        idempotencyStore.invalidateCache();
+    }
+
+    @Test
+    void repeatedKey_shouldApplyOnceAndReturnOriginalResult() {
+
+        UUID accountId = createAccount(BigDecimal.valueOf(100));
+        String key = UUID.randomUUID().toString();
+
+        AccountTransactionDTO first = accountTransactionService.deposit(accountId, BigDecimal.valueOf(40), key);
+        AccountTransactionDTO retry = accountTransactionService.deposit(accountId, BigDecimal.valueOf(40), key);
+        // Önbellek boşaltılınca tekrar tablodan bulunmalı
+        idempotencyStore.invalidateCache();
+        AccountTransactionDTO lateRetry = accountTransactionService.deposit(accountId, BigDecimal.valueOf(40), key);
+
+        assertSame(first, retry);
+        // Tablodan okunan tarih sütun hassasiyetine yuvarlanmış olabilir
+        assertTrue(Duration.between(first.getTransactionDate(), lateRetry.getTransactionDate()).abs().toMillis() < 1_000);
+        assertEquals(0, BigDecimal.valueOf(140).compareTo(balanceOf(accountId)));
+        assertEquals(1, accountTransactionRepository.findTransactionsByAccountId(accountId).size());
+
+        String withdrawKey = UUID.randomUUID().toString();
+        accountTransactionService.withdraw(accountId, BigDecimal.valueOf(15), withdrawKey);
+        accountTransactionService.withdraw(accountId, BigDecimal.valueOf(15), withdrawKey);
+        assertEquals(0, BigDecimal.valueOf(125).compareTo(balanceOf(accountId)));
+    }
+
+    @Test
+    void reusedKey_shouldRejectDifferentRequest() {
+
+        UUID accountId = createAccount(BigDecimal.valueOf(100));
+        String key = UUID.randomUUID().toString();
+        accountTransactionService.deposit(accountId, BigDecimal.TEN, key);
+
+        assertThrows(IllegalArgumentException.class, () -> accountTransactionService.deposit(accountId, BigDecimal.ONE, key));
+        assertThrows(IllegalArgumentException.class, () -> accountTransactionService.withdraw(accountId, BigDecimal.TEN, key));
+        idempotencyStore.invalidateCache();
+        assertThrows(IllegalArgumentException.class,
+                () -> accountTransactionService.deposit(createAccount(BigDecimal.ZERO), BigDecimal.TEN, key));
+        assertEquals(0, BigDecimal.valueOf(110).compareTo(balanceOf(accountId)));
+    }
+
+    @Test
+    void rejectedPosting_shouldNotConsumeKey() {
+
+        UUID accountId = createAccount(BigDecimal.valueOf(5));
+        String key = UUID.randomUUID().toString();
+
+        assertThrows(IllegalArgumentException.class, () -> accountTransactionService.withdraw(accountId, BigDecimal.TEN, key));
+        accountTransactionService.deposit(accountId, BigDecimal.TEN, UUID.randomUUID().toString());
+        accountTransactionService.withdraw(accountId, BigDecimal.TEN, key);
+
+        assertEquals(0, BigDecimal.valueOf(5).compareTo(balanceOf(accountId)));
+    }
+
+    @Test
+    void concurrentDuplicates_shouldApplyOnce() throws Exception {
+
+        UUID accountId = createAccount(BigDecimal.ZERO);
+        String key = UUID.randomUUID().toString();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<AccountTransactionDTO>> calls = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                calls.add(() -> accountTransactionService.deposit(accountId, BigDecimal.ONE, key));
+            }
+            for (Future<AccountTransactionDTO> result : executor.invokeAll(calls)) {
+                assertEquals(0, BigDecimal.ONE.compareTo(result.get().getAmount()));
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(0, BigDecimal.ONE.compareTo(balanceOf(accountId)));
+        assertEquals(1, accountTransactionRepository.findTransactionsByAccountId(accountId).size());
+    }
+
+    @Test
+    void expiredKeys_shouldBePurgedAndReusable() {
+
+        UUID accountId = createAccount(BigDecimal.ZERO);
+        String expired = UUID.randomUUID().toString();
+        String fresh = UUID.randomUUID().toString();
+        accountTransactionService.deposit(accountId, BigDecimal.ONE, expired);
+        accountTransactionService.deposit(accountId, BigDecimal.ONE, fresh);
+        jdbcTemplate.update("UPDATE idempotency_keys SET created_at = ? WHERE idempotency_key = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusDays(2)), expired);
+        idempotencyStore.invalidateCache();
+
+        // Temizlik henüz çalışmadıysa süresi dolmuş anahtar yeni istek sayılır
+        accountTransactionService.deposit(accountId, BigDecimal.ONE, expired);
+        assertEquals(0, BigDecimal.valueOf(3).compareTo(balanceOf(accountId)));
+
+        jdbcTemplate.update("UPDATE idempotency_keys SET created_at = ? WHERE idempotency_key = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusDays(2)), expired);
+        assertTrue(idempotencyStore.purgeExpired() >= 1);
+        assertFalse(idempotencyRecordRepository.existsById(expired));
+        assertTrue(idempotencyRecordRepository.existsById(fresh));
+    }
+
+    @Test
+    void repeatedKeys_shouldBeAnsweredFromTheCache() {
+
+        UUID accountId = createAccount(BigDecimal.ZERO);
+        List<String> keys = new ArrayList<>();
+        List<AccountTransactionDTO> results = new ArrayList<>();
+        for (int i = 0; i < POSTINGS; i++) {
+            String key = UUID.randomUUID().toString();
+            keys.add(key);
+            results.add(accountTransactionService.deposit(accountId, BigDecimal.ONE, key));
+        }
+
+        // Gecikme ölçümü IdempotencyBenchmark'ta: mvn -Pbenchmarks test -Djmh.includes=IdempotencyBenchmark
+        for (int i = 0; i < POSTINGS; i++) {
+            assertSame(results.get(i), idempotencyStore.findCached(keys.get(i)).orElseThrow().result());
+            assertSame(results.get(i), accountTransactionService.deposit(accountId, BigDecimal.ONE, keys.get(i)));
+        }
+        assertEquals(0, BigDecimal.valueOf(POSTINGS).compareTo(balanceOf(accountId)));
+        assertEquals(POSTINGS, accountTransactionRepository.findTransactionsByAccountId(accountId).size());
+    }
+
+    private BigDecimal balanceOf(UUID accountId) {
+        return accountRepository.findById(accountId).orElseThrow().getBalance().toBigDecimal();
+    }
+
+    private UUID createAccount(BigDecimal balance) {
+        return TestAccounts.create(accountRepository, balance, Account.AccountType.TL);
+    }
+}
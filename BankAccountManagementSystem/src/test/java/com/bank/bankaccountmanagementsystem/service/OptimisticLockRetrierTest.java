@@ -0,0 +1,75 @@
+package com.bank.bankaccountmanagementsystem.service;
+
+import com.bank.bankaccountmanagementsystem.config.AccountWriteProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OptimisticLockRetrierTest {
+
+    private AccountWriteProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private OptimisticLockRetrier retrier;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AccountWriteProperties();
+        properties.setMaxAttempts(3);
+        properties.setInitialBackoff(Duration.ofMillis(1));
+        properties.setMaxBackoff(Duration.ofMillis(2));
+        meterRegistry = new SimpleMeterRegistry();
+        retrier = new OptimisticLockRetrier(properties, meterRegistry, Mockito.mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void inTransaction_shouldRetryUntilSuccess() {
+
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = retrier.inTransaction("deposit", () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new ObjectOptimisticLockingFailureException("Account", "id");
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(2.0, meterRegistry.counter("bank.account.write.retries", "operation", "deposit").count());
+        assertEquals(0.0, meterRegistry.counter("bank.account.write.retries.exhausted", "operation", "deposit").count());
+    }
+
+    @Test
+    void inTransaction_shouldGiveUpAfterMaxAttempts() {
+
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> retrier.inTransaction("withdraw", () -> {
+            attempts.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException("Account", "id");
+        }));
+
+        assertEquals(3, attempts.get());
+        assertEquals(1.0, meterRegistry.counter("bank.account.write.retries.exhausted", "operation", "withdraw").count());
+    }
+
+    @Test
+    void inTransaction_shouldNotRetryOtherExceptions() {
+
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(IllegalArgumentException.class, () -> retrier.inTransaction("deposit", () -> {
+            attempts.incrementAndGet();
+            throw new IllegalArgumentException("Account not found");
+        }));
+
+        assertEquals(1, attempts.get());
+    }
+}
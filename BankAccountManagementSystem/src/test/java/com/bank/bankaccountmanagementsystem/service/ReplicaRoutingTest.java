@@ -0,0 +1,149 @@
+package com.bank.bankaccountmanagementsystem.service;
+
+import com.bank.bankaccountmanagementsystem.TestAccounts;
+import com.bank.bankaccountmanagementsystem.model.Account;
+import com.bank.bankaccountmanagementsystem.repository.AccountRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import liquibase.integration.spring.SpringLiquibase;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// İki ayrı bellek içi H2: bankdb birincil, bankreplica replika. Replikasyon yok; replicate() satırı elle kopyalar.
+@SpringBootTest(properties = {
+        "bank.datasource.replica.url=" + ReplicaRoutingTest.REPLICA_URL,
+        "bank.datasource.replica.username=sa",
+        "bank.datasource.replica.password=",
+        "bank.datasource.replica.read-your-writes-window=300ms",
+        "bank.account.cache.enabled=false"
+})
+@ActiveProfiles("h2")
+class ReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:bankreplica;MODE=MySQL;DB_CLOSE_DELAY=-1";
+    private static final long WINDOW_ELAPSED_MILLIS = 500;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountTransactionService accountTransactionService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private static JdbcTemplate replica;
+    private JdbcTemplate primary;
+    private UUID accountId;
+
+    @BeforeAll
+    static void migrateReplica() throws Exception {
+        DataSource replicaDataSource = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(replicaDataSource);
+        liquibase.setChangeLog("classpath:db/changelog/db.changelog-master.yaml");
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.afterPropertiesSet();
+        replica = new JdbcTemplate(replicaDataSource);
+    }
+
+    @BeforeEach
+    void setUp() {
+        primary = new JdbcTemplate(dataSource);
+        accountId = TestAccounts.create(accountService, BigDecimal.valueOf(100), Account.AccountType.TL);
+    }
+
+    @Test
+    void readOnlyQueries_shouldGoToReplica() throws InterruptedException {
+
+        Thread.sleep(WINDOW_ELAPSED_MILLIS);
+        assertThrows(AccountNotFoundException.class, () -> accountService.getAccountDTOById(accountId));
+
+        replicate(accountId);
+
+        assertEquals(0, new BigDecimal("100.00").compareTo(accountService.getAccountDTOById(accountId).getBalance()));
+        assertTrue(accountTransactionService.getTransactionHistory(accountId, null, 10).getItems().isEmpty());
+    }
+
+    @Test
+    void writes_shouldGoToPrimaryAndPinReadsForTheWindow() throws InterruptedException {
+
+        // Hesap açılışı da bir yazmadır: replikada olmayan hesap pencere içinde birincilden okunur
+        assertEquals(0, new BigDecimal("100.00").compareTo(accountService.getAccountDTOById(accountId).getBalance()));
+
+        Thread.sleep(WINDOW_ELAPSED_MILLIS);
+        replicate(accountId);
+        // Replikada da olan hesaba yatırma: bakiye okuması ve güncelleme birincilde yapılır
+        accountTransactionService.deposit(accountId, BigDecimal.valueOf(50));
+
+        assertEquals(0, new BigDecimal("150.00").compareTo(balanceIn(primary)));
+        assertEquals(0, new BigDecimal("100.00").compareTo(balanceIn(replica)));
+        assertEquals(0, new BigDecimal("150.00").compareTo(accountService.getAccountDTOById(accountId).getBalance()));
+        assertEquals(1, accountTransactionService.getTransactionHistory(accountId, null, 10).getItems().size());
+
+        Thread.sleep(WINDOW_ELAPSED_MILLIS);
+        // Pencere bitti: okumalar gecikmeli replikaya döner
+        assertEquals(0, new BigDecimal("100.00").compareTo(accountService.getAccountDTOById(accountId).getBalance()));
+        assertTrue(accountTransactionService.getTransactionHistory(accountId, null, 10).getItems().isEmpty());
+    }
+
+    @Test
+    void writeAfterReplicaReadInOneEntityManager_shouldGoToPrimary() throws InterruptedException {
+
+        Thread.sleep(WINDOW_ELAPSED_MILLIS);
+        replicate(accountId);
+        // open-in-view gibi: istek boyunca tek EntityManager; önce replikadan okunur, sonra yazılır
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            assertTrue(accountRepository.findById(accountId).isPresent());
+            accountTransactionService.deposit(accountId, BigDecimal.valueOf(50));
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+        }
+
+        assertEquals(0, new BigDecimal("150.00").compareTo(balanceIn(primary)));
+        assertEquals(0, new BigDecimal("100.00").compareTo(balanceIn(replica)));
+    }
+
+    private BigDecimal balanceIn(JdbcTemplate database) {
+        return database.queryForObject("SELECT balance FROM accounts WHERE id = ?", BigDecimal.class, uuidBytes(accountId));
+    }
+
+    // Replikasyon yerine: hesabın birincildeki satırını replikaya kopyalar
+    private void replicate(UUID accountId) {
+        Map<String, Object> row = primary.queryForMap("SELECT * FROM accounts WHERE id = ?", uuidBytes(accountId));
+        String columns = String.join(", ", row.keySet());
+        String placeholders = row.keySet().stream().map(column -> "?").collect(Collectors.joining(", "));
+        replica.update("INSERT INTO accounts (" + columns + ") VALUES (" + placeholders + ")", row.values().toArray());
+    }
+
+    private static byte[] uuidBytes(UUID id) {
+        return ByteBuffer.allocate(16).putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits()).array();
+    }
+}
@@ -0,0 +1,150 @@
+package com.bank.bankaccountmanagementsystem.service;
+
+import com.bank.bankaccountmanagementsystem.TestAccounts;
+import com.bank.bankaccountmanagementsystem.model.Account;
+import com.bank.bankaccountmanagementsystem.repository.AccountRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class StatementExporterTest {
+
+    private static final int SMALL = 1_000;
+    private static final int LARGE = 200_000;
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Autowired
+    private StatementExporter statementExporter;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void export_shouldWriteRowsOldestFirstWithinRange() throws Exception {
+
+        UUID accountId = createAccountWithTransactions(10);
+
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        long written = statementExporter.export(accountId, START.plusMinutes(2), START.plusMinutes(5), StatementExporter.Format.CSV, csv);
+
+        String[] lines = csv.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, written);
+        assertEquals("id,transactionType,amount,transactionDate", lines[0]);
+        assertEquals(4, lines.length);
+        assertTrue(lines[1].endsWith(",DEPOSIT,2.00," + START.plusMinutes(2)));
+        assertTrue(lines[3].endsWith(",DEPOSIT,4.00," + START.plusMinutes(4)));
+
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        assertEquals(10, statementExporter.export(accountId, null, null, StatementExporter.Format.NDJSON, ndjson));
+
+        String[] records = ndjson.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(10, records.length);
+        JsonNode first = objectMapper.readTree(records[0]);
+        assertEquals("DEPOSIT", first.get("transactionType").asText());
+        assertEquals(0, BigDecimal.ZERO.compareTo(first.get("amount").decimalValue()));
+        assertEquals(START, LocalDateTime.parse(first.get("transactionDate").asText()));
+    }
+
+    @Test
+    void export_shouldKeepHeapFlatAsRowCountGrows() {
+
+        UUID small = createAccountWithTransactions(SMALL);
+        UUID large = createAccountWithTransactions(LARGE);
+
+        HeapSamplingOutputStream smallOut = new HeapSamplingOutputStream();
+        statementExporter.export(small, null, null, StatementExporter.Format.NDJSON, smallOut);
+        HeapSamplingOutputStream largeOut = new HeapSamplingOutputStream();
+        long written = statementExporter.export(large, null, null, StatementExporter.Format.NDJSON, largeOut);
+
+        assertEquals(LARGE, written);
+        // Satırlar listede toplansaydı artış ~satır sayısı × satır boyutu (onlarca MB) olurdu.
+        assertTrue(largeOut.peakGrowth() < smallOut.peakGrowth() + 16_000_000L,
+                "heap grew with row count: " + largeOut.peakGrowth() + " vs " + smallOut.peakGrowth());
+    }
+
+    private UUID createAccountWithTransactions(int count) {
+        UUID accountId = TestAccounts.create(accountRepository, BigDecimal.ZERO, Account.AccountType.TL);
+
+        List<Object[]> rows = new ArrayList<>(10_000);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{bytes(UUID.randomUUID()), bytes(accountId), Timestamp.valueOf(START.plusMinutes(i)),
+                    "DEPOSIT", BigDecimal.valueOf(i % 1000)});
+            if (rows.size() == 10_000 || i == count - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO account_transactions (id, account_id, transaction_date, transaction_type, amount) " +
+                        "VALUES (?, ?, ?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+        return accountId;
+    }
+
+    private static byte[] bytes(UUID id) {
+        return ByteBuffer.allocate(16).putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits()).array();
+    }
+
+    /**
+     * Discards the output and, every {@value #SAMPLE_EVERY} bytes, records live heap after a GC.
+     */
+    private static final class HeapSamplingOutputStream extends OutputStream {
+
+        private static final long SAMPLE_EVERY = 1 << 20;
+
+        private final long baseline = liveHeap();
+        private long bytes;
+        private long nextSample = SAMPLE_EVERY;
+        private long peak = baseline;
+
+        @Override
+        public void write(int b) {
+            count(1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count(len);
+        }
+
+        private void count(int len) {
+            bytes += len;
+            if (bytes >= nextSample) {
+                nextSample += SAMPLE_EVERY;
+                peak = Math.max(peak, liveHeap());
+            }
+        }
+
+        long peakGrowth() {
+            return Math.max(0, Math.max(peak, liveHeap()) - baseline);
+        }
+
+        private static long liveHeap() {
+            System.gc();
+            Runtime runtime = Runtime.getRuntime();
+            return runtime.totalMemory() - runtime.freeMemory();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.bank.bankaccountmanagementsystem.service;
+
+import com.bank.bankaccountmanagementsystem.TestAccounts;
+import com.bank.bankaccountmanagementsystem.dto.TransactionCursor;
+import com.bank.bankaccountmanagementsystem.dto.TransactionPageDTO;
+import com.bank.bankaccountmanagementsystem.model.Account;
+import com.bank.bankaccountmanagementsystem.model.AccountDailyBalance;
+import com.bank.bankaccountmanagementsystem.repository.AccountDailyBalanceRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Arşivleme tüm tabloyu taşır; diğer testlerin bankdb verisine dokunmamak için ayrı veritabanı
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:archivedb;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "bank.account.archive.retention-months=12"
+})
+@ActiveProfiles("h2")
+class TransactionArchiverTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 18);
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountTransactionService accountTransactionService;
+
+    @Autowired
+    private TransactionArchiver transactionArchiver;
+
+    @Autowired
+    private DailyBalanceRebuilder dailyBalanceRebuilder;
+
+    @Autowired
+    private AccountDailyBalanceRepository accountDailyBalanceRepository;
+
+    @Autowired
+    private DailyBalanceService dailyBalanceService;
+
+    @Autowired
+    private StatementExporter statementExporter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+
+    @Test
+    void archive_shouldMoveMonthsBeforeTheCutoffOnly() {
+
+        UUID accountId = createAccount(BigDecimal.valueOf(100));
+        insertPosting(accountId, LocalDateTime.of(2025, 3, 15, 10, 0), 10);
+        insertPosting(accountId, LocalDateTime.of(2025, 9, 30, 23, 59), 20);
+        insertPosting(accountId, LocalDateTime.of(2025, 10, 1, 0, 0), 30);
+        accountTransactionService.deposit(accountId, BigDecimal.valueOf(40));
+
+        assertEquals(2, transactionArchiver.archive(TODAY));
+
+        assertEquals(List.of("10.00", "20.00"), amounts("account_transactions_archive", accountId));
+        assertEquals(List.of("30.00", "40.00"), amounts("account_transactions", accountId));
+        assertEquals(4, accountTransactionService.getTransactionHistory(accountId, null, 10).getItems().size());
+        assertEquals(0, transactionArchiver.archive(TODAY));
+    }
+
+    @Test
+    void reads_shouldIncludeArchivedPostings() {
+
+        UUID accountId = createAccount(BigDecimal.valueOf(100));
+        insertPosting(accountId, LocalDateTime.of(2025, 3, 15, 10, 0), 10);
+        insertPosting(accountId, LocalDateTime.of(2025, 3, 15, 12, 0), 20);
+        dailyBalanceRebuilder.rebuild();
+        accountTransactionService.deposit(accountId, BigDecimal.valueOf(5));
+        transactionArchiver.archive(TODAY);
+
+        // Sayfa sıcak tablodan başlar ve aynı imleçle arşivde devam eder
+        TransactionPageDTO first = accountTransactionService.getTransactionHistory(accountId, null, 2);
+        assertEquals(List.of("5.00", "20.00"), first.getItems().stream().map(item -> item.getAmount().toPlainString()).toList());
+        TransactionPageDTO second = accountTransactionService.getTransactionHistory(accountId, TransactionCursor.decode(first.getNextCursor()), 2);
+        assertEquals(List.of("10.00"), second.getItems().stream().map(item -> item.getAmount().toPlainString()).toList());
+        assertNull(second.getNextCursor());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(3, statementExporter.export(accountId, null, null, StatementExporter.Format.CSV, out));
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertTrue(lines.get(1).contains(",10.00,") && lines.get(2).contains(",20.00,") && lines.get(3).contains(",5.00,"));
+
+        // Arşivlenmiş bir günün içi ve öncesi de arşivdeki işlemlerle hesaplanır
+        assertEquals(0, BigDecimal.valueOf(80).compareTo(
+                dailyBalanceService.getBalanceAsOf(accountId, LocalDateTime.of(2025, 3, 15, 11, 0)).getBalance()));
+        assertEquals(0, BigDecimal.valueOf(70).compareTo(
+                dailyBalanceService.getBalanceAsOf(accountId, LocalDateTime.of(2025, 3, 14, 9, 0)).getBalance()));
+    }
+
+    @Test
+    void rebuild_shouldKeepSnapshotsOfArchivedDays() {
+
+        UUID accountId = createAccount(BigDecimal.valueOf(100));
+        insertPosting(accountId, LocalDateTime.of(2024, 5, 10, 12, 0), 25);
+        dailyBalanceRebuilder.rebuild();
+        AccountDailyBalance.Key archivedDay = new AccountDailyBalance.Key(accountId, LocalDate.of(2024, 5, 10));
+        assertTrue(accountDailyBalanceRepository.existsById(archivedDay));
+
+        transactionArchiver.archive(TODAY);
+        accountTransactionService.deposit(accountId, BigDecimal.valueOf(5));
+        dailyBalanceRebuilder.rebuild();
+
+        assertEquals(0, BigDecimal.valueOf(100).compareTo(
+                accountDailyBalanceRepository.findById(archivedDay).orElseThrow().getClosingBalance()));
+    }
+
+    @Test
+    void deleteAccount_shouldDeleteHotAndArchivedTransactions() {
+
+        UUID accountId = createAccount(BigDecimal.valueOf(100));
+        insertPosting(accountId, LocalDateTime.of(2024, 2, 1, 8, 0), 10);
+        accountTransactionService.deposit(accountId, BigDecimal.valueOf(10));
+        transactionArchiver.archive(TODAY);
+
+        accountService.deleteAccount(accountId);
+
+        assertTrue(amounts("account_transactions", accountId).isEmpty());
+        assertTrue(amounts("account_transactions_archive", accountId).isEmpty());
+    }
+
+    private UUID createAccount(BigDecimal balance) {
+        return TestAccounts.create(accountService, balance, Account.AccountType.TL);
+    }
+
+    private void insertPosting(UUID accountId, LocalDateTime date, long amount) {
+        jdbcTemplate.update("INSERT INTO account_transactions (id, account_id, transaction_date, transaction_type, amount) " +
+                "VALUES (?, ?, ?, 'DEPOSIT', ?)", bytes(UUID.randomUUID()), bytes(accountId), Timestamp.valueOf(date), amount);
+    }
+
+    private List<String> amounts(String table, UUID accountId) {
+        return jdbcTemplate.queryForList("SELECT amount FROM " + table + " WHERE account_id = ? ORDER BY transaction_date",
+                BigDecimal.class, bytes(accountId)).stream().map(BigDecimal::toPlainString).toList();
+    }
+
+    private static byte[] bytes(UUID id) {
+        return ByteBuffer.allocate(16).putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits()).array();
+    }
+}
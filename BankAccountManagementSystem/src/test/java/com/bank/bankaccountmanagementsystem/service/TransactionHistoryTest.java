@@ -0,0 +1,98 @@
+package com.bank.bankaccountmanagementsystem.service;
+
+import com.bank.bankaccountmanagementsystem.TestAccounts;
+import com.bank.bankaccountmanagementsystem.dto.AccountTransactionHistoryDTO;
+import com.bank.bankaccountmanagementsystem.dto.AccountTransactionRequestDTO;
+import com.bank.bankaccountmanagementsystem.dto.TransactionCursor;
+import com.bank.bankaccountmanagementsystem.dto.TransactionPageDTO;
+import com.bank.bankaccountmanagementsystem.model.Account;
+import com.bank.bankaccountmanagementsystem.model.AccountTransaction.TransactionType;
+import com.bank.bankaccountmanagementsystem.repository.AccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class TransactionHistoryTest {
+
+    private static final int BULK_ROWS = 1_000;
+
+    @Autowired
+    private AccountTransactionService accountTransactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    private UUID accountId;
+
+    @BeforeEach
+    void setUp() {
+        accountId = TestAccounts.create(accountRepository, BigDecimal.ZERO, Account.AccountType.TL);
+    }
+
+    @Test
+    void pages_shouldCoverEveryRowOnceNewestFirst() {
+
+        accountTransactionService.deposit(accountId, BigDecimal.ONE);
+        // Toplu işlemdeki tüm satırlar aynı tarihi taşır; sıralama id ile ayrışmalı.
+        List<AccountTransactionRequestDTO> operations = new ArrayList<>();
+        for (int i = 0; i < BULK_ROWS; i++) {
+            operations.add(new AccountTransactionRequestDTO(accountId, TransactionType.DEPOSIT, BigDecimal.ONE));
+        }
+        accountTransactionService.processBulk(operations);
+        accountTransactionService.withdraw(accountId, BigDecimal.ONE);
+
+        Set<UUID> seen = new HashSet<>();
+        List<AccountTransactionHistoryDTO> all = new ArrayList<>();
+        TransactionCursor cursor = null;
+        do {
+            TransactionPageDTO page = accountTransactionService.getTransactionHistory(accountId, cursor, 40);
+            for (AccountTransactionHistoryDTO item : page.getItems()) {
+                assertTrue(seen.add(item.getId()), "row returned twice: " + item.getId());
+                all.add(item);
+            }
+            cursor = page.getNextCursor() == null ? null : TransactionCursor.decode(page.getNextCursor());
+        } while (cursor != null);
+
+        assertEquals(BULK_ROWS + 2, all.size());
+        assertEquals(TransactionType.WITHDRAWAL, all.get(0).getTransactionType());
+        for (int i = 1; i < all.size(); i++) {
+            assertFalse(all.get(i).getTransactionDate().isAfter(all.get(i - 1).getTransactionDate()));
+        }
+    }
+
+    @Test
+    void getTransactionHistory_shouldReturnEmptyPageForAccountWithoutTransactions() {
+
+        TransactionPageDTO page = accountTransactionService.getTransactionHistory(accountId, null, 10);
+
+        assertTrue(page.getItems().isEmpty());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getTransactionHistory_shouldRejectUnknownAccount() {
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> accountTransactionService.getTransactionHistory(UUID.randomUUID(), null, 10));
+        assertEquals("Account not found", exception.getMessage());
+    }
+
+    @Test
+    void decode_shouldRejectGarbage() {
+
+        assertThrows(IllegalArgumentException.class, () -> TransactionCursor.decode("not-a-cursor"));
+    }
+}
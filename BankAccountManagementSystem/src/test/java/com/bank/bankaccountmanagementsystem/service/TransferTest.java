@@ -0,0 +1,236 @@
+package com.bank.bankaccountmanagementsystem.service;
+
+import com.bank.bankaccountmanagementsystem.TestAccounts;
+import com.bank.bankaccountmanagementsystem.config.AccountLockProperties;
+import com.bank.bankaccountmanagementsystem.dto.AccountTransactionDTO;
+import com.bank.bankaccountmanagementsystem.dto.AccountTransactionRequestDTO;
+import com.bank.bankaccountmanagementsystem.dto.TransferDTO;
+import com.bank.bankaccountmanagementsystem.model.Account;
+import com.bank.bankaccountmanagementsystem.model.AccountTransaction;
+import com.bank.bankaccountmanagementsystem.repository.AccountRepository;
+import com.bank.bankaccountmanagementsystem.repository.AccountTransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class TransferTest {
+
+    private static final int HOT_ACCOUNTS = 4;
+    private static final int THREADS = 8;
+    private static final int TRANSFERS_PER_THREAD = 250;
+    private static final BigDecimal OPENING_BALANCE = BigDecimal.valueOf(100_000);
+
+    @Autowired
+    private AccountTransactionService accountTransactionService;
+
+    @Autowired
+    private DailyBalanceService dailyBalanceService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountTransactionRepository accountTransactionRepository;
+
+    @Autowired
+    private AccountLockProperties accountLockProperties;
+
+    @AfterEach
+    void tearDown() {
+        accountLockProperties.setEnabled(true);
+    }
+
+    @Test
+    void transfer_shouldMoveMoneyAndWritePairedLegs() {
+
+        UUID from = createAccount(BigDecimal.valueOf(100));
+        UUID to = createAccount(BigDecimal.valueOf(20));
+
+        TransferDTO transfer = accountTransactionService.transfer(from, to, BigDecimal.valueOf(30));
+
+        assertEquals(0, BigDecimal.valueOf(70).compareTo(balanceOf(from)));
+        assertEquals(0, BigDecimal.valueOf(50).compareTo(balanceOf(to)));
+        List<AccountTransactionDTO> outgoing = accountTransactionRepository.findTransactionsByAccountId(from);
+        List<AccountTransactionDTO> incoming = accountTransactionRepository.findTransactionsByAccountId(to);
+        assertEquals(1, outgoing.size());
+        assertEquals(1, incoming.size());
+        assertEquals(AccountTransaction.TransactionType.TRANSFER_OUT, outgoing.get(0).getTransactionType());
+        assertEquals(AccountTransaction.TransactionType.TRANSFER_IN, incoming.get(0).getTransactionType());
+        assertEquals(0, BigDecimal.valueOf(30).compareTo(incoming.get(0).getAmount()));
+        assertEquals(outgoing.get(0).getTransactionDate(), incoming.get(0).getTransactionDate());
+
+        // Geçmiş bakiye sorguları transfer satırlarının yönünü doğru hesaba katmalı
+        assertEquals(0, BigDecimal.valueOf(100).compareTo(
+                dailyBalanceService.getBalanceAsOf(from, transfer.getTransactionDate().minusNanos(1_000)).getBalance()));
+        assertEquals(0, BigDecimal.valueOf(70).compareTo(dailyBalanceService.getBalanceAsOf(from, LocalDateTime.now()).getBalance()));
+        assertEquals(0, BigDecimal.valueOf(20).compareTo(
+                dailyBalanceService.getBalanceAsOf(to, transfer.getTransactionDate().minusNanos(1_000)).getBalance()));
+    }
+
+    @Test
+    void transfer_shouldRejectWithoutChangingEitherAccount() {
+
+        UUID from = createAccount(BigDecimal.valueOf(10));
+        UUID to = createAccount(new BigDecimal("9999990.00"));
+
+        assertThrows(IllegalArgumentException.class, () -> accountTransactionService.transfer(from, to, BigDecimal.valueOf(11)));
+        assertThrows(IllegalArgumentException.class, () -> accountTransactionService.transfer(to, from, new BigDecimal("9999990.00")));
+        assertThrows(IllegalArgumentException.class, () -> accountTransactionService.transfer(from, UUID.randomUUID(), BigDecimal.ONE));
+        assertThrows(IllegalArgumentException.class, () -> accountTransactionService.transfer(from, from, BigDecimal.ONE));
+        assertThrows(IllegalArgumentException.class, () -> accountTransactionService.transfer(from, to, BigDecimal.TEN));
+
+        assertEquals(0, BigDecimal.TEN.compareTo(balanceOf(from)));
+        assertEquals(0, new BigDecimal("9999990.00").compareTo(balanceOf(to)));
+        assertTrue(accountTransactionRepository.findTransactionsByAccountIds(List.of(from, to)).isEmpty());
+    }
+
+    @Test
+    void bulk_shouldRejectTransferTypes() {
+
+        UUID accountId = createAccount(BigDecimal.TEN);
+
+        assertFalse(accountTransactionService.processBulk(List.of(new AccountTransactionRequestDTO(
+                accountId, AccountTransaction.TransactionType.TRANSFER_IN, BigDecimal.ONE))).get(0).isSuccess());
+        assertEquals(0, BigDecimal.TEN.compareTo(balanceOf(accountId)));
+    }
+
+    // Kilit şeritleri kapalıyken yalnızca satır kilitlerinin id sırası kilitlenmeyi önler.
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void bidirectionalTransfers_shouldNotDeadlock(boolean lockStripes) throws Exception {
+
+        accountLockProperties.setEnabled(lockStripes);
+        List<UUID> accounts = new ArrayList<>();
+        for (int i = 0; i < HOT_ACCOUNTS; i++) {
+            accounts.add(createAccount(OPENING_BALANCE));
+        }
+        Map<String, Integer> failures = new ConcurrentHashMap<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            workers.add(executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                    int from = random.nextInt(HOT_ACCOUNTS);
+                    int to = (from + 1 + random.nextInt(HOT_ACCOUNTS - 1)) % HOT_ACCOUNTS;
+                    try {
+                        accountTransactionService.transfer(accounts.get(from), accounts.get(to), BigDecimal.valueOf(1 + random.nextInt(5)));
+                    } catch (RuntimeException e) {
+                        failures.merge(e.getClass().getSimpleName() + ": " + e.getMessage(), 1, Integer::sum);
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(5, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        int transfers = THREADS * TRANSFERS_PER_THREAD;
+
+        assertTrue(failures.isEmpty(), "failures: " + failures);
+        BigDecimal total = BigDecimal.ZERO;
+        for (UUID accountId : accounts) {
+            BigDecimal balance = balanceOf(accountId);
+            BigDecimal replayed = OPENING_BALANCE;
+            for (AccountTransactionDTO leg : accountTransactionRepository.findTransactionsByAccountId(accountId)) {
+                replayed = leg.getTransactionType() == AccountTransaction.TransactionType.TRANSFER_IN
+                        ? replayed.add(leg.getAmount()) : replayed.subtract(leg.getAmount());
+            }
+            assertEquals(0, replayed.compareTo(balance), "legs do not add up for " + accountId);
+            total = total.add(balance);
+        }
+        assertEquals(0, OPENING_BALANCE.multiply(BigDecimal.valueOf(HOT_ACCOUNTS)).compareTo(total));
+        assertEquals(2L * transfers, accountTransactionRepository.findTransactionsByAccountIds(accounts).size());
+    }
+
+    // Toplu işlem hesapları transferle aynı sırada (tek sorgu, id sırası) kilitlemeli
+    @Test
+    void transfersAndBulkRequests_shouldNotDeadlock() throws Exception {
+
+        accountLockProperties.setEnabled(false);
+        List<UUID> accounts = new ArrayList<>();
+        for (int i = 0; i < HOT_ACCOUNTS; i++) {
+            accounts.add(createAccount(OPENING_BALANCE));
+        }
+        Map<String, Integer> failures = new ConcurrentHashMap<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            boolean bulk = t % 2 == 0;
+            workers.add(executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < TRANSFERS_PER_THREAD / 5; i++) {
+                    try {
+                        if (bulk) {
+                            List<UUID> shuffled = new ArrayList<>(accounts);
+                            Collections.shuffle(shuffled, random);
+                            List<AccountTransactionRequestDTO> operations = new ArrayList<>();
+                            for (UUID accountId : shuffled) {
+                                operations.add(new AccountTransactionRequestDTO(accountId, AccountTransaction.TransactionType.DEPOSIT, BigDecimal.ONE));
+                            }
+                            accountTransactionService.processBulk(operations);
+                        } else {
+                            int from = random.nextInt(HOT_ACCOUNTS);
+                            int to = (from + 1 + random.nextInt(HOT_ACCOUNTS - 1)) % HOT_ACCOUNTS;
+                            accountTransactionService.transfer(accounts.get(from), accounts.get(to), BigDecimal.ONE);
+                        }
+                    } catch (RuntimeException e) {
+                        failures.merge(e.getClass().getSimpleName() + ": " + e.getMessage(), 1, Integer::sum);
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(5, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        assertTrue(failures.isEmpty(), "failures: " + failures);
+        int deposits = THREADS / 2 * (TRANSFERS_PER_THREAD / 5);
+        BigDecimal total = BigDecimal.ZERO;
+        for (UUID accountId : accounts) {
+            total = total.add(balanceOf(accountId));
+        }
+        assertEquals(0, OPENING_BALANCE.add(BigDecimal.valueOf(deposits)).multiply(BigDecimal.valueOf(HOT_ACCOUNTS)).compareTo(total));
+    }
+
+    private BigDecimal balanceOf(UUID accountId) {
+        return accountRepository.findById(accountId).orElseThrow().getBalance().toBigDecimal();
+    }
+
+    private UUID createAccount(BigDecimal balance) {
+        return TestAccounts.create(accountRepository, balance, Account.AccountType.TL);
+    }
+}
@@ -0,0 +1,112 @@
+package com.bank.bankaccountmanagementsystem.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteAheadLogTest {
+
+    private static final long SEGMENT_SIZE = 4L * WriteAheadLog.RECORD_SIZE;
+
+    @TempDir
+    Path directory;
+
+    private final UUID accountId = UUID.randomUUID();
+
+    @Test
+    void reopenedLog_shouldRecoverEveryRecordInOrder() throws IOException {
+
+        WriteAheadLog wal = open(new ArrayList<>());
+        for (int i = 1; i <= 6; i++) {
+            wal.append(accountId, WriteAheadLog.DEPOSIT, 100, 100L * i, 1_700_000_000_000L + i);
+        }
+        wal.close();
+
+        List<WriteAheadLog.Entry> recovered = new ArrayList<>();
+        WriteAheadLog reopened = open(recovered);
+
+        assertEquals(6, recovered.size());
+        for (int i = 0; i < 6; i++) {
+            WriteAheadLog.Entry entry = recovered.get(i);
+            assertEquals(i + 1, entry.sequence());
+            assertEquals(accountId, entry.accountId());
+            assertEquals(WriteAheadLog.DEPOSIT, entry.type());
+            assertEquals(100, entry.amount());
+            assertEquals(100L * (i + 1), entry.balance());
+            assertEquals(1_700_000_000_001L + i, entry.epochMillis());
+        }
+        assertEquals(7, reopened.append(accountId, WriteAheadLog.WITHDRAWAL, 50, 550, 0).sequence());
+        reopened.close();
+    }
+
+    @Test
+    void tornRecord_shouldEndRecoveryAndTheStaleTailMustNotComeBack() throws IOException {
+
+        WriteAheadLog wal = open(new ArrayList<>());
+        for (int i = 1; i <= 3; i++) {
+            wal.append(accountId, WriteAheadLog.DEPOSIT, 1, i, 0);
+        }
+        wal.close();
+        // Yarım yazılmış ikinci kayıt: tutarının bir baytı bozulur
+        corrupt(directory.resolve(String.format("%020d.wal", 1)), WriteAheadLog.RECORD_SIZE + 32);
+
+        List<WriteAheadLog.Entry> recovered = new ArrayList<>();
+        WriteAheadLog reopened = open(recovered);
+        assertEquals(1, recovered.size());
+        assertEquals(2, reopened.append(accountId, WriteAheadLog.DEPOSIT, 5, 6, 0).sequence());
+        reopened.close();
+
+        // Bozuk kaydın ardındaki eski 3. kayıt silinmiş olmalı; yoksa yeni 2. kaydın devamı sanılır
+        List<WriteAheadLog.Entry> again = new ArrayList<>();
+        open(again).close();
+        assertEquals(List.of(1L, 2L), again.stream().map(WriteAheadLog.Entry::sequence).toList());
+        assertEquals(6, again.get(1).balance());
+    }
+
+    @Test
+    void checkpoint_shouldDeleteOnlySegmentsThatAreEntirelyFed() throws IOException {
+
+        WriteAheadLog wal = open(new ArrayList<>());
+        for (int i = 1; i <= 10; i++) {
+            wal.append(accountId, WriteAheadLog.DEPOSIT, 1, i, 0);
+        }
+        assertEquals(3, wal.segmentCount());
+
+        wal.checkpoint(5);
+        assertEquals(2, wal.segmentCount());
+        wal.checkpoint(8);
+        assertEquals(1, wal.segmentCount());
+        wal.close();
+
+        List<WriteAheadLog.Entry> recovered = new ArrayList<>();
+        WriteAheadLog reopened = open(recovered);
+        assertEquals(8, reopened.checkpoint());
+        assertEquals(List.of(9L, 10L), recovered.stream().map(WriteAheadLog.Entry::sequence).toList());
+        reopened.close();
+    }
+
+    private WriteAheadLog open(List<WriteAheadLog.Entry> recovered) {
+        WriteAheadLog wal = new WriteAheadLog(directory, SEGMENT_SIZE);
+        wal.recover(recovered::add);
+        return wal;
+    }
+
+    private static void corrupt(Path segment, long offset) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer data = ByteBuffer.allocate(1);
+            channel.read(data, offset);
+            data.put(0, (byte) (data.get(0) ^ 0x5A));
+            channel.write(data.rewind(), offset);
+        }
+    }
+}